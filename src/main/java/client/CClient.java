@@ -1,12 +1,14 @@
 package client;
 
-import common.IOUtil;
 import common.Message;
+import common.MessageChannel;
+import common.Protocol;
+import game.go.model.Board;
+import game.go.model.BoardCodec;
 import game.go.model.Stone;
 import game.go.model.Point;
+import game.go.util.GameClock;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
@@ -14,7 +16,9 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
@@ -25,8 +29,7 @@ import javax.swing.SwingUtilities;
 public class CClient extends Thread {
 
     private final Socket socket;
-    private final InputStream in;
-    private final OutputStream out;
+    private final MessageChannel channel;
     private final MainFrm ui; 
     private final AtomicBoolean running = new AtomicBoolean(true);
     private static final Logger LOGGER = Logger.getLogger(CClient.class.getName());
@@ -35,6 +38,22 @@ public class CClient extends Thread {
     private int lastBlackScore = 0;
     private int lastWhiteScore = 0;
     private boolean justMadeMove = false;
+    private volatile Set<String> features = Set.of(); // Sunucuyla anlaşılan protokol özellikleri
+    // Fark güncellemeleri için son bilinen tahta ve sıra numarası (okuyan thread'e ait)
+    private char[][] deltaBoard;
+    private long boardSeq = -1;
+    // A keyframe was requested and has not arrived yet; deltas until then are dropped silently
+    private boolean resyncPending;
+    // Newest decoded board waiting for the EDT (latest wins) and a spare buffer for the next decode
+    private final AtomicReference<char[][]> pendingBoard = new AtomicReference<>();
+    private final AtomicReference<char[][]> spareBoard = new AtomicReference<>();
+    // Session token to present after the handshake instead of joining the queue
+    private volatile String pendingResume;
+    // Move prediction: sequence of the last sent move (EDT only) and of the move shown ahead of the server (0 = none)
+    private int moveSeq;
+    private volatile int predictedSeq;
+    // Smoothed round-trip time to the server, measured with echoed PINGs (0 = not measured yet)
+    private volatile long rttNanos;
 
     /**
      * Creates a new client connection.
@@ -68,8 +87,7 @@ public class CClient extends Thread {
             Socket s = new Socket();
             s.connect(new InetSocketAddress(host, port), CONNECTION_TIMEOUT);
             this.socket = s;
-            this.in = socket.getInputStream();
-            this.out = socket.getOutputStream();
+            this.channel = new MessageChannel(socket.getInputStream(), socket.getOutputStream());
             this.ui = ui;
             LOGGER.log(Level.INFO, "Connected to {0}:{1}", new Object[]{host, port});
         } catch (SocketException se) {
@@ -96,7 +114,7 @@ public class CClient extends Thread {
                 return;
             }
 
-            IOUtil.writeMessage(out, msg);
+            channel.write(msg, features.contains(Protocol.FEATURE_BINARY));
             LOGGER.log(Level.INFO, "Sent: {0}#{1}", new Object[]{msg.type(), msg.payload()});
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error sending message", e);
@@ -113,7 +131,7 @@ public class CClient extends Thread {
     public void run() {
         try {
             while (running.get()) {
-                Message msg = IOUtil.readMessage(in);
+                Message msg = channel.read();
                 if (msg == null) {
                     LOGGER.info("Connection closed by server");
                     break;
@@ -121,6 +139,10 @@ public class CClient extends Thread {
 
                 LOGGER.log(Level.INFO, "Received: {0}#{1}", new Object[]{msg.type(), msg.payload()});
 
+                if (Protocol.isHello(msg)) {
+                    acceptHello(msg);
+                    continue;
+                }
                 processMessage(msg);
             }
         } catch (IOException e) {
@@ -135,7 +157,178 @@ public class CClient extends Thread {
         }
     }
 
-  
+    /**
+     * Sends a move. If the server supports prediction, the move is first run
+     * through the local rules engine and, if legal, drawn right away together
+     * with its captures; the next authoritative board replaces it, and a
+     * MOVE_REJECTED for it rolls the board back. Must be called on the EDT.
+     *
+     * @param p Board coordinate
+     * @param color Color of the local player
+     */
+    public void sendMove(Point p, Stone color) {
+        if (!hasFeature(Protocol.FEATURE_PREDICT)) {
+            send(new Message(Message.Type.MOVE, p.x() + "," + p.y()));
+            return;
+        }
+        int seq = ++moveSeq;
+        char[][] predicted = predictMove(ui.getBoard().getBoard(), p, color);
+        if (predicted != null) {
+            predictedSeq = seq;
+            ui.getBoard().setBoard(predicted);
+        }
+        send(new Message(Message.Type.MOVE, p.x() + "," + p.y() + "," + seq));
+    }
+
+    /**
+     * Plays a move on a copy of the shown board with the shared rules engine.
+     * Ko cannot be checked without the game history; such moves are drawn and
+     * then rolled back when the server rejects them.
+     *
+     * @param shown Board as [y][x] characters; overwritten with the result
+     * @return The board after the move and its captures, or null if the move is illegal
+     */
+    static char[][] predictMove(char[][] shown, Point p, Stone color) {
+        Board local = BoardCodec.fromChars(shown);
+        if (!local.placeStone(p, color).valid) {
+            return null;
+        }
+        shown[p.y()][p.x()] = color == Stone.BLACK ? 'B' : 'W';
+        for (Point c : local.getLastCaptured()) {
+            shown[c.y()][c.x()] = '.';
+        }
+        return shown;
+    }
+
+    /**
+     * Rolls a predicted move back to the last authoritative board.
+     *
+     * @param payload Sequence number of the rejected move
+     */
+    private void processMoveRejected(String payload) {
+        int seq;
+        try {
+            seq = Integer.parseInt(payload.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            LOGGER.log(Level.WARNING, "Invalid move rejection: {0}", payload);
+            return;
+        }
+        if (seq != predictedSeq) {
+            return;
+        }
+        LOGGER.log(Level.INFO, "Predicted move {0} rejected - rolling back", seq);
+        if (deltaBoard != null) {
+            publishBoard(copyToSpare(deltaBoard));
+        } else {
+            requestResync();
+        }
+    }
+
+    /**
+     * Answers the server's feature announcement. The reply is still written in
+     * the legacy format; later messages use the negotiated format.
+     *
+     * @param hello Server's HELLO message
+     */
+    private void acceptHello(Message hello) {
+        Set<String> negotiated = Protocol.negotiate(hello);
+        send(new Message(Message.Type.PONG, Protocol.hello(negotiated)));
+        if (negotiated.contains(Protocol.FEATURE_DEFLATE)) {
+            channel.enableCompression();
+        }
+        features = negotiated;
+        LOGGER.log(Level.INFO, "Negotiated features: {0}", negotiated);
+        if (negotiated.contains(Protocol.FEATURE_CLOCK)) {
+            measureRtt();
+        }
+
+        String token = pendingResume;
+        if (token != null) {
+            pendingResume = null;
+            if (negotiated.contains(Protocol.FEATURE_RESUME)) {
+                send(new Message(Message.Type.RESUME, token));
+            } else if (ui != null) {
+                ui.resumeFailed();
+            }
+        }
+    }
+
+    /**
+     * Sends a timestamped PING; the server echoes it back as a PONG.
+     */
+    private void measureRtt() {
+        send(new Message(Message.Type.PING, Protocol.RTT_PREFIX + System.nanoTime()));
+    }
+
+    /**
+     * Folds an echoed RTT probe into the smoothed round-trip time.
+     *
+     * @param payload "RTT sendNanos"
+     */
+    private void processPong(String payload) {
+        if (payload == null || !payload.startsWith(Protocol.RTT_PREFIX)) {
+            return;
+        }
+        try {
+            long sample = System.nanoTime() - Long.parseLong(payload.substring(Protocol.RTT_PREFIX.length()));
+            long previous = rttNanos;
+            rttNanos = previous == 0 ? sample : (7 * previous + sample) / 8;
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid RTT probe: {0}", payload);
+        }
+    }
+
+    /**
+     * Rebuilds the game clock sent on every turn change and hands it to the UI,
+     * which counts down locally. The time the message spent in flight (half the
+     * round trip) is charged to the player on move so both sides agree.
+     *
+     * @param payload Clock in {@link GameClock#toPayload()} format
+     */
+    private void processClock(String payload) {
+        try {
+            ui.applyClock(GameClock.fromPayload(payload, rttNanos / 2, System::nanoTime));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            LOGGER.log(Level.WARNING, "Invalid clock: " + payload, e);
+        }
+        // Keep the estimate fresh; one probe per turn
+        measureRtt();
+    }
+
+    /**
+     * Asks to rejoin a running game on this connection. Must be called before
+     * {@link #start()}; the token is sent right after the handshake.
+     *
+     * @param token Session token received earlier with SESSION_TOKEN
+     */
+    public void requestResume(String token) {
+        pendingResume = token;
+    }
+
+    /**
+     * @return Total bytes read from the server on this connection
+     */
+    public long getBytesIn() {
+        return channel.getBytesIn();
+    }
+
+    /**
+     * @return Total bytes written to the server on this connection
+     */
+    public long getBytesOut() {
+        return channel.getBytesOut();
+    }
+
+    /**
+     * Checks whether a protocol feature was negotiated with the server.
+     *
+     * @param feature Feature name ({@link Protocol} constants)
+     * @return true if the feature is active on this connection
+     */
+    public boolean hasFeature(String feature) {
+        return features.contains(feature);
+    }
+
     public void close() {
         if (!running.compareAndSet(true, false)) {
             return;
@@ -229,10 +422,34 @@ private void processScore(String payload) {
         int whiteScore = Integer.parseInt(parts[1].trim());
         String turn = (parts.length > 2) ? parts[2].trim() : "";
 
+        int[] mine = toMyScores(blackScore, whiteScore);
+        if (mine == null) {
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            ui.updateStatus(mine[0], mine[1], turn);
+        });
+
+    } catch (NumberFormatException e) {
+        System.err.println("Hata: Skor sayıya çevrilemedi: " + payload);
+    } catch (Exception e) {
+        System.err.println("Hata: Skor işlenirken beklenmeyen hata: " + payload);
+    }
+}
+
+    /**
+     * Siyah/beyaz skorlarını rolüme göre "benim, rakibin" sırasına çevirir.
+     * Oyun başlamadan gelen anormal skorlar sıfırlanır, istifa ettiysem
+     * skorum -1 olur.
+     *
+     * @return {benimSkorum, rakibinSkoru}, rol bilinmiyorsa null
+     */
+    private int[] toMyScores(int blackScore, int whiteScore) {
         String myRole = ui.getRole();
         if (myRole == null || myRole.equalsIgnoreCase("Unknown")) {
             System.err.println("Hata: Rol bilinmiyor: " + myRole);
-            return;
+            return null;
         }
 
         if (!gameStarted) {
@@ -254,27 +471,11 @@ private void processScore(String payload) {
             }
         }
 
-        int myScore, opponentScore;
         if (myRole.equalsIgnoreCase("BLACK")) {
-            myScore = blackScore;
-            opponentScore = whiteScore;
-        } else { // WHITE
-            myScore = whiteScore;
-            opponentScore = blackScore;
+            return new int[]{blackScore, whiteScore};
         }
-
-        final int finalMyScore = myScore;
-        final int finalOpponentScore = opponentScore;
-        SwingUtilities.invokeLater(() -> {
-            ui.updateStatus(finalMyScore, finalOpponentScore, turn);
-        });
-
-    } catch (NumberFormatException e) {
-        System.err.println("Hata: Skor sayıya çevrilemedi: " + payload);
-    } catch (Exception e) {
-        System.err.println("Hata: Skor işlenirken beklenmeyen hata: " + payload);
+        return new int[]{whiteScore, blackScore}; // WHITE
     }
-}
 
     /**
      * Processes incoming messages and updates the UI.
@@ -310,6 +511,21 @@ private void processScore(String payload) {
                     processBoardState(msg.payload());
                     break;
 
+                case BOARD_KEYFRAME:
+                    // Full board with sequence number: "seq,<json>"
+                    processBoardKeyframe(msg.payload());
+                    break;
+
+                case BOARD_DELTA:
+                    // Placed stone and captured stones: "seq,color,x,y,cx,cy,..."
+                    processBoardDelta(msg.payload());
+                    break;
+
+                case MOVE_APPLIED:
+                    // Move result in one message: board delta, score, turn and clocks
+                    processMoveApplied(msg.payload());
+                    break;
+
                 case SCORE:
                     // Score info: directly use format from server "myScore,oppScore,turn"
                     processScore(msg.payload());
@@ -322,9 +538,25 @@ private void processScore(String payload) {
 
                 case GAME_OVER:
                     // Game over: "myScore,oppScore,reason" format
+                    ui.setResumeToken(null);
                     processGameOver(msg.payload());
                     break;
 
+                case SESSION_TOKEN:
+                    // Token for rejoining this game after a dropped connection
+                    ui.setResumeToken(msg.payload());
+                    break;
+
+                case RESUME_STATE:
+                    // Whole game after rejoining, or empty if the server refused
+                    processResumeState(msg.payload());
+                    break;
+
+                case MOVE_REJECTED:
+                    // Server refused a move that was drawn ahead of time
+                    processMoveRejected(msg.payload());
+                    break;
+
                 case ERROR:
                     // Error message
                     showError(msg.payload());
@@ -335,6 +567,16 @@ private void processScore(String payload) {
                     processTimerUpdate(msg.payload());
                     break;
 
+                case CLOCK:
+                    // Clock state on turn change; counted down locally
+                    processClock(msg.payload());
+                    break;
+
+                case PONG:
+                    // Echo of an RTT probe
+                    processPong(msg.payload());
+                    break;
+
                 default:
                     // Other messages
                     LOGGER.log(Level.INFO, "Unhandled message type: {0}", msg.type());
@@ -369,48 +611,374 @@ private void processScore(String payload) {
         }
 
         try {
-            char[][] board = parseJsonBoardManually(jsonBoard);
-            if (board != null) {
-                // Tahtada taş olup olmadığını kontrol et
-                boolean hasStones = false;
-                int blackCount = 0;
-                int whiteCount = 0;
-
-                // Tahtadaki taşları say
-                for (int y = 0; y < board.length; y++) {
-                    for (int x = 0; x < board[y].length; x++) {
-                        if (board[y][x] == 'B') {
-                            hasStones = true;
-                            blackCount++;
-                        } else if (board[y][x] == 'W') {
-                            hasStones = true;
-                            whiteCount++;
-                        }
-                    }
-                }
+            char[][] board = decodeJsonBoard(jsonBoard, spareBoard.getAndSet(null));
+            publishBoard(board != null ? board : parseJsonBoardManually(jsonBoard));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Tahta durumu işlenirken hata: " + jsonBoard, e);
+            showError("Tahta durumu işlenemedi: " + e.getMessage());
+        }
+    }
 
-                if (hasStones && !gameStarted) {
-                    gameStarted = true;
-                    LOGGER.log(Level.INFO, "Tahtada taş tespit edildi - Oyun başlatılıyor. "
-                            + "Siyah taş: {0}, Beyaz taş: {1}", new Object[]{blackCount, whiteCount});
-
-                    if (ui != null) {
-                        try {
-                            ui.startGame();
-                        } catch (Exception e) {
-                            LOGGER.log(Level.WARNING, "startGame çağrılamadı", e);
-                        }
-                    }
+    /**
+     * Processes a keyframe and makes it the base for following deltas.
+     *
+     * @param payload "seq,<json board>"
+     */
+    private void processBoardKeyframe(String payload) {
+        // Answers any outstanding request; if it is unusable the next delta asks again
+        resyncPending = false;
+        int comma = payload == null ? -1 : payload.indexOf(',');
+        if (comma <= 0) {
+            LOGGER.warning("Invalid keyframe: " + payload);
+            return;
+        }
+        try {
+            long seq = Long.parseLong(payload.substring(0, comma));
+            String body = payload.substring(comma + 1);
+            // JSON or packed 2-bit board (Base64), depending on negotiated features
+            char[][] board;
+            if (body.startsWith("[")) {
+                board = decodeJsonBoard(body, deltaBoard);
+                if (board == null) {
+                    board = parseJsonBoardManually(body);
                 }
+            } else {
+                board = BoardCodec.unpackToChars(BoardCodec.fromBase64(body), 0, deltaBoard);
+            }
+            deltaBoard = board;
+            if (board == null) {
+                return;
+            }
+            boardSeq = seq;
+            publishBoard(copyToSpare(board));
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Invalid keyframe: " + payload, e);
+        }
+    }
 
-                SwingUtilities.invokeLater(() -> ui.getBoard().setBoard(board));
+    /**
+     * Applies a board delta on top of the last keyframe. If a sequence number
+     * is missing, the delta is dropped and a keyframe is requested unless one
+     * is already pending.
+     *
+     * @param payload "seq,color,x,y,cx1,cy1,..."
+     */
+    private void processBoardDelta(String payload) {
+        String[] parts = payload == null ? new String[0] : payload.split(",");
+        try {
+            if (!applyDelta(parts, 4, 4)) {
+                return;
+            }
+            publishBoard(copyToSpare(deltaBoard));
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid board delta: " + payload, e);
+            requestResync();
+        }
+    }
+
+    /**
+     * Applies a bundled move result: the board delta, score, side to move and
+     * both clocks reach the UI in a single update.
+     *
+     * @param payload "seq,color,x,y,blackScore,whiteScore,toPlay,blackSec,whiteSec,cx1,cy1,..."
+     */
+    private void processMoveApplied(String payload) {
+        String[] parts = payload == null ? new String[0] : payload.split(",");
+        try {
+            if (applyDelta(parts, 9, 9)) {
+                detectGameStart(deltaBoard);
+            } else if (deltaBoard == null || parts.length < 9) {
+                return;
+            }
+            // Score, side to move and clocks are absolute, so they are shown even
+            // when the board part waits for a keyframe (the server may drop older
+            // updates for a slow connection)
+            applyUpdate(Integer.parseInt(parts[4]), Integer.parseInt(parts[5]), Integer.parseInt(parts[6]),
+                    Integer.parseInt(parts[7]), Integer.parseInt(parts[8]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            LOGGER.log(Level.WARNING, "Invalid move update: " + payload, e);
+            requestResync();
+        }
+    }
+
+    /**
+     * Rejoins a running game from the server's snapshot: role, packed board,
+     * score, side to move and clocks arrive in one message.
+     *
+     * @param payload "role,seq,moveNumber,toPlay,blackScore,whiteScore,blackSec,whiteSec,packedBoard",
+     *                empty if the server refused the token
+     */
+    private void processResumeState(String payload) {
+        String[] parts = payload == null ? new String[0] : payload.split(",", 9);
+        if (parts.length < 9) {
+            LOGGER.info("Resume refused by server");
+            ui.resumeFailed();
+            return;
+        }
+        try {
+            ui.setRole(parts[0]);
+            deltaBoard = BoardCodec.unpackToChars(BoardCodec.fromBase64(parts[8]), 0, deltaBoard);
+            boardSeq = Long.parseLong(parts[1]);
+            resyncPending = false;
+            gameStarted = true;
+            ui.resumeGame(Integer.parseInt(parts[2]));
+            applyUpdate(Integer.parseInt(parts[4]), Integer.parseInt(parts[5]), Integer.parseInt(parts[3]),
+                    Integer.parseInt(parts[6]), Integer.parseInt(parts[7]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            LOGGER.log(Level.WARNING, "Invalid resume state: " + payload, e);
+            ui.resumeFailed();
+        }
+    }
+
+    /**
+     * Shows the delta board together with score, side to move and clocks in
+     * a single UI update.
+     */
+    private void applyUpdate(int blackScore, int whiteScore, int toPlay, int blackSec, int whiteSec) {
+        char[][] board = copyToSpare(deltaBoard);
+        int[] scores = toMyScores(blackScore, whiteScore);
+        if (scores == null) {
+            publishBoard(board);
+            return;
+        }
+        String turn = Stone.fromCode(toPlay).toString();
+        String blackTime = formatClock(blackSec);
+        String whiteTime = formatClock(whiteSec);
+        boolean black = ui.getRole().equalsIgnoreCase("BLACK");
+
+        // The board goes through the latest-wins slot; if an earlier render
+        // task already drew it, only the status and clocks are updated here
+        predictedSeq = 0;
+        offerBoard(board);
+        SwingUtilities.invokeLater(() -> {
+            char[][] latest = pendingBoard.getAndSet(null);
+            ui.applyMoveUpdate(latest, scores[0], scores[1], turn,
+                    black ? blackTime : whiteTime, black ? whiteTime : blackTime);
+            recycleBoard(latest);
+        });
+    }
+
+    /**
+     * Applies a placed stone and its captures to the delta board. If a
+     * sequence number is missing, nothing is applied and a keyframe is
+     * requested once; until it arrives, further deltas are dropped.
+     *
+     * @param parts Payload fields; seq, color, x, y at indices 0-3
+     * @param minFields Minimum number of fields
+     * @param capturesFrom Index of the first captured coordinate
+     * @return true if the delta was applied
+     */
+    private boolean applyDelta(String[] parts, int minFields, int capturesFrom) {
+        if (resyncPending) {
+            return false;
+        }
+        long seq = parts.length >= minFields ? Long.parseLong(parts[0]) : -1;
+        if (deltaBoard == null || seq != boardSeq + 1) {
+            LOGGER.log(Level.INFO, "Board sequence gap (have {0}, got {1}) - requesting keyframe",
+                    new Object[]{boardSeq, seq});
+            requestResync();
+            return false;
+        }
+
+        int size = deltaBoard.length;
+        char stone = Integer.parseInt(parts[1]) == 1 ? 'B' : 'W';
+        int x = Integer.parseInt(parts[2]);
+        int y = Integer.parseInt(parts[3]);
+        if (x >= 0 && x < size && y >= 0 && y < size) {
+            deltaBoard[y][x] = stone;
+        }
+        for (int i = capturesFrom; i + 1 < parts.length; i += 2) {
+            int cx = Integer.parseInt(parts[i]);
+            int cy = Integer.parseInt(parts[i + 1]);
+            if (cx >= 0 && cx < size && cy >= 0 && cy < size) {
+                deltaBoard[cy][cx] = '.';
+            }
+        }
+        boardSeq = seq;
+        return true;
+    }
+
+    /**
+     * Asks the server for a keyframe unless one is already on its way.
+     */
+    private void requestResync() {
+        if (resyncPending) {
+            return;
+        }
+        resyncPending = true;
+        send(new Message(Message.Type.RESYNC, Long.toString(boardSeq)));
+    }
+
+    private static String formatClock(int seconds) {
+        int s = Math.max(0, seconds);
+        return String.format("%02d:%02d", s / 60, s % 60);
+    }
+
+    /**
+     * Copies the reader's board into a spare buffer that can be handed to the EDT.
+     */
+    private char[][] copyToSpare(char[][] board) {
+        char[][] copy = spareBoard.getAndSet(null);
+        if (copy == null || copy.length != board.length) {
+            copy = new char[board.length][board.length];
+        }
+        for (int y = 0; y < board.length; y++) {
+            System.arraycopy(board[y], 0, copy[y], 0, board.length);
+        }
+        return copy;
+    }
+
+    /**
+     * Detects the real game start and hands a decoded board to the EDT. Only
+     * the newest board is drawn: if the EDT has not picked up the previous
+     * one yet, it is replaced and its buffer reused for the next decode.
+     *
+     * @param board Board as [y][x] characters ('.', 'B', 'W'), may be null
+     */
+    private void publishBoard(char[][] board) {
+        if (board == null) {
+            return;
+        }
+        try {
+            detectGameStart(board);
+            // The authoritative board replaces any move drawn ahead of time
+            predictedSeq = 0;
+            if (offerBoard(board)) {
+                SwingUtilities.invokeLater(this::renderLatestBoard);
             }
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Tahta durumu işlenirken hata: " + jsonBoard, e);
+            LOGGER.log(Level.SEVERE, "Tahta durumu işlenirken hata", e);
             showError("Tahta durumu işlenemedi: " + e.getMessage());
         }
     }
 
+    /**
+     * Puts a board into the latest-wins slot.
+     *
+     * @return true if the slot was empty, i.e. no render task is pending
+     */
+    private boolean offerBoard(char[][] board) {
+        char[][] stale = pendingBoard.getAndSet(board);
+        if (stale == null) {
+            return true;
+        }
+        recycleBoard(stale);
+        return false;
+    }
+
+    /**
+     * Draws the newest pending board (EDT only). The panel copies the data,
+     * so the buffer is returned for reuse right away.
+     */
+    private void renderLatestBoard() {
+        char[][] board = pendingBoard.getAndSet(null);
+        if (board != null) {
+            ui.getBoard().setBoard(board);
+            recycleBoard(board);
+        }
+    }
+
+    private void recycleBoard(char[][] board) {
+        if (board != null) {
+            spareBoard.set(board);
+        }
+    }
+
+    /**
+     * Decodes the server's JSON board ({@code [[".","B",...],...]}) directly
+     * into a reusable buffer, without intermediate strings or lists.
+     *
+     * @param json Board data in JSON format
+     * @param reuse Buffer to fill if it has the right size (may be null)
+     * @return Decoded board, or null if the text is not in the expected form
+     */
+    private static char[][] decodeJsonBoard(String json, char[][] reuse) {
+        int n = json.length();
+        int firstRow = json.indexOf('[', 1);
+        int firstRowEnd = firstRow < 0 ? -1 : json.indexOf(']', firstRow);
+        if (json.charAt(0) != '[' || firstRowEnd < 0) {
+            return null;
+        }
+        int quotes = 0;
+        for (int i = firstRow; i < firstRowEnd; i++) {
+            if (json.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        int size = quotes / 2;
+        if (size == 0) {
+            return null;
+        }
+
+        char[][] board = reuse != null && reuse.length == size ? reuse : new char[size][size];
+        int y = -1;
+        int x = size;
+        for (int i = 1; i < n; i++) {
+            char c = json.charAt(i);
+            if (c == '[') {
+                if (++y >= size) {
+                    return null;
+                }
+                x = 0;
+            } else if (c == '"') {
+                int close = json.indexOf('"', i + 1);
+                if (close < 0 || x >= size) {
+                    return null;
+                }
+                board[y][x++] = close > i + 1 ? json.charAt(i + 1) : '.';
+                i = close;
+            } else if (c == ']' && x < size) {
+                // Short row: fill the rest with empty points
+                while (x < size) {
+                    board[y][x++] = '.';
+                }
+            }
+        }
+        return y == size - 1 && x == size ? board : null;
+    }
+
+    /**
+     * Marks the game as started the first time a stone appears on the board.
+     *
+     * @param board Board as [y][x] characters
+     */
+    private void detectGameStart(char[][] board) {
+        if (gameStarted) {
+            return;
+        }
+        // Tahtada taş olup olmadığını kontrol et
+        boolean hasStones = false;
+        int blackCount = 0;
+        int whiteCount = 0;
+
+        // Tahtadaki taşları say
+        for (int y = 0; y < board.length; y++) {
+            for (int x = 0; x < board[y].length; x++) {
+                if (board[y][x] == 'B') {
+                    hasStones = true;
+                    blackCount++;
+                } else if (board[y][x] == 'W') {
+                    hasStones = true;
+                    whiteCount++;
+                }
+            }
+        }
+
+        if (hasStones && !gameStarted) {
+            gameStarted = true;
+            LOGGER.log(Level.INFO, "Tahtada taş tespit edildi - Oyun başlatılıyor. "
+                    + "Siyah taş: {0}, Beyaz taş: {1}", new Object[]{blackCount, whiteCount});
+
+            if (ui != null) {
+                try {
+                    ui.startGame();
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, "startGame çağrılamadı", e);
+                }
+            }
+        }
+    }
+
     /**
      * Manually parses JSON format board data to char[][] array without external
      * libraries.
@@ -14,6 +14,7 @@ import game.go.model.GameGoModel;
 import game.go.model.Point;
 import game.go.model.Stone;
 import game.go.util.GameRecorder;
+import game.go.util.GameClock;
 import game.go.util.GameTimer;
 
 import java.io.IOException;
@@ -52,6 +53,8 @@ public class MainFrm extends JFrame {
     private static final int DEFAULT_TIME_MINUTES = 30;
     private static final int MAX_RECONNECT_ATTEMPTS = 3;
     private static final int RECONNECT_DELAY_BASE = 1000; // ms
+    private static final int RESUME_ATTEMPTS = 6; // 0.25 + 0.5 + ... + 8 sn, sunucunun bekleme süresi içinde
+    private static final int RESUME_DELAY_BASE = 250; // ms
 
     // Theme Colors
     private static final Color DARK_BG = new Color(25, 25, 25);
@@ -123,10 +126,15 @@ public class MainFrm extends JFrame {
     private final int port;
     private CClient client;
     private boolean intentionalDisconnect = false;
+    private volatile String resumeToken; // Kopan oyuna geri dönüş anahtarı (oyun yoksa null)
 
     // Time management
     private GameTimer blackTimer;
     private GameTimer whiteTimer;
+    // Sunucu saati (clock özelliği): sıra değişiminde gelir, yerelde geri sayılır
+    private GameClock serverClock;
+    private Timer clockTicker;
+    private static final int CLOCK_REPAINT_MS = 200;
     private boolean timeWarningPlayed = false;
     private boolean criticalWarningPlayed = false;
     private boolean lastTurnState = false;
@@ -948,7 +956,7 @@ public class MainFrm extends JFrame {
             this.myTurn = newTurn;
 
             // UI güncellemelerini EDT'de yap
-            SwingUtilities.invokeLater(() -> {
+            runOnEdt(() -> {
                 String roleText = role.equals("BLACK") ? "Siyah" : "Beyaz";
                 String turnText = myTurn ? "► SIRANIZ" : "Rakip";
                 
@@ -1094,13 +1102,7 @@ public class MainFrm extends JFrame {
                 }
 
                 // Zamanlayıcıyı durdur ve diğerini başlat
-                if (role.equalsIgnoreCase("BLACK")) {
-                    blackTimer.stop();
-                    whiteTimer.start();
-                } else {
-                    whiteTimer.stop();
-                    blackTimer.start();
-                }
+                switchLocalTimers();
 
                 // Sıra durumunu güncelle
                 myTurn = false;
@@ -1190,8 +1192,7 @@ public class MainFrm extends JFrame {
                 updateDetailedScoreDisplay(myScore, oppScore);
 
                 // Zamanlayıcıları durdur ve oyunu bitir
-                blackTimer.stop();
-                whiteTimer.stop();
+                stopTimers();
                 gameInProgress = false;
                 myTurn = false;
                 updateStatusVisuals();
@@ -1424,6 +1425,65 @@ public class MainFrm extends JFrame {
         });
     }
 
+    /**
+     * Hamleden sonra sırayı yerel zamanlayıcılarda rakibe geçirir. Sunucu
+     * saati varsa süreyi o işletir; yerel zamanlayıcılar çalıştırılmaz.
+     */
+    private void switchLocalTimers() {
+        if (serverClock != null) {
+            return;
+        }
+        if (role.equalsIgnoreCase("BLACK")) {
+            blackTimer.stop();
+            whiteTimer.start();
+        } else {
+            whiteTimer.stop();
+            blackTimer.start();
+        }
+    }
+
+    /**
+     * Yerel zamanlayıcıları ve sunucu saatinin geri sayımını durdurur
+     */
+    private void stopTimers() {
+        blackTimer.stop();
+        whiteTimer.stop();
+        if (clockTicker != null) {
+            clockTicker.stop();
+        }
+    }
+
+    /**
+     * Sunucunun sıra değişiminde gönderdiği saati uygular. Saat tik mesajı
+     * beklemeden yerelde geri sayılır ve kısa aralıklarla yeniden çizilir.
+     *
+     * @param clock Gecikmesi düzeltilmiş sunucu saati
+     */
+    public void applyClock(GameClock clock) {
+        runOnEdt(() -> {
+            serverClock = clock;
+            blackTimer.stop();
+            whiteTimer.stop();
+            if (clockTicker == null) {
+                clockTicker = new Timer(CLOCK_REPAINT_MS, e -> renderClock());
+            }
+            renderClock();
+            if (clock.running() != null) {
+                clockTicker.start();
+            } else {
+                clockTicker.stop();
+            }
+        });
+    }
+
+    /**
+     * Sunucu saatinin şu anki değerini gösterir
+     */
+    private void renderClock() {
+        Stone me = role.equalsIgnoreCase("BLACK") ? Stone.BLACK : Stone.WHITE;
+        updateTimers(serverClock.text(me), serverClock.text(me.opponent()));
+    }
+
     /**
      * Zaman ilerleme çubuğunu günceller
      */
@@ -1460,6 +1520,40 @@ public class MainFrm extends JFrame {
         }
     }
 
+    /**
+     * Bir hamlenin sonucunu (tahta, skor, sıra, süreler) tek bir EDT
+     * görevinde uygular; ara durumlar ekrana yansımaz. EDT üzerinden
+     * çağrılırsa hemen uygulanır.
+     *
+     * @param boardData Yeni tahta ([y][x] karakterleri), null ise tahta değişmez
+     * @param myScore Benim skorum
+     * @param oppScore Rakibin skoru
+     * @param whoseTurn Sıra kimde (BLACK/WHITE)
+     * @param myTime Kalan sürem
+     * @param opponentTime Rakibin kalan süresi
+     */
+    public void applyMoveUpdate(char[][] boardData, int myScore, int oppScore, String whoseTurn,
+            String myTime, String opponentTime) {
+        runOnEdt(() -> {
+            if (boardData != null) {
+                board.setBoard(boardData);
+            }
+            updateStatus(myScore, oppScore, whoseTurn);
+            updateTimers(myTime, opponentTime);
+        });
+    }
+
+    /**
+     * Görevi EDT üzerindeyse hemen, değilse EDT kuyruğuna ekleyerek çalıştırır
+     */
+    private static void runOnEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+
     /**
      * Zamanlayıcı güncellemesini işler
      *
@@ -1471,7 +1565,7 @@ public class MainFrm extends JFrame {
         final String finalMyTime = myTime;
         final String finalOpponentTime = opponentTime;
 
-        SwingUtilities.invokeLater(() -> {
+        runOnEdt(() -> {
             // Klasik labelları güncelle
             if (role.equalsIgnoreCase("BLACK")) {
                 lblBlackTime.setText(finalMyTime);
@@ -1489,7 +1583,7 @@ public class MainFrm extends JFrame {
             try {
                 String[] timeParts = finalMyTime.split(":");
                 int minutes = Integer.parseInt(timeParts[0]);
-                int seconds = Integer.parseInt(timeParts[1]);
+                int seconds = Integer.parseInt(timeParts[1].substring(0, 2)); // byo-yomide "SS (periyot)"
                 int totalSeconds = minutes * 60 + seconds;
 
                 // Süre az kaldığında uyarı renkleri ve efektleri
@@ -1773,12 +1867,12 @@ public class MainFrm extends JFrame {
             client.setJustMadeMove(true);
         }
 
-        // Hamleyi sunucuya gönder
-        client.send(new Message(Message.Type.MOVE, boardCoord.x() + "," + boardCoord.y()));
+        // Hamleyi sunucuya gönder (destekleniyorsa tahtada hemen gösterilir)
+        Stone playerStone = role.equalsIgnoreCase("BLACK") ? Stone.BLACK : Stone.WHITE;
+        client.sendMove(boardCoord, playerStone);
 
         // Hamleyi kaydet
         if (gameRecorder != null && gameInProgress) {
-            Stone playerStone = role.equalsIgnoreCase("BLACK") ? Stone.BLACK : Stone.WHITE;
             registerMoveInRecorder(boardCoord, playerStone);
         }
 
@@ -1787,13 +1881,7 @@ public class MainFrm extends JFrame {
         updateStatusVisuals();
 
         // Zamanlayıcıları değiştir
-        if (role.equalsIgnoreCase("BLACK")) {
-            blackTimer.stop();
-            whiteTimer.start();
-        } else {
-            whiteTimer.stop();
-            blackTimer.start();
-        }
+        switchLocalTimers();
 
         // Görsel geri bildirim - geçici vurgu
         board.animateStonePlace(boardCoord, role.equalsIgnoreCase("BLACK") ? 'B' : 'W');
@@ -1841,6 +1929,9 @@ public class MainFrm extends JFrame {
             // Kullanıcıya bilgi ver
             showChat("Yeni oyun hazırlanıyor...");
 
+            // Eski oyuna geri dönülmeyecek
+            resumeToken = null;
+
             // Mevcut bağlantıyı kapat - bu handleNewGameReconnect'i tetikleyecek
             if (client != null) {
                 intentionalDisconnect = true;
@@ -1878,8 +1969,7 @@ public class MainFrm extends JFrame {
      */
     public void handleNewGameReconnect() {
         // Zamanlayıcıları durdur
-        blackTimer.stop();
-        whiteTimer.stop();
+        stopTimers();
 
         // Oyun durumunu güncelle
         myTurn = false;
@@ -1965,9 +2055,16 @@ public class MainFrm extends JFrame {
                 return;
             }
 
+            // Süren bir oyun varsa sormadan hemen geri dönmeyi dene
+            if (resumeToken != null && gameInProgress) {
+                showChat("Bağlantı koptu, oyuna geri dönülüyor...");
+                updateConnectionStatus(false);
+                resumeWithRetry(resumeToken);
+                return;
+            }
+
             // Zamanlayıcıları durdur
-            blackTimer.stop();
-            whiteTimer.stop();
+            stopTimers();
 
             // Oyun durumunu güncelle
             myTurn = false;
@@ -2000,6 +2097,73 @@ public class MainFrm extends JFrame {
         });
     }
 
+    /**
+     * Kopan oyuna kısa ve artan aralıklarla yeniden bağlanmayı dener. Bağlantı
+     * kurulunca oturum anahtarı sunulur; sunucu oyunu RESUME_STATE ile geri
+     * gönderir. Hiç bağlanılamazsa normal bağlantı kesildi akışına dönülür.
+     *
+     * @param token Oturum anahtarı
+     */
+    private void resumeWithRetry(String token) {
+        new Thread(() -> {
+            for (int attempt = 0; attempt < RESUME_ATTEMPTS; attempt++) {
+                try {
+                    Thread.sleep((long) RESUME_DELAY_BASE << attempt);
+                    CClient resumed = new CClient(host, port, this);
+                    resumed.requestResume(token);
+                    client = resumed;
+                    resumed.start();
+                    updateConnectionStatus(true);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    LOGGER.log(Level.INFO, "Resume attempt {0} failed: {1}", new Object[]{attempt + 1, e.getMessage()});
+                }
+            }
+            // Geri dönülemedi: kullanıcıya normal seçenekleri sun
+            resumeToken = null;
+            handleDisconnect();
+        }, "Resume").start();
+    }
+
+    /**
+     * Sunucunun verdiği oturum anahtarını saklar
+     *
+     * @param token Anahtar, oyun bittiyse null
+     */
+    public void setResumeToken(String token) {
+        this.resumeToken = token;
+    }
+
+    /**
+     * Oyuna geri dönüldüğünde çağrılır; oyun durumu RESUME_STATE ile gelir
+     *
+     * @param moveNumber Sunucudaki hamle sayısı
+     */
+    public void resumeGame(int moveNumber) {
+        this.gameStarted = true;
+        this.gameInProgress = true;
+        SwingUtilities.invokeLater(() -> {
+            showChat("Oyuna geri dönüldü (hamle " + moveNumber + ").");
+            updateStatusVisuals();
+        });
+    }
+
+    /**
+     * Sunucu geri dönüşü kabul etmediğinde çağrılır; yeni eşleşme beklenir
+     */
+    public void resumeFailed() {
+        resumeToken = null;
+        SwingUtilities.invokeLater(() -> {
+            gameInProgress = false;
+            updateStatusVisuals();
+            showChat("Oyuna geri dönülemedi.");
+            sendReadyForNewGame();
+        });
+    }
+
     /**
      * Yeniden bağlanma denemesi yapar
      */
@@ -2197,8 +2361,7 @@ public class MainFrm extends JFrame {
         }
 
         // Zamanlayıcıları durdur
-        blackTimer.stop();
-        whiteTimer.stop();
+        stopTimers();
         gameInProgress = false;
         updateStatusVisuals();
 
@@ -2486,6 +2649,9 @@ public class MainFrm extends JFrame {
         if (whiteTimer != null) {
             whiteTimer.stop();
         }
+        if (clockTicker != null) {
+            clockTicker.stop();
+        }
 
         // Bağlantıyı kapat
         if (client != null) {
@@ -0,0 +1,146 @@
+package common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Önceden kodlanmış, değişmez bir mesaj çerçevesi.
+ * <p>
+ * Aynı mesaj birden çok alıcıya (iki oyuncu, izleyiciler, tüm bağlı
+ * istemciler) gönderilecekse her biçim yalnızca bir kez kodlanır ve aynı
+ * baytlar her bağlantıya yazılır: yayın maliyeti alıcı sayısı kadar kodlama
+ * yerine bir kodlama ve alıcı sayısı kadar yazmadır. Kodlamalar uzunluk öneki
+ * dahil tam çerçevedir ve ilk ihtiyaçta oluşturulur; eşzamanlı ilk erişimde
+ * aynı baytların iki kez üretilmesi zararsızdır.
+ * </p>
+ * <p>
+ * Sıkıştırma da bağlantıdan bağımsızdır (her çerçeve ön tanımlı sözlükle ayrı
+ * sıkıştırılır), bu yüzden sıkıştırılmış biçim de ilk sıkıştırmayı yapan
+ * bağlantıda bir kez üretilip diğer alıcılar için saklanır.
+ * </p>
+ */
+public final class Frame {
+
+    private final Message message;
+    private volatile byte[] binary;
+    private volatile byte[] legacy;
+    private volatile byte[] binaryDeflated;
+    private volatile byte[] legacyDeflated;
+
+    // Sıkıştırmanın yer kazandırmadığı çerçeveler için işaret
+    private static final byte[] INCOMPRESSIBLE = new byte[0];
+
+    private Frame(Message message) {
+        this.message = message;
+    }
+
+    /**
+     * Mesaj için yeni bir çerçeve oluşturur (kodlama ilk yazımda yapılır).
+     *
+     * @param message Mesaj
+     * @return Çerçeve
+     */
+    public static Frame of(Message message) {
+        return new Frame(message);
+    }
+
+    public Message message() {
+        return message;
+    }
+
+    /**
+     * Çerçevenin salt okunur görünümünü döndürür.
+     *
+     * @param binaryFormat true ise ikili, değilse Java serileştirme biçimi
+     * @return Uzunluk öneki dahil çerçeve baytları
+     */
+    public ByteBuffer asByteBuffer(boolean binaryFormat) {
+        return ByteBuffer.wrap(encoded(binaryFormat)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Paket içi kullanım için kodlanmış diziyi kopyalamadan döndürür; çağıran
+     * değiştirmemelidir.
+     */
+    byte[] encoded(boolean binaryFormat) {
+        byte[] b = binaryFormat ? binary : legacy;
+        if (b == null) {
+            b = binaryFormat ? encodeBinary(message) : encodeLegacy(message);
+            if (binaryFormat) {
+                binary = b;
+            } else {
+                legacy = b;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Çerçevenin sıkıştırılmış biçimini döndürür; ilk çağrıda verilen
+     * sıkıştırıcıyla üretilir, sonraki alıcılar yalnızca istatistik kaydeder.
+     * Çağıran değiştirmemelidir.
+     *
+     * @param binaryFormat true ise ikili, değilse Java serileştirme biçimi
+     * @param compressor Bağlantının sıkıştırıcısı
+     * @return Uzunluk öneki dahil sıkıştırılmış çerçeve, yer kazandırmıyorsa null
+     * @throws IOException Sıkıştırıcı kapatıldıysa
+     */
+    byte[] deflated(boolean binaryFormat, FrameCompressor compressor) throws IOException {
+        byte[] raw = encoded(binaryFormat);
+        byte[] b = binaryFormat ? binaryDeflated : legacyDeflated;
+        if (b == null) {
+            WireCodec.Buffer buf = new WireCodec.Buffer(raw.length);
+            buf.putInt(0);
+            if (compressor.compress(raw, 4, raw.length - 4, buf)) {
+                buf.setInt(0, buf.length() - 4);
+                b = buf.toArray();
+            } else {
+                b = INCOMPRESSIBLE;
+            }
+            if (binaryFormat) {
+                binaryDeflated = b;
+            } else {
+                legacyDeflated = b;
+            }
+        } else if (b != INCOMPRESSIBLE) {
+            compressor.countReused(raw.length - 4, b.length - 4);
+        }
+        return b == INCOMPRESSIBLE ? null : b;
+    }
+
+    private static byte[] encodeBinary(Message msg) {
+        WireCodec.Buffer buf = new WireCodec.Buffer(64);
+        buf.putInt(0);
+        WireCodec.encode(msg, buf);
+        buf.setInt(0, buf.length() - 4);
+        return buf.toArray();
+    }
+
+    private static byte[] encodeLegacy(Message msg) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        bos.write(0);
+        bos.write(0);
+        bos.write(0);
+        bos.write(0);
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(msg);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Bellek içi akışta olmaz
+        }
+        byte[] b = bos.toByteArray();
+        int len = b.length - 4;
+        b[0] = (byte) (len >>> 24);
+        b[1] = (byte) (len >>> 16);
+        b[2] = (byte) (len >>> 8);
+        b[3] = (byte) len;
+        return b;
+    }
+
+    @Override
+    public String toString() {
+        return "Frame[" + message.type() + "]";
+    }
+}
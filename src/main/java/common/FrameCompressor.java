@@ -0,0 +1,278 @@
+package common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bağlantı başına çerçeve sıkıştırması ({@link Protocol#FEATURE_DEFLATE}).
+ * <p>
+ * Eşik değerinden büyük çerçeveler {@code [CMARKER:1][ham uzunluk:varint][deflate]}
+ * biçiminde gönderilir; içerik, uzunluk öneki olmadan ikili ya da Java
+ * serileştirme çerçevesidir. Her çerçeve Go'ya özgü ön tanımlı bir sözlükle
+ * ayrı sıkıştırılır: bağlantıda durum taşınmadığı için çerçeveler bağımsız
+ * çözülür, sözlük sayesinde küçük çerçevelerde de oran iyi kalır. Deflater ve
+ * Inflater bağlantı başına bir kez oluşturulup her çerçevede sıfırlanır;
+ * yerel zlib belleği bağlantı kapanırken {@link #close()} ile bırakılır.
+ * </p>
+ * <p>
+ * Sıkıştırma sadece yazan thread'den (kanalın yazma kilidi altında), açma
+ * sadece okuyan thread'den çağrılmalıdır. Oran ve CPU süresi bağlantı başına
+ * ve tüm süreç için tutulur; bant genişliği mi CPU mu darboğaz, buna göre
+ * karar verilebilir.
+ * </p>
+ */
+public final class FrameCompressor {
+
+    /** Sıkıştırılmış çerçevenin ilk baytı (ikili ve Java serileştirme işaretleriyle çakışmaz) */
+    public static final byte CMARKER = (byte) 0xB2;
+
+    /** Bundan küçük çerçeveler sıkıştırılmaz (bayt) */
+    public static final int THRESHOLD = Integer.getInteger("go.wire.compressThreshold", 512);
+
+    private static final int LEVEL = Integer.getInteger("go.wire.compressLevel", Deflater.BEST_SPEED);
+
+    /**
+     * Ön tanımlı sözlük. Sık geçen diziler sona yakın olmalıdır. Değiştirilirse
+     * eski sürümlerle uyum için yeni bir özellik adı gerekir.
+     */
+    private static final byte[] DICTIONARY = (
+            // Java serileştirme sınıf tanımları (eski biçim)
+            "common.Message\u0000java.lang.Enum\u0000common.Message$Type\u0000Ljava/lang/String;"
+            + "Lcommon/Message$Type;payloadtypexr\u0000xp~q\u0000t\u0000"
+            // SGF ve oyun kaydı
+            + "(;GM[1]FF[4]CA[UTF-8]SZ[19]KM[6.5]RU[Japanese]PB[]PW[]RE[B+R]RE[W+R];B[;W[]"
+            // Sohbet ve sistem mesajları
+            + "System: Oyun başladı! Rakip bağlantısı kesildi. süre dolduğu için oyunu kaybetti."
+            + "BLACK,WHITE,RESIGN,SCORE,"
+            // JSON tahta satırları
+            + "[\"B\",\"W\",\"B\",\"W\",\".\",\"B\",\".\",\"W\"],"
+            + "[\".\",\".\",\".\",\".\",\".\",\".\",\".\",\".\",\".\",\".\","
+            + "\".\",\".\",\".\",\".\",\".\",\".\",\".\",\".\",\".\"],["
+    ).getBytes(StandardCharsets.UTF_8);
+
+    // Süreç geneli toplamlar
+    private static final LongAdder TOTAL_RAW_OUT = new LongAdder();
+    private static final LongAdder TOTAL_PACKED_OUT = new LongAdder();
+    private static final LongAdder TOTAL_DEFLATE_NANOS = new LongAdder();
+    private static final LongAdder TOTAL_INFLATE_NANOS = new LongAdder();
+
+    private final Deflater deflater = new Deflater(LEVEL);
+    private final Inflater inflater = new Inflater();
+
+    // Kapatma başka bir thread'den gelebilir; sıkıştırma ve açma ilgili
+    // nesnenin monitörü altında yapılır, kapandıktan sonra IOException atar
+    private boolean deflaterClosed;
+    private boolean inflaterClosed;
+
+    // Bağlantı başına istatistikler
+    private final LongAdder framesOut = new LongAdder();
+    private final LongAdder rawOut = new LongAdder();
+    private final LongAdder packedOut = new LongAdder();
+    private final LongAdder deflateNanos = new LongAdder();
+    private final LongAdder framesIn = new LongAdder();
+    private final LongAdder rawIn = new LongAdder();
+    private final LongAdder packedIn = new LongAdder();
+    private final LongAdder inflateNanos = new LongAdder();
+
+    /**
+     * İçeriği sıkıştırılmış çerçeve olarak yazar. Sıkıştırma yer kazandırmazsa
+     * hiçbir şey yazılmaz.
+     *
+     * @param src Ham çerçeve içeriği (uzunluk öneki olmadan)
+     * @param off Başlangıç
+     * @param len Uzunluk
+     * @param out Hedef tampon; sıkıştırılmış çerçeve sonuna eklenir
+     * @return Sıkıştırılmış çerçeve yazıldıysa true
+     * @throws IOException Sıkıştırıcı kapatıldıysa
+     */
+    boolean compress(byte[] src, int off, int len, WireCodec.Buffer out) throws IOException {
+        synchronized (deflater) {
+            if (deflaterClosed) {
+                throw new IOException("Sıkıştırıcı kapatıldı");
+            }
+            return deflate(src, off, len, out);
+        }
+    }
+
+    private boolean deflate(byte[] src, int off, int len, WireCodec.Buffer out) {
+        long start = System.nanoTime();
+        int mark = out.length();
+        out.put(CMARKER);
+        out.putVarInt(len);
+        int headerEnd = out.length();
+
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(src, off, len);
+        deflater.finish();
+        int limit = mark + len; // Ham çerçeveden uzun olursa vazgeç
+        out.ensureCapacity(limit);
+        int end = headerEnd;
+        while (!deflater.finished() && end < limit) {
+            end += deflater.deflate(out.array(), end, limit - end);
+        }
+        boolean smaller = deflater.finished() && end < limit;
+        out.truncate(smaller ? end : mark);
+
+        long nanos = System.nanoTime() - start;
+        deflateNanos.add(nanos);
+        TOTAL_DEFLATE_NANOS.add(nanos);
+        if (smaller) {
+            countReused(len, end - mark);
+        }
+        return smaller;
+    }
+
+    /**
+     * Başka bir bağlantıda sıkıştırılıp {@link Frame} üzerinde önbelleklenmiş
+     * bir çerçevenin bu bağlantıdan gönderildiğini kaydeder. Sıkıştırma süresi
+     * yalnızca çerçeveyi sıkıştıran bağlantıya yazılır.
+     *
+     * @param rawLength Ham içerik uzunluğu
+     * @param packedLength Sıkıştırılmış çerçeve uzunluğu (önek hariç)
+     */
+    void countReused(int rawLength, int packedLength) {
+        framesOut.increment();
+        rawOut.add(rawLength);
+        packedOut.add(packedLength);
+        TOTAL_RAW_OUT.add(rawLength);
+        TOTAL_PACKED_OUT.add(packedLength);
+    }
+
+    /**
+     * Sıkıştırılmış bir çerçeveyi açar.
+     *
+     * @param src Sıkıştırılmış çerçeve (CMARKER ile başlar)
+     * @param len Uzunluk
+     * @param maxLength Açılmış içerik için üst sınır
+     * @param out Hedef tampon; açılan içerik {@code [0, length)} aralığına yazılır
+     * @throws IOException Çerçeve bozuksa, sınırı aşıyorsa ya da sıkıştırıcı kapatıldıysa
+     */
+    void decompress(byte[] src, int len, int maxLength, WireCodec.Buffer out) throws IOException {
+        synchronized (inflater) {
+            if (inflaterClosed) {
+                throw new IOException("Sıkıştırıcı kapatıldı");
+            }
+            inflate(src, len, maxLength, out);
+        }
+    }
+
+    private void inflate(byte[] src, int len, int maxLength, WireCodec.Buffer out) throws IOException {
+        long start = System.nanoTime();
+        WireCodec.Buffer header = new WireCodec.Buffer(0);
+        header.wrap(src, 1, len);
+        int rawLength;
+        try {
+            rawLength = header.varInt();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Bozuk sıkıştırılmış çerçeve", e);
+        }
+        if (rawLength <= 0 || rawLength > maxLength) {
+            throw new IOException("Geçersiz sıkıştırılmış çerçeve uzunluğu: " + rawLength);
+        }
+        int dataStart = len - header.remaining();
+
+        // Bir bayt fazla yer: fazladan veri ve akış sonu sağlaması ayırt edilebilsin
+        byte[] dst = out.prepareRead(rawLength + 1);
+        inflater.reset();
+        inflater.setInput(src, dataStart, len - dataStart);
+        try {
+            int n = 0;
+            while (!inflater.finished() && n <= rawLength) {
+                int r = inflater.inflate(dst, n, rawLength + 1 - n);
+                if (r == 0) {
+                    if (!inflater.needsDictionary()) {
+                        break;
+                    }
+                    inflater.setDictionary(DICTIONARY);
+                }
+                n += r;
+            }
+            if (n != rawLength || !inflater.finished()) {
+                throw new IOException("Sıkıştırılmış çerçeve uzunluğu uyuşmuyor");
+            }
+            out.truncate(rawLength);
+        } catch (DataFormatException e) {
+            throw new IOException("Bozuk sıkıştırılmış çerçeve", e);
+        }
+
+        long nanos = System.nanoTime() - start;
+        inflateNanos.add(nanos);
+        TOTAL_INFLATE_NANOS.add(nanos);
+        framesIn.increment();
+        rawIn.add(rawLength);
+        packedIn.add(len);
+    }
+
+    /**
+     * Deflater ve Inflater'ın yerel belleğini bırakır. Birden çok kez
+     * çağrılabilir; istatistikler okunmaya devam edebilir.
+     */
+    public void close() {
+        synchronized (deflater) {
+            deflaterClosed = true;
+            deflater.end();
+        }
+        synchronized (inflater) {
+            inflaterClosed = true;
+            inflater.end();
+        }
+    }
+
+    /** @return Sıkıştırılarak gönderilen çerçeve sayısı */
+    public long getFramesOut() {
+        return framesOut.sum();
+    }
+
+    /** @return Sıkıştırılan çerçevelerin ham toplam boyutu */
+    public long getRawBytesOut() {
+        return rawOut.sum();
+    }
+
+    /** @return Sıkıştırılan çerçevelerin gönderilen toplam boyutu */
+    public long getCompressedBytesOut() {
+        return packedOut.sum();
+    }
+
+    /** @return Sıkıştırmada harcanan toplam süre (ns), vazgeçilen denemeler dahil */
+    public long getDeflateNanos() {
+        return deflateNanos.sum();
+    }
+
+    /** @return Açılan çerçeve sayısı */
+    public long getFramesIn() {
+        return framesIn.sum();
+    }
+
+    /** @return Açmada harcanan toplam süre (ns) */
+    public long getInflateNanos() {
+        return inflateNanos.sum();
+    }
+
+    /**
+     * @return Bağlantının sıkıştırma özeti (oran ve CPU süresi)
+     */
+    public String summary() {
+        return format(rawOut.sum(), packedOut.sum(), deflateNanos.sum(), inflateNanos.sum())
+                + String.format(", %d/%d çerçeve gönderildi/alındı, alınan %d -> %d bayt",
+                        framesOut.sum(), framesIn.sum(), packedIn.sum(), rawIn.sum());
+    }
+
+    /**
+     * @return Tüm bağlantıların toplam sıkıştırma özeti
+     */
+    public static String totalSummary() {
+        return format(TOTAL_RAW_OUT.sum(), TOTAL_PACKED_OUT.sum(),
+                TOTAL_DEFLATE_NANOS.sum(), TOTAL_INFLATE_NANOS.sum());
+    }
+
+    private static String format(long raw, long packed, long deflateNs, long inflateNs) {
+        double ratio = packed > 0 ? (double) raw / packed : 1.0;
+        return String.format("gönderilen %d -> %d bayt (oran %.2f), sıkıştırma %.1f ms, açma %.1f ms",
+                raw, packed, ratio, deflateNs / 1e6, inflateNs / 1e6);
+    }
+}
@@ -3,6 +3,9 @@ package common;
 import java.io.*;
 
 public final class IOUtil { 
+    // Bozuk ya da kötü niyetli uzunluk önekine karşı üst sınır
+    private static final int MAX_FRAME = 1 << 20;
+    
     private IOUtil() {} 
     
     public static void writeMessage(OutputStream out, Message msg) throws IOException { 
@@ -17,11 +20,53 @@ public final class IOUtil {
         dout.flush(); 
     } 
     
+    /**
+     * Mesajı anlaşılan biçimde yazar.
+     * 
+     * @param out Çıkış akışı
+     * @param msg Mesaj
+     * @param binary true ise {@link WireCodec} çerçevesi, değilse Java serileştirme
+     * @throws IOException Yazma hatası olursa
+     */
+    public static void writeMessage(OutputStream out, Message msg, boolean binary) throws IOException { 
+        if (!binary) {
+            writeMessage(out, msg);
+            return;
+        }
+        byte[] body = WireCodec.encode(msg);
+        // Uzunluk öneki ve gövde tek yazımda gider
+        byte[] frame = new byte[4 + body.length];
+        frame[0] = (byte) (body.length >>> 24);
+        frame[1] = (byte) (body.length >>> 16);
+        frame[2] = (byte) (body.length >>> 8);
+        frame[3] = (byte) body.length;
+        System.arraycopy(body, 0, frame, 4, body.length);
+        out.write(frame);
+        out.flush();
+    } 
+    
+    /**
+     * Bir mesaj okur. Çerçevenin ikili mi yoksa Java serileştirme mi olduğu
+     * ilk bayttan anlaşılır, bu yüzden iki biçim aynı akışta karışabilir.
+     * 
+     * @param in Giriş akışı
+     * @return Mesaj, bağlantı kapandıysa null
+     * @throws IOException Okuma hatası ya da bozuk çerçeve
+     */
     public static Message readMessage(InputStream in) throws IOException { 
         try { 
             DataInputStream din = new DataInputStream(in); 
             int len = din.readInt(); 
+            if (len < 0 || len > MAX_FRAME) {
+                throw new IOException("Geçersiz çerçeve uzunluğu: " + len);
+            }
             byte[] buf = din.readNBytes(len); 
+            if (buf.length < len) {
+                return null; // Çerçeve ortasında bağlantı sonlandı
+            }
+            if (len > 0 && buf[0] == WireCodec.MARKER) {
+                return WireCodec.decode(buf, 0, len);
+            }
             try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buf))) { 
                 return (Message) ois.readObject(); 
             } catch (ClassNotFoundException e) { 
@@ -10,6 +10,23 @@ public record Message(Type type, String payload) implements Serializable {
         PING, PONG,           // Bağlantı kontrol mesajları
         UNDO_MOVE,            // Hamle geri alma (payload: "")
         TO_SERVER,
-        GAME_CONFIG           // Oyun konfigürasyonu (payload: "boardSize,handicap,komi")
+        GAME_CONFIG,          // Oyun konfigürasyonu (payload: "boardSize,handicap,komi")
+        // Aşağıdakiler sadece ilgili özelliği anlaşılmış bağlantılara gönderilir
+        // (bkz. Protocol). Yeni tipler her zaman sona eklenmelidir.
+        BOARD_DELTA,          // Tahta farkı (payload: "seq,renk,x,y,cx1,cy1,...")
+        BOARD_KEYFRAME,       // Tam tahta (payload: "seq,<BOARD_STATE JSON>" ya da "seq,<paketli Base64>")
+        RESYNC,               // İstemci tam tahta ister (payload: son bilinen seq)
+        MOVE_APPLIED,         // Hamle, skor, sıra ve süreler tek mesajda
+                              // (payload: "seq,renk,x,y,siyahSkor,beyazSkor,sıra,siyahSn,beyazSn,cx1,cy1,...")
+        SESSION_TOKEN,        // Oturuma geri dönüş anahtarı (payload: anahtar)
+        RESUME,               // Yeni bağlantıyla oturuma geri dön (payload: anahtar)
+        RESUME_STATE,         // Geri dönüş görüntüsü (payload: "rol,seq,hamleNo,sıra,siyahSkor,beyazSkor,
+                              // siyahSn,beyazSn,<paketli Base64>"; reddedildiyse boş)
+        MOVE_REJECTED,        // Tahmin edilen hamle reddedildi (payload: istemcinin hamle sıra numarası)
+        CLOCK,                // Sıra değişiminde oyun saati (payload: "sıra,geçenMs,siyahMs,siyahPeriyot,
+                              // beyazMs,beyazPeriyot,periyotMs,artışMs", bkz. GameClock)
+        PRESENCE,             // Bağlı istemciler (payload: "tür,sürüm,gelenSayısı,gelen1,...,giden1,...";
+                              // tür 0 = tam liste, 1 = önceki sürüme göre fark)
+        PRESENCE_SUBSCRIBE    // PRESENCE aboneliği (payload: "1" abone ol, "0" ayrıl)
     }
 }
\ No newline at end of file
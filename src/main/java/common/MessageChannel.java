@@ -0,0 +1,335 @@
+package common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tek bir bağlantının mesaj kanalı.
+ * <p>
+ * {@link IOUtil} ile aynı çerçeveleri okur/yazar, fakat her mesajda yeni akış
+ * ve dizi oluşturmak yerine bağlantı başına tamponlanmış soket akışlarını ve
+ * büyüyebilen okuma/yazma tamponlarını yeniden kullanır. İkili biçimde sabit
+ * durumdaki tek ayırma, çözülen {@link Message} ve yük metnidir. Eski (Java
+ * serileştirme) biçimi uyumluluk için desteklenir; bu yol her mesajda
+ * {@code ObjectOutputStream} oluşturmak zorundadır.
+ * </p>
+ * <p>
+ * {@link #enableCompression()} sonrası eşikten büyük çerçeveler
+ * {@link FrameCompressor} ile sıkıştırılarak yazılır; sıkıştırılmış çerçeveler
+ * okunurken ilk bayttan tanınır.
+ * </p>
+ * <p>
+ * Engellemeyen (NIO) bağlantılarda kanal yalnızca çıkış akışıyla oluşturulur;
+ * gelen baytlar olay döngüsünün tamponunda biriktirilir ve tamamlanan
+ * çerçeveler {@link #poll(ByteBuffer)} ile çözülür.
+ * </p>
+ * <p>
+ * Okuma tek bir thread'den yapılmalıdır; yazma thread-safe'dir.
+ * </p>
+ */
+public final class MessageChannel {
+
+    // Bozuk ya da kötü niyetli uzunluk önekine karşı üst sınır
+    private static final int MAX_FRAME = 1 << 20;
+    private static final int STREAM_BUFFER = 8192;
+
+    private final DataInputStream in;
+    private final OutputStream out;
+
+    // Okuma tarafı (okuyan thread'e ait)
+    private final WireCodec.Buffer readBuf = new WireCodec.Buffer(256);
+    private final StringBuilder scratch = new StringBuilder(256);
+
+    // Yazma tarafı (writeLock altında)
+    // Kilit altında sokete yazılır; monitör sanal thread'i taşıyıcısına sabitlerdi
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final WireCodec.Buffer writeBuf = new WireCodec.Buffer(256);
+    private final ReusableByteArrayOutputStream legacyBuf = new ReusableByteArrayOutputStream();
+    private final WireCodec.Buffer compressBuf = new WireCodec.Buffer(256);
+
+    // Anlaşılmışsa sıkıştırıcı (yoksa null); açma için okuma tarafında ayrı tampon
+    private volatile FrameCompressor compressor;
+    private boolean closed;
+    private final WireCodec.Buffer inflateBuf = new WireCodec.Buffer(256);
+
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+
+    /**
+     * Soket akışları üzerinde yeni bir kanal oluşturur.
+     *
+     * @param in Soket giriş akışı
+     * @param out Soket çıkış akışı
+     */
+    public MessageChannel(InputStream in, OutputStream out) {
+        this.in = new DataInputStream(new BufferedInputStream(in, STREAM_BUFFER));
+        this.out = new BufferedOutputStream(out, STREAM_BUFFER);
+    }
+
+    /**
+     * Okuması {@link #poll(ByteBuffer)} ile yapılan, engellemeyen bir bağlantı
+     * için kanal oluşturur. Her mesaj tek bir {@code flush()} ile biter; çıkış
+     * akışı çerçeveyi kendisi tamponlamalıdır.
+     *
+     * @param out Çerçeveleri toplayan çıkış akışı
+     */
+    public MessageChannel(OutputStream out) {
+        this.in = null;
+        this.out = out;
+    }
+
+    /**
+     * Bir mesaj yazar ve akışı boşaltır.
+     *
+     * @param msg Mesaj
+     * @param binary true ise {@link WireCodec} çerçevesi, değilse Java serileştirme
+     * @throws IOException Yazma hatası olursa
+     */
+    public void write(Message msg, boolean binary) throws IOException {
+        writeLock.lock();
+        try {
+            int frameLength;
+            if (binary) {
+                writeBuf.clear();
+                writeBuf.putInt(0);
+                WireCodec.encode(msg, writeBuf);
+                frameLength = writeCompressed(writeBuf.array(), 4, writeBuf.length() - 4);
+                if (frameLength < 0) {
+                    frameLength = writeBuf.length();
+                    writeBuf.setInt(0, frameLength - 4);
+                    out.write(writeBuf.array(), 0, frameLength);
+                }
+            } else {
+                legacyBuf.reset();
+                try (ObjectOutputStream oos = new ObjectOutputStream(legacyBuf)) {
+                    oos.writeObject(msg);
+                }
+                int len = legacyBuf.size();
+                frameLength = writeCompressed(legacyBuf.array(), 0, len);
+                if (frameLength < 0) {
+                    writeBuf.clear();
+                    writeBuf.putInt(len);
+                    out.write(writeBuf.array(), 0, 4);
+                    out.write(legacyBuf.array(), 0, len);
+                    frameLength = 4 + len;
+                }
+            }
+            out.flush();
+            bytesOut.addAndGet(frameLength);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Önceden kodlanmış bir çerçeveyi yazar ve akışı boşaltır. Kodlama ve
+     * sıkıştırılmış biçim çerçevede önbelleklendiği için aynı çerçeve birçok
+     * kanala yazılabilir.
+     *
+     * @param frame Çerçeve
+     * @param binary true ise ikili, değilse Java serileştirme biçimi
+     * @throws IOException Yazma hatası olursa
+     */
+    public void write(Frame frame, boolean binary) throws IOException {
+        byte[] bytes = frame.encoded(binary);
+        FrameCompressor c = compressor;
+        if (c != null && bytes.length - 4 >= FrameCompressor.THRESHOLD) {
+            // Yayında sıkıştırma alıcı başına değil çerçeve başına bir kez yapılır
+            byte[] deflated = frame.deflated(binary, c);
+            if (deflated != null) {
+                bytes = deflated;
+            }
+        }
+        writeLock.lock();
+        try {
+            out.write(bytes, 0, bytes.length);
+            out.flush();
+            bytesOut.addAndGet(bytes.length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sıkıştırma açıksa ve çerçeve eşikten büyükse sıkıştırılmış çerçeveyi
+     * yazar (writeLock altında çağrılır).
+     *
+     * @return Yazılan bayt sayısı, yazılmadıysa -1
+     */
+    private int writeCompressed(byte[] body, int off, int len) throws IOException {
+        FrameCompressor c = compressor;
+        if (c == null || len < FrameCompressor.THRESHOLD) {
+            return -1;
+        }
+        compressBuf.clear();
+        compressBuf.putInt(0);
+        if (!c.compress(body, off, len, compressBuf)) {
+            return -1;
+        }
+        int frameLength = compressBuf.length();
+        compressBuf.setInt(0, frameLength - 4);
+        out.write(compressBuf.array(), 0, frameLength);
+        return frameLength;
+    }
+
+    /**
+     * Çerçeve sıkıştırmasını açar. Karşı tarafla {@link Protocol#FEATURE_DEFLATE}
+     * anlaşıldıktan sonra çağrılmalıdır; sıkıştırılmış çerçeveler de ancak
+     * bundan sonra okunabilir.
+     */
+    public void enableCompression() {
+        writeLock.lock();
+        try {
+            if (compressor == null && !closed) {
+                compressor = new FrameCompressor();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Kanalın yerel kaynaklarını (sıkıştırıcı) bırakır. Akışları kapatmaz;
+     * soket sahibinde kapatılır. İstatistikler okunmaya devam edebilir.
+     */
+    public void close() {
+        writeLock.lock();
+        try {
+            closed = true;
+            if (compressor != null) {
+                compressor.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return Sıkıştırma istatistikleri, sıkıştırma açık değilse null
+     */
+    public FrameCompressor getCompressor() {
+        return compressor;
+    }
+
+    /**
+     * Bir mesaj okur; çerçeve biçimi ilk bayttan anlaşılır.
+     *
+     * @return Mesaj, bağlantı kapandıysa null
+     * @throws IOException Okuma hatası ya da bozuk çerçeve
+     */
+    public Message read() throws IOException {
+        if (in == null) {
+            throw new IllegalStateException("Engellemeyen kanal poll() ile okunur");
+        }
+        int len;
+        try {
+            len = in.readInt();
+            if (len < 0 || len > MAX_FRAME) {
+                throw new IOException("Geçersiz çerçeve uzunluğu: " + len);
+            }
+            in.readFully(readBuf.prepareRead(len), 0, len);
+        } catch (EOFException eof) {
+            // Bağlantı sonlandı
+            return null;
+        }
+        bytesIn.addAndGet(4 + len);
+        return decodeFrame(len);
+    }
+
+    /**
+     * Tampondaki ilk tam çerçeveyi çözer. Çerçeve henüz tamamlanmadıysa
+     * tampona dokunulmaz; çağıran daha fazla bayt okuyup tekrar denemelidir.
+     *
+     * @param src Okuma kipindeki tampon (konumu çerçevenin başında)
+     * @return Mesaj, tam çerçeve yoksa null
+     * @throws IOException Bozuk çerçeve
+     */
+    public Message poll(ByteBuffer src) throws IOException {
+        if (src.remaining() < 4) {
+            return null;
+        }
+        int start = src.position();
+        int len = src.getInt(start);
+        if (len < 0 || len > MAX_FRAME) {
+            throw new IOException("Geçersiz çerçeve uzunluğu: " + len);
+        }
+        if (src.remaining() < 4 + len) {
+            return null;
+        }
+        src.get(start + 4, readBuf.prepareRead(len), 0, len);
+        src.position(start + 4 + len);
+        bytesIn.addAndGet(4 + len);
+        return decodeFrame(len);
+    }
+
+    /**
+     * @return Çerçeve uzunluğunun üst sınırı (önek hariç)
+     */
+    public static int maxFrameLength() {
+        return MAX_FRAME;
+    }
+
+    /**
+     * readBuf'a okunmuş çerçeveyi çözer.
+     */
+    private Message decodeFrame(int len) throws IOException {
+        WireCodec.Buffer frame = readBuf;
+        if (len > 0 && readBuf.array()[0] == FrameCompressor.CMARKER) {
+            FrameCompressor c = compressor;
+            if (c == null) {
+                throw new IOException("Sıkıştırma anlaşılmadan sıkıştırılmış çerçeve alındı");
+            }
+            c.decompress(readBuf.array(), len, MAX_FRAME, inflateBuf);
+            frame = inflateBuf;
+            len = inflateBuf.length();
+        }
+
+        if (len > 0 && frame.array()[0] == WireCodec.MARKER) {
+            return WireCodec.decode(frame, scratch);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(frame.array(), 0, len))) {
+            return (Message) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @return Bu kanaldan okunan toplam bayt (çerçeve önekleri dahil)
+     */
+    public long getBytesIn() {
+        return bytesIn.get();
+    }
+
+    /**
+     * @return Bu kanala yazılan toplam bayt (çerçeve önekleri dahil)
+     */
+    public long getBytesOut() {
+        return bytesOut.get();
+    }
+
+    /**
+     * İç dizisine kopyasız erişilebilen ByteArrayOutputStream
+     */
+    private static final class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+        ReusableByteArrayOutputStream() {
+            super(256);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package common;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Bağlantı başına özellik (protokol yeteneği) anlaşması.
+ * <p>
+ * Sunucu bağlantı kurulunca {@code PING "HELLO f1,f2"} ile desteklediği
+ * özellikleri duyurur. Yeni istemci kendi desteklediği ortak kümeyle
+ * {@code PONG "HELLO f1"} yanıtı verir ve o andan sonra anlaşılan biçimde
+ * yazar. Bu iki tip eski sürümlerde de bulunduğundan el sıkışma, eski bir
+ * istemci ya da sunucuya giderse sadece yok sayılır; yeni bir enum sabiti
+ * göndermek ise eski tarafta serileştirme hatasına yol açardı. Okuyan taraf
+ * çerçeve biçimini her mesajda kendisi tespit ettiği için geçiş anında
+ * yarış yoktur.
+ * </p>
+ */
+public final class Protocol {
+
+    /** El sıkışma yükünün öneki */
+    public static final String HELLO_PREFIX = "HELLO ";
+
+    /** Kompakt ikili çerçeveler ({@link WireCodec}) */
+    public static final String FEATURE_BINARY = "bin";
+
+    /** Sıra numaralı tahta farkları ve anahtar kareler (BOARD_DELTA/BOARD_KEYFRAME/RESYNC) */
+    public static final String FEATURE_DELTA = "delta";
+
+    /** Anahtar karelerde JSON yerine 2 bit/kesişim paketlenmiş tahta (Base64) */
+    public static final String FEATURE_PACKED = "packed";
+
+    /** Hamle sonrası tahta/skor/süre yerine tek MOVE_APPLIED mesajı ({@link #FEATURE_DELTA} gerektirir) */
+    public static final String FEATURE_BUNDLE = "bundle";
+
+    /** Bağlantı koptuğunda oturum anahtarıyla oyuna geri dönüş (SESSION_TOKEN/RESUME/RESUME_STATE) */
+    public static final String FEATURE_RESUME = "resume";
+
+    /**
+     * İstemci hamleyi sunucu yanıtını beklemeden gösterir; MOVE yükü
+     * "x,y,hamleNo" olur, reddedilen hamleler MOVE_REJECTED ile bildirilir
+     */
+    public static final String FEATURE_PREDICT = "predict";
+
+    /**
+     * Saniyelik TIMER_UPDATE yerine yalnızca sıra değişiminde CLOCK; istemci
+     * geri sayımı kendisi yapar ve gecikmeyi {@link #RTT_PREFIX} PING'leriyle ölçer
+     */
+    public static final String FEATURE_CLOCK = "clock";
+
+    /**
+     * Gidiş-dönüş süresi ölçümü: istemci {@code PING "RTT <zaman>"} gönderir,
+     * sunucu yükü aynen PONG ile geri yollar
+     */
+    public static final String RTT_PREFIX = "RTT ";
+
+    /**
+     * Bağlı istemci listesi herkese CLIENT_IDS ile gönderilmez; isteyen
+     * istemci PRESENCE_SUBSCRIBE ile abone olur ve kısa aralıklarla
+     * toplanmış sürümlü PRESENCE farkları alır
+     */
+    public static final String FEATURE_PRESENCE = "presence";
+
+    /** Eşikten büyük çerçevelerin sözlüklü deflate ile sıkıştırılması ({@link FrameCompressor}) */
+    public static final String FEATURE_DEFLATE = "deflate";
+
+    /** Bu sürümün desteklediği özellikler */
+    public static final Set<String> SUPPORTED = Set.of(FEATURE_BINARY, FEATURE_DELTA, FEATURE_PACKED,
+            FEATURE_BUNDLE, FEATURE_DEFLATE, FEATURE_RESUME, FEATURE_PREDICT, FEATURE_CLOCK, FEATURE_PRESENCE);
+
+    private Protocol() {}
+
+    /**
+     * Verilen özellikleri duyuran el sıkışma yükünü oluşturur.
+     *
+     * @param features Özellikler
+     * @return "HELLO f1,f2" biçiminde yük
+     */
+    public static String hello(Set<String> features) {
+        return HELLO_PREFIX + String.join(",", features);
+    }
+
+    /**
+     * Mesajın bir el sıkışma mesajı olup olmadığını kontrol eder.
+     *
+     * @param msg Mesaj
+     * @return PING/PONG tipinde ve HELLO önekli ise true
+     */
+    public static boolean isHello(Message msg) {
+        return (msg.type() == Message.Type.PING || msg.type() == Message.Type.PONG)
+                && msg.payload() != null && msg.payload().startsWith(HELLO_PREFIX);
+    }
+
+    /**
+     * El sıkışma yükündeki özelliklerden bu sürümün de desteklediklerini döndürür.
+     *
+     * @param msg El sıkışma mesajı
+     * @return Ortak özellikler (değiştirilemez)
+     */
+    public static Set<String> negotiate(Message msg) {
+        Set<String> common = new LinkedHashSet<>();
+        for (String f : msg.payload().substring(HELLO_PREFIX.length()).split(",")) {
+            String name = f.trim();
+            if (SUPPORTED.contains(name)) {
+                common.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(common);
+    }
+}
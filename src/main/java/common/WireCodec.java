@@ -0,0 +1,604 @@
+package common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * {@link Message} için kompakt ikili çerçeve kodlayıcısı.
+ * <p>
+ * Çerçeve gövdesi (uzunluk öneki {@link IOUtil} tarafından yazılır):
+ * </p>
+ * <pre>
+ * [MARKER:1][tip:1][gövde türü:1][gövde...]
+ * </pre>
+ * <p>
+ * {@code MARKER} Java serileştirme akışının ilk baytı (0xAC) ile çakışmaz; bu
+ * sayede okuyan taraf her çerçevede biçimi kendisi tespit eder. Tip baytı
+ * {@link Message.Type#ordinal()} değeridir, bu yüzden enum'a yeni tipler sadece
+ * sona eklenmelidir. Hamle, skor, süre ve tahta mesajları tipli gövdelerle
+ * yazılır; yük beklenen biçimde değilse (ör. elle girilmiş bir komut) mesaj
+ * düz UTF-8 metin olarak gider. Çözülen yük her zaman orijinal metinle
+ * birebir aynıdır.
+ * </p>
+ * <p>
+ * Kodlama ve çözme çağıranın verdiği {@link Buffer} ve {@link StringBuilder}
+ * üzerinde çalışır; bağlantı başına bunları yeniden kullanan
+ * {@link MessageChannel} ile sabit durumda sadece çözülen mesaj nesnesi
+ * oluşturulur.
+ * </p>
+ */
+public final class WireCodec {
+
+    /** İkili çerçevenin ilk baytı */
+    public static final byte MARKER = (byte) 0xB1;
+
+    // Gövde türleri
+    private static final byte BODY_TEXT = 0;        // UTF-8 metin
+    private static final byte BODY_INTS = 1;        // "a,b,..." tamsayıları
+    private static final byte BODY_INTS_TEXT = 2;   // "a,b,metin"
+    private static final byte BODY_CLOCKS = 3;      // "MM:SS,MM:SS" saniye olarak
+    private static final byte BODY_BOARD = 4;       // JSON tahta, hücre başına bir bayt
+    private static final byte BODY_KEYFRAME = 5;    // "seq,<JSON tahta>"
+    private static final byte BODY_PACKED_KEYFRAME = 6; // "seq,<Base64 paketli tahta>", ham bayt olarak
+
+    private static final Message.Type[] TYPES = Message.Type.values();
+
+    private WireCodec() {}
+
+    /**
+     * Mesajı yeni bir dizi olarak kodlar.
+     *
+     * @param msg Mesaj
+     * @return Uzunluk öneki olmadan çerçeve baytları
+     */
+    public static byte[] encode(Message msg) {
+        Buffer buf = new Buffer(64);
+        encode(msg, buf);
+        return buf.toArray();
+    }
+
+    /**
+     * Mesajı tamponun sonuna kodlar.
+     *
+     * @param msg Mesaj
+     * @param buf Hedef tampon (mevcut içerik korunur)
+     */
+    public static void encode(Message msg, Buffer buf) {
+        String payload = msg.payload() == null ? "" : msg.payload();
+        int start = buf.length();
+        buf.put(MARKER);
+        buf.put((byte) msg.type().ordinal());
+
+        boolean typed = switch (msg.type()) {
+            case MOVE, BOARD_DELTA, RESYNC, MOVE_APPLIED, MOVE_REJECTED, CLOCK, PRESENCE, PRESENCE_SUBSCRIBE ->
+                    encodeInts(buf, payload);
+            case SCORE, GAME_OVER -> encodeIntsText(buf, payload, 2);
+            case TIMER_UPDATE -> encodeClocks(buf, payload);
+            case BOARD_STATE -> encodeBoard(buf, payload);
+            case BOARD_KEYFRAME -> encodeKeyframe(buf, payload);
+            default -> false;
+        };
+        if (!typed) {
+            buf.truncate(start + 2);
+            buf.put(BODY_TEXT);
+            buf.putUtf8(payload, 0);
+        }
+    }
+
+    /**
+     * İkili çerçeve gövdesini mesaja çözer.
+     *
+     * @param data Çerçeve baytları
+     * @param off Başlangıç
+     * @param len Uzunluk
+     * @return Mesaj
+     * @throws IOException Çerçeve bozuksa
+     */
+    public static Message decode(byte[] data, int off, int len) throws IOException {
+        Buffer buf = new Buffer(0);
+        buf.wrap(data, off, off + len);
+        return decode(buf, new StringBuilder());
+    }
+
+    /**
+     * Tampondaki okunmamış baytları tek bir çerçeve olarak çözer.
+     *
+     * @param buf Çerçeveyi içeren tampon
+     * @param scratch Metin oluşturmak için yeniden kullanılan yardımcı
+     * @return Mesaj
+     * @throws IOException Çerçeve bozuksa
+     */
+    public static Message decode(Buffer buf, StringBuilder scratch) throws IOException {
+        try {
+            if (buf.remaining() < 3 || buf.u8() != (MARKER & 0xFF)) {
+                throw new IOException("Geçersiz ikili çerçeve");
+            }
+            int t = buf.u8();
+            if (t >= TYPES.length) {
+                throw new IOException("Bilinmeyen mesaj tipi: " + t);
+            }
+            int body = buf.u8();
+            scratch.setLength(0);
+            String payload = switch (body) {
+                case BODY_TEXT -> buf.restUtf8();
+                case BODY_INTS -> decodeInts(buf, scratch, false);
+                case BODY_INTS_TEXT -> decodeInts(buf, scratch, true);
+                case BODY_CLOCKS -> decodeClocks(buf, scratch);
+                case BODY_BOARD -> decodeBoard(buf, scratch);
+                case BODY_KEYFRAME -> decodeBoard(buf, scratch.append(buf.varInt()).append(','));
+                case BODY_PACKED_KEYFRAME -> scratch.append(buf.varInt()).append(',')
+                        .append(Base64.getEncoder().withoutPadding().encodeToString(buf.restBytes())).toString();
+                default -> throw new IOException("Bilinmeyen gövde türü: " + body);
+            };
+            return new Message(TYPES[t], payload);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Eksik ikili çerçeve", e);
+        }
+    }
+
+    // ---- Kodlama ----
+
+    private static boolean encodeInts(Buffer buf, String payload) {
+        buf.put(BODY_INTS);
+        buf.putVarInt(countFields(payload));
+        int from = 0;
+        while (true) {
+            int comma = payload.indexOf(',', from);
+            int to = comma < 0 ? payload.length() : comma;
+            if (!putCanonicalInt(buf, payload, from, to)) {
+                return false;
+            }
+            if (comma < 0) {
+                return true;
+            }
+            from = comma + 1;
+        }
+    }
+
+    private static boolean encodeIntsText(Buffer buf, String payload, int count) {
+        buf.put(BODY_INTS_TEXT);
+        buf.putVarInt(count);
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int comma = payload.indexOf(',', from);
+            if (comma < 0 || !putCanonicalInt(buf, payload, from, comma)) {
+                return false;
+            }
+            from = comma + 1;
+        }
+        buf.putUtf8(payload, from);
+        return true;
+    }
+
+    private static boolean encodeClocks(Buffer buf, String payload) {
+        buf.put(BODY_CLOCKS);
+        buf.putVarInt(countFields(payload));
+        int from = 0;
+        while (true) {
+            int comma = payload.indexOf(',', from);
+            int to = comma < 0 ? payload.length() : comma;
+            int seconds = parseClock(payload, from, to);
+            if (seconds < 0) {
+                return false;
+            }
+            buf.putVarInt(seconds);
+            if (comma < 0) {
+                return true;
+            }
+            from = comma + 1;
+        }
+    }
+
+    private static boolean encodeKeyframe(Buffer buf, String payload) {
+        int comma = payload.indexOf(',');
+        if (comma <= 0) {
+            return false;
+        }
+        int seq = 0;
+        for (int i = 0; i < comma; i++) {
+            char c = payload.charAt(i);
+            if (c < '0' || c > '9' || seq > 100_000_000 || (i == 0 && c == '0' && comma > 1)) {
+                return false;
+            }
+            seq = seq * 10 + (c - '0');
+        }
+        if (payload.startsWith("[", comma + 1)) {
+            buf.put(BODY_KEYFRAME);
+            buf.putVarInt(seq);
+            return putBoard(buf, payload, comma + 1);
+        }
+        // Paketli tahta: Base64 metin yerine ham baytlar gider
+        byte[] packed;
+        try {
+            packed = Base64.getDecoder().decode(payload.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (!Base64.getEncoder().withoutPadding().encodeToString(packed).equals(payload.substring(comma + 1))) {
+            return false; // Dolgulu ya da kanonik olmayan metin aynen geri üretilemez
+        }
+        buf.put(BODY_PACKED_KEYFRAME);
+        buf.putVarInt(seq);
+        buf.putBytes(packed);
+        return true;
+    }
+
+    private static boolean encodeBoard(Buffer buf, String json) {
+        buf.put(BODY_BOARD);
+        return putBoard(buf, json, 0);
+    }
+
+    private static boolean putBoard(Buffer buf, String json, int start) {
+        // Beklenen biçim: [[".","B"],["W","."]] (BoardSerializer çıktısı).
+        // İlk satır "[" + n hücre + "]" olduğundan kenar uzunluğu oradan bulunur.
+        if (!json.startsWith("[[", start)) {
+            return false;
+        }
+        int firstRowEnd = json.indexOf(']', start);
+        int n = (firstRowEnd - start - 1) / 4;
+        if (n <= 0 || n > 255 || json.length() - start != boardJsonLength(n)) {
+            return false;
+        }
+        buf.put((byte) n);
+        int pos = start + 1;
+        for (int y = 0; y < n; y++) {
+            if (json.charAt(pos++) != '[') {
+                return false;
+            }
+            for (int x = 0; x < n; x++) {
+                if (json.charAt(pos) != '"' || json.charAt(pos + 2) != '"') {
+                    return false;
+                }
+                byte code = switch (json.charAt(pos + 1)) {
+                    case '.' -> 0;
+                    case 'B' -> 1;
+                    case 'W' -> 2;
+                    default -> -1;
+                };
+                if (code < 0) {
+                    return false;
+                }
+                buf.put(code);
+                pos += 3;
+                if (json.charAt(pos++) != (x < n - 1 ? ',' : ']')) {
+                    return false;
+                }
+            }
+            if (json.charAt(pos++) != (y < n - 1 ? ',' : ']')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int boardJsonLength(int n) {
+        // Her hücre 3 karakter + ayraç; her satır [ ] ; satır ayraçları; dış [ ]
+        return 2 + n * (2 + n * 3 + (n - 1)) + (n - 1);
+    }
+
+    private static int countFields(String s) {
+        int count = 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == ',') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * s[from,to) aralığı Integer.toString ile aynı yazılmış bir tamsayıysa
+     * tampona yazar.
+     *
+     * @return Aralık kanonik bir tamsayıysa true
+     */
+    private static boolean putCanonicalInt(Buffer buf, String s, int from, int to) {
+        boolean negative = from < to && s.charAt(from) == '-';
+        int i = negative ? from + 1 : from;
+        int digits = to - i;
+        if (digits <= 0 || digits > 10 || (s.charAt(i) == '0' && (digits > 1 || negative))) {
+            return false;
+        }
+        long v = 0;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            v = v * 10 + (c - '0');
+        }
+        if (negative) {
+            v = -v;
+        }
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+            return false;
+        }
+        buf.putZigZag((int) v);
+        return true;
+    }
+
+    /**
+     * s[from,to) aralığındaki "MM:SS" biçimli süreyi saniyeye çevirir.
+     *
+     * @return Saniye, biçim {@code %02d:%02d} ile birebir uymazsa -1
+     */
+    private static int parseClock(String s, int from, int to) {
+        int colon = to - 3;
+        if (colon - from < 2 || s.charAt(colon) != ':') {
+            return -1;
+        }
+        int minutes = 0;
+        for (int i = from; i < colon; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9' || minutes > 1_000_000) {
+                return -1;
+            }
+            minutes = minutes * 10 + (c - '0');
+        }
+        // Dakika en az iki hane, fazlası için baştaki sıfıra izin yok
+        if (colon - from > 2 && s.charAt(from) == '0') {
+            return -1;
+        }
+        char s1 = s.charAt(colon + 1);
+        char s2 = s.charAt(colon + 2);
+        if (s1 < '0' || s1 > '5' || s2 < '0' || s2 > '9') {
+            return -1;
+        }
+        return minutes * 60 + (s1 - '0') * 10 + (s2 - '0');
+    }
+
+    // ---- Çözme ----
+
+    private static String decodeInts(Buffer buf, StringBuilder sb, boolean withText) {
+        int count = buf.varInt();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(buf.zigZag());
+        }
+        if (withText) {
+            sb.append(',');
+            buf.appendRestUtf8(sb);
+        }
+        return sb.toString();
+    }
+
+    private static String decodeClocks(Buffer buf, StringBuilder sb) {
+        int count = buf.varInt();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            int total = buf.varInt();
+            int minutes = total / 60;
+            int seconds = total % 60;
+            if (minutes < 10) {
+                sb.append('0');
+            }
+            sb.append(minutes).append(':');
+            if (seconds < 10) {
+                sb.append('0');
+            }
+            sb.append(seconds);
+        }
+        return sb.toString();
+    }
+
+    private static String decodeBoard(Buffer buf, StringBuilder sb) throws IOException {
+        int n = buf.u8();
+        sb.ensureCapacity(boardJsonLength(n));
+        sb.append('[');
+        for (int y = 0; y < n; y++) {
+            sb.append('[');
+            for (int x = 0; x < n; x++) {
+                char c = switch (buf.u8()) {
+                    case 0 -> '.';
+                    case 1 -> 'B';
+                    case 2 -> 'W';
+                    default -> throw new IOException("Geçersiz tahta hücresi");
+                };
+                sb.append('"').append(c).append('"');
+                if (x < n - 1) {
+                    sb.append(',');
+                }
+            }
+            sb.append(']');
+            if (y < n - 1) {
+                sb.append(',');
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Hem yazma hem okuma için kullanılan büyüyebilen bayt tamponu.
+     * <p>
+     * Yazma {@link #length()} sonuna ekler; okuma {@code [pos, length)}
+     * aralığını tüketir. Bağlantı başına bir kez oluşturulup yeniden kullanılır,
+     * thread-safe değildir.
+     * </p>
+     */
+    public static final class Buffer {
+        private byte[] data;
+        private int len;
+        private int pos;
+
+        public Buffer(int capacity) {
+            data = new byte[capacity];
+        }
+
+        /** İçeriği temizler (kapasite korunur) */
+        public void clear() {
+            len = 0;
+            pos = 0;
+        }
+
+        public int length() {
+            return len;
+        }
+
+        public byte[] array() {
+            return data;
+        }
+
+        /**
+         * Okuma için en az n baytlık alan ayırır ve tamponu o uzunlukta
+         * doldurulmaya hazırlar.
+         *
+         * @param n Bayt sayısı
+         * @return Doldurulacak dizi (0'dan n'e kadar)
+         */
+        public byte[] prepareRead(int n) {
+            ensureCapacity(n);
+            len = n;
+            pos = 0;
+            return data;
+        }
+
+        void wrap(byte[] array, int from, int to) {
+            data = array;
+            pos = from;
+            len = to;
+        }
+
+        void ensureCapacity(int n) {
+            if (n > data.length) {
+                data = Arrays.copyOf(data, Math.max(n, data.length * 2));
+            }
+        }
+
+        void truncate(int newLen) {
+            len = newLen;
+        }
+
+        public void put(byte b) {
+            if (len == data.length) {
+                ensureCapacity(len + 1);
+            }
+            data[len++] = b;
+        }
+
+        /** Büyük endian 32 bit tamsayı yazar */
+        public void putInt(int v) {
+            ensureCapacity(len + 4);
+            setInt(len, v);
+            len += 4;
+        }
+
+        /** Belirtilen konuma büyük endian 32 bit tamsayı yazar */
+        public void setInt(int at, int v) {
+            data[at] = (byte) (v >>> 24);
+            data[at + 1] = (byte) (v >>> 16);
+            data[at + 2] = (byte) (v >>> 8);
+            data[at + 3] = (byte) v;
+        }
+
+        void putVarInt(int v) {
+            while ((v & ~0x7F) != 0) {
+                put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            put((byte) v);
+        }
+
+        void putZigZag(int v) {
+            putVarInt((v << 1) ^ (v >> 31));
+        }
+
+        /** s[from..] aralığını ara dizi oluşturmadan UTF-8 olarak yazar */
+        void putUtf8(String s, int from) {
+            ensureCapacity(len + (s.length() - from) * 3);
+            for (int i = from; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    data[len++] = (byte) c;
+                } else if (c < 0x800) {
+                    data[len++] = (byte) (0xC0 | (c >> 6));
+                    data[len++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    ensureCapacity(len + 4 + (s.length() - i) * 3);
+                    data[len++] = (byte) (0xF0 | (cp >> 18));
+                    data[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    data[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    data[len++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    data[len++] = (byte) '?'; // Eşsiz vekil karakter (String.getBytes ile aynı)
+                } else {
+                    data[len++] = (byte) (0xE0 | (c >> 12));
+                    data[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    data[len++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        int remaining() {
+            return len - pos;
+        }
+
+        int u8() {
+            if (pos >= len) {
+                throw new ArrayIndexOutOfBoundsException(pos);
+            }
+            return data[pos++] & 0xFF;
+        }
+
+        int varInt() {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = u8();
+                v |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return v;
+                }
+            }
+            throw new ArrayIndexOutOfBoundsException("varint");
+        }
+
+        int zigZag() {
+            int v = varInt();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        void putBytes(byte[] b) {
+            ensureCapacity(len + b.length);
+            System.arraycopy(b, 0, data, len, b.length);
+            len += b.length;
+        }
+
+        byte[] restBytes() {
+            byte[] b = Arrays.copyOfRange(data, pos, len);
+            pos = len;
+            return b;
+        }
+
+        String restUtf8() {
+            String s = new String(data, pos, len - pos, StandardCharsets.UTF_8);
+            pos = len;
+            return s;
+        }
+
+        void appendRestUtf8(StringBuilder sb) {
+            // Tamamen ASCII ise ara String oluşturmadan ekle
+            for (int i = pos; i < len; i++) {
+                if (data[i] < 0) {
+                    sb.append(restUtf8());
+                    return;
+                }
+            }
+            for (int i = pos; i < len; i++) {
+                sb.append((char) data[i]);
+            }
+            pos = len;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(data, len);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package game.go.event;
+
+import common.Message;
+import game.go.model.Stone;
+
+/**
+ * Oyun motoru ve sunucu olaylarını dinleyen arayüz.
+ * <p>
+ * Tüm metotlar boş varsayılan gövdeye sahiptir; dinleyiciler sadece ilgilendikleri
+ * olayları uygular. Parametreler bilinçli olarak ilkel tiplerdir, böylece her
+ * hamlede {@code Object[]} veya metin üretilmez. Dinleyiciler motorun kendi
+ * thread'inde çağrılır ve hızlı dönmelidir.
+ * </p>
+ */
+public interface GameEventListener {
+
+    /** Hiçbir şey yapmayan varsayılan dinleyici. */
+    GameEventListener NONE = new GameEventListener() {};
+
+    /**
+     * Geçerli bir taş hamlesi uygulandığında çağrılır.
+     *
+     * @param color Hamleyi yapan renk
+     * @param x Sütun
+     * @param y Satır
+     * @param moveNumber Hamlenin sıra numarası (pas dahil, 1'den başlar)
+     */
+    default void moveApplied(Stone color, int x, int y, int moveNumber) {}
+
+    /**
+     * Bir hamle rakip taşları esir aldığında çağrılır.
+     *
+     * @param by Esir alan renk
+     * @param count Bu hamlede alınan esir sayısı
+     */
+    default void captured(Stone by, int count) {}
+
+    /**
+     * Bir oyuncu pas geçtiğinde çağrılır.
+     *
+     * @param color Pas geçen renk
+     * @param gameOver Bu pas ile oyun bittiyse true
+     */
+    default void passed(Stone color, boolean gameOver) {}
+
+    /**
+     * Skor hesaplandığında çağrılır.
+     *
+     * @param blackScore Siyahın puanı
+     * @param whiteScore Beyazın puanı
+     * @param blackStones Tahtadaki siyah taş sayısı
+     * @param whiteStones Tahtadaki beyaz taş sayısı
+     */
+    default void scored(int blackScore, int whiteScore, int blackStones, int whiteStones) {}
+
+    /**
+     * Sunucu bir istemciye mesaj gönderdiğinde çağrılır.
+     *
+     * @param clientId Hedef istemci ID'si
+     * @param type Mesaj tipi
+     * @param payloadLength Payload uzunluğu (karakter)
+     */
+    default void messageSent(int clientId, Message.Type type, int payloadLength) {}
+
+    /**
+     * Sunucu bir istemciden mesaj aldığında çağrılır.
+     *
+     * @param clientId Gönderen istemci ID'si
+     * @param type Mesaj tipi
+     * @param payloadLength Payload uzunluğu (karakter)
+     */
+    default void messageReceived(int clientId, Message.Type type, int payloadLength) {}
+
+    /**
+     * İki dinleyiciyi sırayla çağıran bileşik bir dinleyici döndürür.
+     * {@link #NONE} verilirse diğeri olduğu gibi döner.
+     *
+     * @param first İlk dinleyici
+     * @param second İkinci dinleyici
+     * @return Bileşik dinleyici
+     */
+    static GameEventListener compose(GameEventListener first, GameEventListener second) {
+        if (first == null || first == NONE) {
+            return second == null ? NONE : second;
+        }
+        if (second == null || second == NONE) {
+            return first;
+        }
+        return new GameEventListener() {
+            @Override
+            public void moveApplied(Stone color, int x, int y, int moveNumber) {
+                first.moveApplied(color, x, y, moveNumber);
+                second.moveApplied(color, x, y, moveNumber);
+            }
+
+            @Override
+            public void captured(Stone by, int count) {
+                first.captured(by, count);
+                second.captured(by, count);
+            }
+
+            @Override
+            public void passed(Stone color, boolean gameOver) {
+                first.passed(color, gameOver);
+                second.passed(color, gameOver);
+            }
+
+            @Override
+            public void scored(int blackScore, int whiteScore, int blackStones, int whiteStones) {
+                first.scored(blackScore, whiteScore, blackStones, whiteStones);
+                second.scored(blackScore, whiteScore, blackStones, whiteStones);
+            }
+
+            @Override
+            public void messageSent(int clientId, Message.Type type, int payloadLength) {
+                first.messageSent(clientId, type, payloadLength);
+                second.messageSent(clientId, type, payloadLength);
+            }
+
+            @Override
+            public void messageReceived(int clientId, Message.Type type, int payloadLength) {
+                first.messageReceived(clientId, type, payloadLength);
+                second.messageReceived(clientId, type, payloadLength);
+            }
+        };
+    }
+}
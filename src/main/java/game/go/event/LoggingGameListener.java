@@ -0,0 +1,81 @@
+package game.go.event;
+
+import common.Message;
+import game.go.model.Stone;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Olayları java.util.logging ile yazan dinleyici.
+ * <p>
+ * Eskiden motorun içinde her hamlede yapılan INFO loglaması artık sadece bu
+ * dinleyici eklendiğinde yapılır. Her metot önce seviyeyi kontrol eder, böylece
+ * log kapalıyken parametre dizisi oluşturulmaz.
+ * </p>
+ */
+public class LoggingGameListener implements GameEventListener {
+
+    private static final Logger LOGGER = Logger.getLogger(LoggingGameListener.class.getName());
+
+    private final Level level;
+
+    /**
+     * INFO seviyesinde log yazan bir dinleyici oluşturur.
+     */
+    public LoggingGameListener() {
+        this(Level.INFO);
+    }
+
+    /**
+     * Belirtilen seviyede log yazan bir dinleyici oluşturur.
+     *
+     * @param level Log seviyesi
+     */
+    public LoggingGameListener(Level level) {
+        this.level = level;
+    }
+
+    @Override
+    public void moveApplied(Stone color, int x, int y, int moveNumber) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, "{0} oyuncusu ({1},{2}) konumuna taş koydu. Hamle #{3}",
+                    new Object[]{color, x, y, moveNumber});
+        }
+    }
+
+    @Override
+    public void captured(Stone by, int count) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, "{0} {1} taş esir aldı", new Object[]{by, count});
+        }
+    }
+
+    @Override
+    public void passed(Stone color, boolean gameOver) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, "{0} pas geçti{1}", new Object[]{color, gameOver ? " - oyun bitti" : ""});
+        }
+    }
+
+    @Override
+    public void scored(int blackScore, int whiteScore, int blackStones, int whiteStones) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, "Score calculation - Black stones: {0}, score: {1}; White stones: {2}, score: {3}",
+                    new Object[]{blackStones, blackScore, whiteStones, whiteScore});
+        }
+    }
+
+    @Override
+    public void messageSent(int clientId, Message.Type type, int payloadLength) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, "Sent to client {0}: {1} ({2} chars)", new Object[]{clientId, type, payloadLength});
+        }
+    }
+
+    @Override
+    public void messageReceived(int clientId, Message.Type type, int payloadLength) {
+        if (LOGGER.isLoggable(level)) {
+            LOGGER.log(level, "Received from client {0}: {1} ({2} chars)", new Object[]{clientId, type, payloadLength});
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package game.go.event;
+
+import common.Message;
+import game.go.model.Stone;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Olay sayaçlarını tutan dinleyici.
+ * <p>
+ * Sayaçlar {@link LongAdder} olduğu için birden fazla oyun thread'inden
+ * çekişmesiz güncellenebilir. Mesaj tipleri için sayaçlar önceden oluşturulur,
+ * böylece sıcak yolda hiçbir nesne üretilmez.
+ * </p>
+ */
+public class MetricsGameListener implements GameEventListener {
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder passes = new LongAdder();
+    private final LongAdder scoreCalculations = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder payloadCharsSent = new LongAdder();
+    private final Map<Message.Type, LongAdder> sentByType = new EnumMap<>(Message.Type.class);
+
+    /**
+     * Yeni bir metrik dinleyicisi oluşturur.
+     */
+    public MetricsGameListener() {
+        for (Message.Type t : Message.Type.values()) {
+            sentByType.put(t, new LongAdder());
+        }
+    }
+
+    @Override
+    public void moveApplied(Stone color, int x, int y, int moveNumber) {
+        moves.increment();
+    }
+
+    @Override
+    public void captured(Stone by, int count) {
+        captures.add(count);
+    }
+
+    @Override
+    public void passed(Stone color, boolean gameOver) {
+        passes.increment();
+    }
+
+    @Override
+    public void scored(int blackScore, int whiteScore, int blackStones, int whiteStones) {
+        scoreCalculations.increment();
+    }
+
+    @Override
+    public void messageSent(int clientId, Message.Type type, int payloadLength) {
+        messagesSent.increment();
+        payloadCharsSent.add(payloadLength);
+        sentByType.get(type).increment();
+    }
+
+    @Override
+    public void messageReceived(int clientId, Message.Type type, int payloadLength) {
+        messagesReceived.increment();
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getCaptures() {
+        return captures.sum();
+    }
+
+    public long getPasses() {
+        return passes.sum();
+    }
+
+    public long getScoreCalculations() {
+        return scoreCalculations.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.sum();
+    }
+
+    public long getPayloadCharsSent() {
+        return payloadCharsSent.sum();
+    }
+
+    /**
+     * Belirtilen tipte gönderilen mesaj sayısını döndürür.
+     *
+     * @param type Mesaj tipi
+     * @return Gönderilen mesaj sayısı
+     */
+    public long getSent(Message.Type type) {
+        return sentByType.get(type).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("moves=").append(getMoves())
+                .append(", captures=").append(getCaptures())
+                .append(", passes=").append(getPasses())
+                .append(", scores=").append(getScoreCalculations())
+                .append(", sent=").append(getMessagesSent())
+                .append(" (").append(getPayloadCharsSent()).append(" chars)")
+                .append(", received=").append(getMessagesReceived());
+        for (Map.Entry<Message.Type, LongAdder> e : sentByType.entrySet()) {
+            long n = e.getValue().sum();
+            if (n > 0) {
+                sb.append(", ").append(e.getKey()).append('=').append(n);
+            }
+        }
+        return sb.toString();
+    }
+}
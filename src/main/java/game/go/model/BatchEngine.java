@@ -0,0 +1,493 @@
+package game.go.model;
+
+import java.util.Arrays;
+
+/**
+ * Birçok oyunu aynı anda yürüten, dizi-yapısı (structure-of-arrays) düzeninde
+ * toplu Go motoru.
+ * <p>
+ * K tahta, her biri {@code size*size} uzunlukta, art arda yerleştirilmiş düz
+ * dizilerde tutulur: taş baytları, zincir kökleri, zincir halkaları ve zincir
+ * başına sözde özgürlük sayıları. Sözde özgürlük, bir zincirin boş komşu
+ * kenar sayısıdır; sıfıra düştüğünde zincir esir alınır, bu yüzden esir alma
+ * ve intihar kontrolü flood-fill gerektirmez.
+ * </p>
+ * <p>
+ * Kendi kendine oynama (self-play) verisi üretmek ve botları yük altında
+ * denemek içindir: oyun başına gecikme değil, toplam hamle/saniye önemlidir.
+ * {@link #stepAll()} tüm aktif oyunlarda sırayla birer rastgele yasal hamle
+ * oynar. Kurallar {@link GameState} ile aynıdır (intihar yasak, basit Ko).
+ * Thread-safe değildir; her thread kendi motorunu kullanmalıdır.
+ * </p>
+ */
+public class BatchEngine {
+
+    private static final byte EMPTY = 0;
+    private static final byte BLACK = 1;
+    private static final byte WHITE = 2;
+
+    // Rastgele nokta seçiminde pas geçmeden önceki deneme sayısı
+    private static final int MOVE_TRIES = 16;
+
+    private final int games;
+    private final int size;
+    private final int cells;
+    private final int maxMoves;
+
+    // Kesişim başına veriler: [oyun * cells + nokta]
+    private final byte[] stones;
+    private final int[] chain;      // Zincir kökü (oyun içi indeks), boşsa -1
+    private final int[] nextStone;  // Zincir halkasındaki sonraki taş
+    private final int[] liberties;  // Sadece kök indekste geçerli: sözde özgürlük
+    private final int[] chainSize;  // Sadece kök indekste geçerli: taş sayısı
+
+    // Oyun başına veriler
+    private final byte[] toPlay;
+    private final byte[] passes;
+    private final boolean[] over;
+    private final int[] koPoint;
+    private final int[] moveCount;
+    private final int[] blackCaptures;
+    private final int[] whiteCaptures;
+    private final long[] rng;
+
+    // Komşu tablosu: [nokta * 4 + yön], tahta dışı -1
+    private final int[] neighbors;
+
+    // Bölge hesabı için tekrar kullanılan tampon
+    private final int[] fillStack;
+    private final boolean[] fillSeen;
+
+    /**
+     * Yeni bir toplu motor oluşturur.
+     *
+     * @param games Aynı anda oynanan oyun sayısı (K)
+     * @param size Tahta boyutu
+     * @param seed Rastgele hamle seçimi için tohum
+     */
+    public BatchEngine(int games, int size, long seed) {
+        if (games < 1 || size < 2) {
+            throw new IllegalArgumentException("Geçersiz oyun sayısı veya tahta boyutu");
+        }
+        this.games = games;
+        this.size = size;
+        this.cells = size * size;
+        this.maxMoves = cells * 3;
+
+        this.stones = new byte[games * cells];
+        this.chain = new int[games * cells];
+        this.nextStone = new int[games * cells];
+        this.liberties = new int[games * cells];
+        this.chainSize = new int[games * cells];
+
+        this.toPlay = new byte[games];
+        this.passes = new byte[games];
+        this.over = new boolean[games];
+        this.koPoint = new int[games];
+        this.moveCount = new int[games];
+        this.blackCaptures = new int[games];
+        this.whiteCaptures = new int[games];
+        this.rng = new long[games];
+
+        this.neighbors = new int[cells * 4];
+        for (int p = 0; p < cells; p++) {
+            int x = p % size;
+            int y = p / size;
+            neighbors[p * 4] = x > 0 ? p - 1 : -1;
+            neighbors[p * 4 + 1] = x < size - 1 ? p + 1 : -1;
+            neighbors[p * 4 + 2] = y > 0 ? p - size : -1;
+            neighbors[p * 4 + 3] = y < size - 1 ? p + size : -1;
+        }
+
+        this.fillStack = new int[cells];
+        this.fillSeen = new boolean[cells];
+
+        for (int g = 0; g < games; g++) {
+            // Sıfır durumu xorshift için geçersiz, tohumu karıştır
+            rng[g] = mix(seed + g * 0x9E3779B97F4A7C15L);
+            reset(g);
+        }
+    }
+
+    /**
+     * Belirtilen oyunu boş tahtaya sıfırlar.
+     *
+     * @param g Oyun indeksi
+     */
+    public void reset(int g) {
+        int base = g * cells;
+        Arrays.fill(stones, base, base + cells, EMPTY);
+        Arrays.fill(chain, base, base + cells, -1);
+        toPlay[g] = BLACK;
+        passes[g] = 0;
+        over[g] = false;
+        koPoint[g] = -1;
+        moveCount[g] = 0;
+        blackCaptures[g] = 0;
+        whiteCaptures[g] = 0;
+    }
+
+    /**
+     * Tüm aktif oyunlarda birer hamle (veya pas) oynar.
+     *
+     * @return Bu adımda oynanan hamle sayısı (pas dahil); 0 ise tüm oyunlar bitmiştir
+     */
+    public int stepAll() {
+        int played = 0;
+        for (int g = 0; g < games; g++) {
+            if (!over[g]) {
+                stepRandom(g);
+                played++;
+            }
+        }
+        return played;
+    }
+
+    /**
+     * Tüm oyunlar bitene kadar {@link #stepAll()} çağırır.
+     *
+     * @return Toplam oynanan hamle sayısı (pas dahil)
+     */
+    public long playAllToEnd() {
+        long total = 0;
+        int n;
+        while ((n = stepAll()) > 0) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Belirtilen oyunda rastgele bir yasal hamle oynar; bulamazsa pas geçer.
+     * Bot kendi gözlerini doldurmaz, böylece oyunlar sonlanır.
+     */
+    private void stepRandom(int g) {
+        byte color = toPlay[g];
+        int base = g * cells;
+        for (int t = 0; t < MOVE_TRIES; t++) {
+            int p = (int) ((nextRandom(g) >>> 33) % cells);
+            if (stones[base + p] == EMPTY && !isOwnEye(g, p, color) && isLegal(g, p, color)) {
+                place(g, p, color);
+                return;
+            }
+        }
+        pass(g);
+    }
+
+    /**
+     * Belirtilen noktaya sıradaki oyuncunun taşını koymayı dener.
+     *
+     * @param g Oyun indeksi
+     * @param x Sütun
+     * @param y Satır
+     * @return Hamle geçerliyse true
+     */
+    public boolean play(int g, int x, int y) {
+        if (over[g] || x < 0 || x >= size || y < 0 || y >= size) {
+            return false;
+        }
+        int p = y * size + x;
+        byte color = toPlay[g];
+        if (stones[g * cells + p] != EMPTY || !isLegal(g, p, color)) {
+            return false;
+        }
+        place(g, p, color);
+        return true;
+    }
+
+    /**
+     * Belirtilen oyunda sıradaki oyuncu pas geçer.
+     *
+     * @param g Oyun indeksi
+     */
+    public void pass(int g) {
+        if (over[g]) {
+            return;
+        }
+        passes[g]++;
+        moveCount[g]++;
+        koPoint[g] = -1;
+        toPlay[g] = (byte) (3 - toPlay[g]);
+        if (passes[g] >= 2 || moveCount[g] >= maxMoves) {
+            over[g] = true;
+        }
+    }
+
+    private boolean isLegal(int g, int p, byte color) {
+        if (p == koPoint[g]) {
+            return false;
+        }
+        int base = g * cells;
+        byte opp = (byte) (3 - color);
+        for (int d = 0; d < 4; d++) {
+            int n = neighbors[p * 4 + d];
+            if (n < 0) {
+                continue;
+            }
+            byte s = stones[base + n];
+            if (s == EMPTY) {
+                return true;
+            }
+            int root = chain[base + n];
+            int remaining = liberties[base + root] - adjacency(g, p, root);
+            if (s == color && remaining > 0) {
+                return true; // Kendi zinciriyle birleşip nefes alıyor
+            }
+            if (s == opp && remaining == 0) {
+                return true; // Rakip zinciri esir alıyor
+            }
+        }
+        return false; // İntihar
+    }
+
+    /** p noktasının kökü {@code root} olan zincire kaç kenarla değdiği. */
+    private int adjacency(int g, int p, int root) {
+        int base = g * cells;
+        int count = 0;
+        for (int d = 0; d < 4; d++) {
+            int n = neighbors[p * 4 + d];
+            if (n >= 0 && stones[base + n] != EMPTY && chain[base + n] == root) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Tüm komşuları kendi rengi (veya tahta dışı) olan boş nokta. */
+    private boolean isOwnEye(int g, int p, byte color) {
+        int base = g * cells;
+        for (int d = 0; d < 4; d++) {
+            int n = neighbors[p * 4 + d];
+            if (n >= 0 && stones[base + n] != color) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void place(int g, int p, byte color) {
+        int base = g * cells;
+        byte opp = (byte) (3 - color);
+
+        stones[base + p] = color;
+        chain[base + p] = p;
+        nextStone[base + p] = p;
+        chainSize[base + p] = 1;
+        int libs = 0;
+
+        // Komşu zincirlerin sözde özgürlüklerini güncelle
+        for (int d = 0; d < 4; d++) {
+            int n = neighbors[p * 4 + d];
+            if (n < 0) {
+                continue;
+            }
+            if (stones[base + n] == EMPTY) {
+                libs++;
+            } else {
+                liberties[base + chain[base + n]]--;
+            }
+        }
+        liberties[base + p] = libs;
+
+        // Kendi zincirleriyle birleştir
+        for (int d = 0; d < 4; d++) {
+            int n = neighbors[p * 4 + d];
+            if (n >= 0 && stones[base + n] == color) {
+                merge(g, chain[base + n], chain[base + p]);
+            }
+        }
+
+        // Özgürlüğü kalmayan rakip zincirleri esir al
+        int captured = 0;
+        int lastCaptured = -1;
+        for (int d = 0; d < 4; d++) {
+            int n = neighbors[p * 4 + d];
+            if (n >= 0 && stones[base + n] == opp && liberties[base + chain[base + n]] == 0) {
+                lastCaptured = n;
+                captured += removeChain(g, chain[base + n]);
+            }
+        }
+
+        if (color == BLACK) {
+            blackCaptures[g] += captured;
+        } else {
+            whiteCaptures[g] += captured;
+        }
+
+        // Basit Ko: tek taş esir alan, tek taşlı ve tek özgürlüklü zincir
+        int root = chain[base + p];
+        if (captured == 1 && chainSize[base + root] == 1 && liberties[base + root] == 1) {
+            koPoint[g] = lastCaptured;
+        } else {
+            koPoint[g] = -1;
+        }
+
+        passes[g] = 0;
+        moveCount[g]++;
+        toPlay[g] = opp;
+        if (moveCount[g] >= maxMoves) {
+            over[g] = true;
+        }
+    }
+
+    /** Küçük zinciri büyüğüne katar. */
+    private void merge(int g, int a, int b) {
+        if (a == b) {
+            return;
+        }
+        int base = g * cells;
+        int big = chainSize[base + a] >= chainSize[base + b] ? a : b;
+        int small = big == a ? b : a;
+
+        int s = small;
+        do {
+            chain[base + s] = big;
+            s = nextStone[base + s];
+        } while (s != small);
+
+        // Halkaları birleştir
+        int tmp = nextStone[base + big];
+        nextStone[base + big] = nextStone[base + small];
+        nextStone[base + small] = tmp;
+
+        liberties[base + big] += liberties[base + small];
+        chainSize[base + big] += chainSize[base + small];
+    }
+
+    /** Zinciri tahtadan kaldırır, komşu zincirlere özgürlük iade eder. */
+    private int removeChain(int g, int root) {
+        int base = g * cells;
+        int removed = 0;
+        int s = root;
+        do {
+            int following = nextStone[base + s];
+            stones[base + s] = EMPTY;
+            chain[base + s] = -1;
+            removed++;
+            s = following;
+        } while (s != root);
+
+        // Boşalan her nokta komşu zincirlere bir sözde özgürlük verir
+        s = root;
+        do {
+            for (int d = 0; d < 4; d++) {
+                int n = neighbors[s * 4 + d];
+                if (n >= 0 && stones[base + n] != EMPTY) {
+                    liberties[base + chain[base + n]]++;
+                }
+            }
+            s = nextStone[base + s];
+        } while (s != root);
+        return removed;
+    }
+
+    /**
+     * Alan puanını hesaplar: taşlar ve sadece bu renkle çevrili boş bölgeler.
+     *
+     * @param g Oyun indeksi
+     * @param color Puanı hesaplanacak renk
+     * @return Alan puanı
+     */
+    public int areaScore(int g, Stone color) {
+        int base = g * cells;
+        byte c = color.code();
+        int score = 0;
+        for (int p = 0; p < cells; p++) {
+            if (stones[base + p] == c) {
+                score++;
+            }
+        }
+        Arrays.fill(fillSeen, false);
+        for (int p = 0; p < cells; p++) {
+            if (stones[base + p] != EMPTY || fillSeen[p]) {
+                continue;
+            }
+            int regionSize = 0;
+            int borders = 0; // bit 1: siyah, bit 2: beyaz
+            int top = 0;
+            fillStack[top++] = p;
+            fillSeen[p] = true;
+            while (top > 0) {
+                int q = fillStack[--top];
+                regionSize++;
+                for (int d = 0; d < 4; d++) {
+                    int n = neighbors[q * 4 + d];
+                    if (n < 0) {
+                        continue;
+                    }
+                    byte s = stones[base + n];
+                    if (s == EMPTY) {
+                        if (!fillSeen[n]) {
+                            fillSeen[n] = true;
+                            fillStack[top++] = n;
+                        }
+                    } else {
+                        borders |= s;
+                    }
+                }
+            }
+            if (borders == c) {
+                score += regionSize;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Belirtilen oyunun tahtasını {@link Board} nesnesine kopyalar.
+     *
+     * @param g Oyun indeksi
+     * @return Tahtanın bağımsız kopyası
+     */
+    public Board toBoard(int g) {
+        Board b = new Board(size);
+        System.arraycopy(stones, g * cells, b.cells(), 0, cells);
+        b.setCapturedCount(Stone.BLACK, blackCaptures[g]);
+        b.setCapturedCount(Stone.WHITE, whiteCaptures[g]);
+        return b;
+    }
+
+    private long nextRandom(int g) {
+        long x = rng[g];
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        rng[g] = x;
+        return x * 0x2545F4914F6CDD1DL;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return z == 0 ? 1 : z;
+    }
+
+    public Stone getStone(int g, int x, int y) {
+        return Stone.fromCode(stones[g * cells + y * size + x]);
+    }
+
+    public Stone toPlay(int g) {
+        return Stone.fromCode(toPlay[g]);
+    }
+
+    public boolean isOver(int g) {
+        return over[g];
+    }
+
+    public int getMoveCount(int g) {
+        return moveCount[g];
+    }
+
+    public int getCapturedBy(int g, Stone color) {
+        return color == Stone.BLACK ? blackCaptures[g] : whiteCaptures[g];
+    }
+
+    public int getGameCount() {
+        return games;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
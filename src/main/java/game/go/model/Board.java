@@ -4,20 +4,33 @@ import java.util.*;
 
 /**
  * Go tahtası: grup-esir alma, özgürlük kontrolü, kopyalama, rollback
+ * <p>
+ * Kesişimler satır satır tek bir bayt dizisinde tutulur ({@code y * size + x},
+ * değerler {@link Stone#code()}). Toplu sayma ve karşılaştırmalar
+ * {@link BoardReductions} üzerinden yapılır.
+ * </p>
  */
 public class Board {
 
     private final int size;
-    private final Stone[][] grid;
+    private final byte[] cells;
     private int blackCaptured = 0, whiteCaptured = 0;
     private final Set<Point> lastCaptured = new HashSet<>();
 
     public Board(int size) {
         this.size = size;
-        this.grid = new Stone[size][size];
-        for (var row : grid) {
-            Arrays.fill(row, Stone.EMPTY);
-        }
+        this.cells = new byte[size * size];
+    }
+
+    private int index(int x, int y) {
+        return y * size + x;
+    }
+
+    /**
+     * Paket içi erişim için iç bayt dizisini döndürür (kopyalamadan).
+     */
+    byte[] cells() {
+        return cells;
     }
 
     /**
@@ -27,24 +40,14 @@ public class Board {
      * @return Bulunan taş sayısı
      */
     public int countStones(Stone color) {
-        int count = 0;
-        for (int y = 0; y < size; y++) {
-            for (int x = 0; x < size; x++) {
-                if (grid[x][y] == color) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return BoardReductions.count(cells, cells.length, color.code());
     }
 
     /**
      * Tahtayı boş bir duruma sıfırlar
      */
     public void clear() {
-        for (Stone[] row : grid) {
-            Arrays.fill(row, Stone.EMPTY);
-        }
+        Arrays.fill(cells, Stone.EMPTY.code());
         blackCaptured = 0;
         whiteCaptured = 0;
         lastCaptured.clear();
@@ -60,7 +63,7 @@ public class Board {
 
         for (int y = 0; y < size; y++) {
             for (int x = 0; x < size; x++) {
-                Stone s = grid[x][y];
+                Stone s = Stone.fromCode(cells[index(x, y)]);
                 sb.append(s == Stone.BLACK ? "B" : (s == Stone.WHITE ? "W" : "."));
             }
             sb.append("\n");
@@ -129,7 +132,7 @@ public class Board {
         // İstenen kadar handicap taşı yerleştir
         for (int i = 0; i < handicap && i < handicapPoints.size(); i++) {
             Point p = handicapPoints.get(i);
-            grid[p.x()][p.y()] = Stone.BLACK;
+            cells[index(p.x(), p.y())] = Stone.BLACK.code();
         }
     }
 
@@ -157,14 +160,14 @@ public class Board {
     public void undoMove(Point lastMovePoint, Stone lastMoveColor, List<Point> capturedPoints) {
         // Son hamleyi geri al
         if (lastMovePoint.inBounds(size)) {
-            grid[lastMovePoint.x()][lastMovePoint.y()] = Stone.EMPTY;
+            cells[index(lastMovePoint.x(), lastMovePoint.y())] = Stone.EMPTY.code();
         }
 
         // Esir alınan taşları geri koy
         Stone capturedColor = lastMoveColor.opponent();
         for (Point p : capturedPoints) {
             if (p.inBounds(size)) {
-                grid[p.x()][p.y()] = capturedColor;
+                cells[index(p.x(), p.y())] = capturedColor.code();
             }
         }
 
@@ -187,9 +190,7 @@ public class Board {
      */
     public Board copy() {
         Board b2 = new Board(size);
-        for (int x = 0; x < size; x++) {
-            System.arraycopy(this.grid[x], 0, b2.grid[x], 0, size);
-        }
+        System.arraycopy(this.cells, 0, b2.cells, 0, cells.length);
         b2.blackCaptured = this.blackCaptured;
         b2.whiteCaptured = this.whiteCaptured;
         return b2;
@@ -202,9 +203,7 @@ public class Board {
         if (b.size != this.size) {
             throw new IllegalArgumentException("Boyut uyuşmuyor");
         }
-        for (int x = 0; x < size; x++) {
-            System.arraycopy(b.grid[x], 0, this.grid[x], 0, size);
-        }
+        System.arraycopy(b.cells, 0, this.cells, 0, cells.length);
         this.blackCaptured = b.blackCaptured;
         this.whiteCaptured = b.whiteCaptured;
         this.lastCaptured.clear();
@@ -216,7 +215,7 @@ public class Board {
      */
     public void removeStone(Point p) {
         if (p.inBounds(size)) {
-            grid[p.x()][p.y()] = Stone.EMPTY;
+            cells[index(p.x(), p.y())] = Stone.EMPTY.code();
         }
     }
 
@@ -237,13 +236,13 @@ public MoveResult placeStone(Point p, Stone color) {
         // Tahta dışı - sıra değişmez
         return new MoveResult(false, "Hamle tahta dışında");
     }
-    if (grid[p.x()][p.y()] != Stone.EMPTY) {
+    if (cells[index(p.x(), p.y())] != Stone.EMPTY.code()) {
         // Pozisyon dolu - sıra değişmez
         return new MoveResult(false, "Bu pozisyonda zaten bir taş var");
     }
 
     // Taşı yerleştir
-    grid[p.x()][p.y()] = color;
+    cells[index(p.x(), p.y())] = color.code();
     Stone opp = color.opponent();
 
     // Son esir listesini temizle
@@ -252,7 +251,7 @@ public MoveResult placeStone(Point p, Stone color) {
     // 1) Komşu rakip grupları topla, esir al
     List<Point> toRemove = new ArrayList<>();
     for (Point n : neighbors(p)) {
-        if (n.inBounds(size) && grid[n.x()][n.y()] == opp) {
+        if (n.inBounds(size) && cells[index(n.x(), n.y())] == opp.code()) {
             Set<Point> grp = groupOf(n);
             if (!hasLiberty(grp)) {
                 toRemove.addAll(grp);
@@ -266,19 +265,19 @@ public MoveResult placeStone(Point p, Stone color) {
         Set<Point> myGroup = groupOf(p);
         if (!hasLiberty(myGroup)) {
             // İntihar hamlesi - taşı geri al ve sıra değişmez
-            grid[p.x()][p.y()] = Stone.EMPTY;
+            cells[index(p.x(), p.y())] = Stone.EMPTY.code();
             return new MoveResult(false, "İntihar hamlesi yapılamaz");
         }
     }
 
     // 3) Esir al
     for (Point dead : toRemove) {
-        if (grid[dead.x()][dead.y()] != Stone.EMPTY) {
+        if (cells[index(dead.x(), dead.y())] != Stone.EMPTY.code()) {
             // Son esir konumlarını kaydet
             lastCaptured.add(new Point(dead.x(), dead.y()));
             
             // Taşı kaldır
-            grid[dead.x()][dead.y()] = Stone.EMPTY;
+            cells[index(dead.x(), dead.y())] = Stone.EMPTY.code();
             
             // Esir sayısını arttır
             if (color == Stone.BLACK) {
@@ -295,7 +294,7 @@ public MoveResult placeStone(Point p, Stone color) {
      * Bir grup taşı BFS ile toplar.
      */
     public Set<Point> groupOf(Point start) {
-        Stone col = grid[start.x()][start.y()];
+        Stone col = Stone.fromCode(cells[index(start.x(), start.y())]);
         if (col == Stone.EMPTY) {
             return Collections.emptySet();
         }
@@ -309,7 +308,7 @@ public MoveResult placeStone(Point p, Stone color) {
                 continue;
             }
             for (Point n : neighbors(cur)) {
-                if (n.inBounds(size) && grid[n.x()][n.y()] == col) {
+                if (n.inBounds(size) && cells[index(n.x(), n.y())] == col.code()) {
                     dq.add(n);
                 }
             }
@@ -323,7 +322,7 @@ public MoveResult placeStone(Point p, Stone color) {
     public boolean hasLiberty(Set<Point> grp) {
         for (Point p : grp) {
             for (Point n : neighbors(p)) {
-                if (n.inBounds(size) && grid[n.x()][n.y()] == Stone.EMPTY) {
+                if (n.inBounds(size) && cells[index(n.x(), n.y())] == Stone.EMPTY.code()) {
                     return true; // En az bir özgürlük bulundu
                 }
             }
@@ -351,14 +350,14 @@ public MoveResult placeStone(Point p, Stone color) {
         if (p == null || !p.inBounds(size)) {
             return null; // Tahta dışı
         }
-        return grid[p.x()][p.y()];
+        return Stone.fromCode(cells[index(p.x(), p.y())]);
     }
 
     public Stone getAtCoord(int x, int y) {
         if (x < 0 || x >= size || y < 0 || y >= size) {
             return null; // Tahta dışı
         }
-        return grid[x][y];
+        return Stone.fromCode(cells[index(x, y)]);
     }
 
     public int getCapturedBy(Stone color) {
@@ -366,15 +365,37 @@ public MoveResult placeStone(Point p, Stone color) {
     }
 
     public int areaControlledBy(Stone color) {
-        int cnt = 0;
-        for (int y = 0; y < size; y++) {
-            for (int x = 0; x < size; x++) {
-                if (grid[x][y] == color) {
-                    cnt++;
-                }
-            }
+        return BoardReductions.count(cells, cells.length, color.code());
+    }
+
+    /**
+     * Bu tahta ile diğer tahta arasında farklı olan kesişimlerin indekslerini
+     * ({@code y * size + x}) yazar. Artımlı güncellemeler için kullanılır.
+     *
+     * @param other Karşılaştırılacak aynı boyutlu tahta
+     * @param out Sonuç dizisi (en az size*size uzunlukta)
+     * @return Değişen kesişim sayısı
+     */
+    public int changedPoints(Board other, int[] out) {
+        if (other.size != this.size) {
+            throw new IllegalArgumentException("Boyut uyuşmuyor");
+        }
+        return BoardReductions.changedPoints(cells, other.cells, cells.length, out);
+    }
+
+    /**
+     * Bu tahta ile diğer tahta arasındaki farkları bit maskesi olarak yazar.
+     * Bit {@code i}, {@code y * size + x} indeksli kesişime karşılık gelir.
+     *
+     * @param other Karşılaştırılacak aynı boyutlu tahta
+     * @param mask Sonuç maskesi (en az (size*size + 63) / 64 uzunlukta)
+     * @return Farklı kesişim sayısı
+     */
+    public int diffMask(Board other, long[] mask) {
+        if (other.size != this.size) {
+            throw new IllegalArgumentException("Boyut uyuşmuyor");
         }
-        return cnt;
+        return BoardReductions.diffMask(cells, other.cells, cells.length, mask);
     }
 
     /**
@@ -384,7 +405,7 @@ public MoveResult placeStone(Point p, Stone color) {
         char[][] result = new char[size][size];
         for (int y = 0; y < size; y++) {
             for (int x = 0; x < size; x++) {
-                Stone stone = grid[x][y];
+                Stone stone = Stone.fromCode(cells[index(x, y)]);
                 if (stone == Stone.BLACK) {
                     result[y][x] = 'B';
                 } else if (stone == Stone.WHITE) {
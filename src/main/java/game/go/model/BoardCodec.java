@@ -0,0 +1,191 @@
+package game.go.model;
+
+import java.util.Base64;
+
+/**
+ * Tahtanın kesişim başına 2 bitlik paketlenmiş kodlaması.
+ * <p>
+ * Biçim: {@code [kenar:1][hücreler...]}. Hücreler satır satır
+ * ({@code y * size + x}) sıralanır, her bayta dört hücre düşük bitlerden
+ * başlayarak yerleşir; değerler {@link Stone#code()} ile aynıdır. 19x19 tahta
+ * 1 + 91 bayt tutar. Metin taşıyan mesajlar için Base64 biçimi de vardır.
+ * </p>
+ * <p>
+ * Çözme doğrudan {@link Board}'un iç dizisine ya da istemcinin
+ * {@code char[][]} tahtasına yazar; ara nesne oluşturulmaz.
+ * </p>
+ */
+public final class BoardCodec {
+
+    // Stone.code() -> istemci karakteri
+    private static final char[] CHARS = {'.', 'B', 'W'};
+
+    private BoardCodec() {}
+
+    /**
+     * Verilen kenar uzunluğundaki bir tahtanın paketlenmiş bayt sayısı.
+     *
+     * @param size Tahta kenarı
+     * @return Başlık dahil bayt sayısı
+     */
+    public static int packedLength(int size) {
+        return 1 + (size * size + 3) / 4;
+    }
+
+    /**
+     * Tahtayı yeni bir diziye paketler.
+     *
+     * @param board Tahta
+     * @return Paketlenmiş baytlar
+     */
+    public static byte[] pack(Board board) {
+        byte[] out = new byte[packedLength(board.getSize())];
+        pack(board, out, 0);
+        return out;
+    }
+
+    /**
+     * Tahtayı verilen diziye paketler.
+     *
+     * @param board Tahta
+     * @param out Hedef dizi
+     * @param off Başlangıç
+     * @return Yazılan bayt sayısı
+     */
+    public static int pack(Board board, byte[] out, int off) {
+        int size = board.getSize();
+        byte[] cells = board.cells();
+        int length = packedLength(size);
+        out[off] = (byte) size;
+        int n = cells.length;
+        int o = off + 1;
+        int i = 0;
+        for (; i + 4 <= n; i += 4) {
+            out[o++] = (byte) (cells[i] | cells[i + 1] << 2 | cells[i + 2] << 4 | cells[i + 3] << 6);
+        }
+        if (i < n) {
+            int b = 0;
+            for (int k = 0; i + k < n; k++) {
+                b |= cells[i + k] << (2 * k);
+            }
+            out[o] = (byte) b;
+        }
+        return length;
+    }
+
+    /**
+     * Paketlenmiş tahtayı Base64 metne çevirir.
+     *
+     * @param board Tahta
+     * @return Base64 metin (dolgu karakteri olmadan)
+     */
+    public static String toBase64(Board board) {
+        return Base64.getEncoder().withoutPadding().encodeToString(pack(board));
+    }
+
+    /**
+     * Base64 metni paketlenmiş baytlara çevirir.
+     *
+     * @param text Base64 metin
+     * @return Paketlenmiş baytlar
+     * @throws IllegalArgumentException Metin geçerli değilse
+     */
+    public static byte[] fromBase64(String text) {
+        byte[] data = Base64.getDecoder().decode(text);
+        if (data.length == 0 || data.length != packedLength(data[0] & 0xFF)) {
+            throw new IllegalArgumentException("Geçersiz paketlenmiş tahta");
+        }
+        return data;
+    }
+
+    /**
+     * Paketlenmiş tahtanın kenar uzunluğunu döndürür.
+     *
+     * @param data Paketlenmiş baytlar
+     * @param off Başlangıç
+     * @return Tahta kenarı
+     */
+    public static int sizeOf(byte[] data, int off) {
+        return data[off] & 0xFF;
+    }
+
+    /**
+     * Paketlenmiş baytlardan yeni bir tahta oluşturur.
+     *
+     * @param data Paketlenmiş baytlar
+     * @param off Başlangıç
+     * @return Yeni tahta
+     */
+    public static Board unpack(byte[] data, int off) {
+        Board board = new Board(sizeOf(data, off));
+        unpackInto(data, off, board);
+        return board;
+    }
+
+    /**
+     * Paketlenmiş baytları aynı boyuttaki tahtanın iç dizisine yazar.
+     *
+     * @param data Paketlenmiş baytlar
+     * @param off Başlangıç
+     * @param board Hedef tahta
+     * @throws IllegalArgumentException Boyut uyuşmazsa
+     */
+    public static void unpackInto(byte[] data, int off, Board board) {
+        if (sizeOf(data, off) != board.getSize()) {
+            throw new IllegalArgumentException("Boyut uyuşmuyor");
+        }
+        byte[] cells = board.cells();
+        for (int i = 0; i < cells.length; i++) {
+            int code = (data[off + 1 + (i >> 2)] >> ((i & 3) << 1)) & 3;
+            if (code > 2) {
+                throw new IllegalArgumentException("Geçersiz hücre kodu: " + code);
+            }
+            cells[i] = (byte) code;
+        }
+    }
+
+    /**
+     * İstemcinin [y][x] karakter tahtasından yeni bir tahta oluşturur; 'B' ve
+     * 'W' dışındaki karakterler boş sayılır.
+     *
+     * @param grid Kare karakter tahtası
+     * @return Yeni tahta
+     */
+    public static Board fromChars(char[][] grid) {
+        int size = grid.length;
+        Board board = new Board(size);
+        byte[] cells = board.cells();
+        for (int y = 0, i = 0; y < size; y++) {
+            for (int x = 0; x < size; x++, i++) {
+                char c = grid[y][x];
+                cells[i] = c == 'B' ? Stone.BLACK.code() : c == 'W' ? Stone.WHITE.code() : Stone.EMPTY.code();
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Paketlenmiş baytları istemcinin [y][x] karakter tahtasına yazar.
+     *
+     * @param data Paketlenmiş baytlar
+     * @param off Başlangıç
+     * @param reuse Aynı boyuttaysa yeniden kullanılacak dizi (null olabilir)
+     * @return Doldurulan dizi ('.', 'B', 'W')
+     */
+    public static char[][] unpackToChars(byte[] data, int off, char[][] reuse) {
+        int size = sizeOf(data, off);
+        char[][] out = reuse != null && reuse.length == size ? reuse : new char[size][size];
+        int i = 0;
+        for (int y = 0; y < size; y++) {
+            char[] row = out[y];
+            for (int x = 0; x < size; x++, i++) {
+                int code = (data[off + 1 + (i >> 2)] >> ((i & 3) << 1)) & 3;
+                if (code > 2) {
+                    throw new IllegalArgumentException("Geçersiz hücre kodu: " + code);
+                }
+                row[x] = CHARS[code];
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,128 @@
+package game.go.model;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bayt düzenindeki tahtalar üzerinde toplu indirgeme işlemleri.
+ * <p>
+ * Renk sayma, iki tahta arasındaki fark maskesi ve değişen noktaların
+ * çıkarılması burada toplanır. {@code jdk.incubator.vector} modülü çalışma
+ * zamanında yüklüyse ({@code --add-modules jdk.incubator.vector}) SIMD
+ * çekirdeği, değilse skaler çekirdek kullanılır. {@code -Dgo.simd=false} ile
+ * SIMD kapatılabilir.
+ * </p>
+ */
+public final class BoardReductions {
+
+    private static final Logger LOGGER = Logger.getLogger(BoardReductions.class.getName());
+
+    /**
+     * İndirgeme çekirdeği. Tüm metotlar dizilerin ilk {@code length} elemanı
+     * üzerinde çalışır.
+     */
+    public interface Kernel {
+
+        /** {@code value} değerine eşit eleman sayısı. */
+        int count(byte[] cells, int length, byte value);
+
+        /** Farklı indeksleri {@code mask} bitlerine yazar, fark sayısını döndürür. */
+        int diffMask(byte[] a, byte[] b, int length, long[] mask);
+
+        /** Farklı indeksleri artan sırada {@code out} dizisine yazar, sayısını döndürür. */
+        int changedPoints(byte[] a, byte[] b, int length, int[] out);
+
+        /** Çekirdeğin adı (log ve benchmark için). */
+        String name();
+    }
+
+    private static final Kernel SCALAR = new ScalarKernel();
+    private static final Kernel ACTIVE = selectKernel();
+
+    private BoardReductions() {}   // util class
+
+    public static int count(byte[] cells, int length, byte value) {
+        return ACTIVE.count(cells, length, value);
+    }
+
+    public static int diffMask(byte[] a, byte[] b, int length, long[] mask) {
+        return ACTIVE.diffMask(a, b, length, mask);
+    }
+
+    public static int changedPoints(byte[] a, byte[] b, int length, int[] out) {
+        return ACTIVE.changedPoints(a, b, length, out);
+    }
+
+    /** Kullanılan çekirdeği döndürür. */
+    public static Kernel active() {
+        return ACTIVE;
+    }
+
+    /** Skaler çekirdeği döndürür (karşılaştırma için). */
+    public static Kernel scalar() {
+        return SCALAR;
+    }
+
+    private static Kernel selectKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("go.simd", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            // Vector API sınıfları sadece modül varsa yüklenir
+            Kernel k = (Kernel) Class.forName("game.go.model.VectorBoardReductions")
+                    .getDeclaredConstructor().newInstance();
+            LOGGER.log(Level.FINE, "Board reductions using {0}", k.name());
+            return k;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.WARNING, "Vector API kullanılamadı, skaler çekirdeğe dönülüyor", e);
+            return SCALAR;
+        }
+    }
+
+    /**
+     * Döngülerle çalışan, her JVM'de kullanılabilen çekirdek.
+     */
+    static final class ScalarKernel implements Kernel {
+
+        @Override
+        public int count(byte[] cells, int length, byte value) {
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                if (cells[i] == value) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public int diffMask(byte[] a, byte[] b, int length, long[] mask) {
+            java.util.Arrays.fill(mask, 0, (length + 63) >>> 6, 0L);
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                if (a[i] != b[i]) {
+                    mask[i >>> 6] |= 1L << (i & 63);
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public int changedPoints(byte[] a, byte[] b, int length, int[] out) {
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                if (a[i] != b[i]) {
+                    out[n++] = i;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+    }
+}
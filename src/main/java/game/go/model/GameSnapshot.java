@@ -0,0 +1,134 @@
+package game.go.model;
+
+/**
+ * Oyun durumunun değişmez anlık görüntüsü.
+ * <p>
+ * {@link GameState} her durum değişikliğinden sonra yeni bir görüntü üretip
+ * volatile bir alana yayınlar. Okuyucular (skor sorguları, izleyiciler,
+ * analiz işleri) bu görüntüyü hiçbir kilit almadan okuyabilir; yazan thread de
+ * okuyucular yüzünden beklemez. Tüm alanlar final olduğu için görüntü
+ * yayınlandıktan sonra her thread'de tutarlı görünür.
+ * </p>
+ */
+public final class GameSnapshot {
+
+    private final int size;
+    private final byte[] cells;
+    private final Stone toPlay;
+    private final int blackScore;
+    private final int whiteScore;
+    private final int blackCaptures;
+    private final int whiteCaptures;
+    private final int moveNumber;
+    private final boolean over;
+    private final String gameOverReason;
+
+    GameSnapshot(Board board, Stone toPlay, int blackScore, int whiteScore,
+                 int moveNumber, boolean over, String gameOverReason) {
+        this.size = board.getSize();
+        this.cells = board.cells().clone();
+        this.toPlay = toPlay;
+        this.blackScore = blackScore;
+        this.whiteScore = whiteScore;
+        this.blackCaptures = board.getCapturedBy(Stone.BLACK);
+        this.whiteCaptures = board.getCapturedBy(Stone.WHITE);
+        this.moveNumber = moveNumber;
+        this.over = over;
+        this.gameOverReason = gameOverReason;
+    }
+
+    /**
+     * Belirtilen konumdaki taşı döndürür.
+     *
+     * @param x Sütun
+     * @param y Satır
+     * @return Taş, tahta dışıysa null
+     */
+    public Stone get(int x, int y) {
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            return null;
+        }
+        return Stone.fromCode(cells[y * size + x]);
+    }
+
+    /**
+     * Belirtilen rengin taşlarını sayar.
+     *
+     * @param color Taş rengi
+     * @return Taş sayısı
+     */
+    public int countStones(Stone color) {
+        return BoardReductions.count(cells, cells.length, color.code());
+    }
+
+    /**
+     * Tahtanın bağımsız bir kopyasını oluşturur.
+     *
+     * @return Yeni tahta
+     */
+    public Board toBoard() {
+        Board b = new Board(size);
+        System.arraycopy(cells, 0, b.cells(), 0, cells.length);
+        b.setCapturedCount(Stone.BLACK, blackCaptures);
+        b.setCapturedCount(Stone.WHITE, whiteCaptures);
+        return b;
+    }
+
+    /**
+     * Tahtayı satır-sütun karakter dizisi olarak döndürür ('.', 'B', 'W').
+     *
+     * @return [y][x] düzeninde tahta
+     */
+    public char[][] toCharArray() {
+        char[][] result = new char[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                byte c = cells[y * size + x];
+                result[y][x] = c == 1 ? 'B' : (c == 2 ? 'W' : '.');
+            }
+        }
+        return result;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Stone toPlay() {
+        return toPlay;
+    }
+
+    public int getBlackScore() {
+        return blackScore;
+    }
+
+    public int getWhiteScore() {
+        return whiteScore;
+    }
+
+    public int getBlackCaptures() {
+        return blackCaptures;
+    }
+
+    public int getWhiteCaptures() {
+        return whiteCaptures;
+    }
+
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public String getGameOverReason() {
+        return gameOverReason;
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot[move=" + moveNumber + ", toPlay=" + toPlay
+                + ", score=" + blackScore + "/" + whiteScore + ", over=" + over + "]";
+    }
+}
@@ -1,5 +1,6 @@
 package game.go.model;
 
+import game.go.event.GameEventListener;
 import game.go.model.Board.MoveResult;
 import game.go.util.GameRecorder;
 import java.util.*;
@@ -41,6 +42,16 @@ public class GameState {
     private int blackCaptureCount = 0;
     private int whiteCaptureCount = 0;
 
+    // Oynanan hamle sayısı (pas dahil)
+    private int moveNumber = 0;
+
+    // Olay dinleyicisi (varsayılan: hiçbir şey yapmaz)
+    private GameEventListener events = GameEventListener.NONE;
+
+    // Kilitsiz okuyucular için son yayınlanan değişmez görüntü
+    private volatile GameSnapshot snapshot;
+    private boolean publishSnapshots = true;
+
     /**
      * Belirtilen boyutta yeni bir oyun durumu oluşturur.
      *
@@ -65,8 +76,10 @@ public class GameState {
         markedDeadStones.clear();
         blackCaptureCount = 0;
         whiteCaptureCount = 0;
+        moveNumber = 0;
 
-        LOGGER.info("GameState initialized");
+        publishSnapshot();
+        LOGGER.fine("GameState initialized");
     }
 
     /**
@@ -79,6 +92,20 @@ public class GameState {
         LOGGER.info("Game recorder set: " + (recorder != null ? "Active" : "None"));
     }
 
+    /**
+     * Oyun olaylarını dinleyecek bir dinleyici ekler.
+     * <p>
+     * Hamle, esir, pas ve skor olayları eklenen tüm dinleyicilere iletilir.
+     * Loglama, metrik ve kayıt gibi işler bu yolla isteğe bağlı olarak
+     * bağlanır; motor kendisi hamle başına log yazmaz.
+     * </p>
+     *
+     * @param listener Eklenecek dinleyici
+     */
+    public void addListener(GameEventListener listener) {
+        this.events = GameEventListener.compose(events, listener);
+    }
+
     /**
      * Belirli bir noktaya taş koymayı dener.
      * <p>
@@ -134,15 +161,16 @@ public Board.MoveResult play(Point p) {
         recorder.recordMove(p, currentPlayer);
     }
     
-    // Log bilgisi
-    LOGGER.log(Level.INFO, "{0} oyuncusu ({1},{2}) konumuna taş koydu. Sıradaki oyuncu: {3}",
-            new Object[]{currentPlayer, p.x(), p.y(), currentPlayer.opponent()});
+    // Dinleyicilere bildir
+    moveNumber++;
+    events.moveApplied(currentPlayer, p.x(), p.y(), moveNumber);
     
     // Hamle başarılı ise:
     // Ardışık pas sayacını sıfırla ve sırayı diğer oyuncuya ver
     consecutivePasses = 0;
     currentPlayer = currentPlayer.opponent();
     
+    publishSnapshot();
     return new Board.MoveResult(true, "");
 }
     /**
@@ -153,11 +181,11 @@ public Board.MoveResult play(Point p) {
         int newWhiteCaptures = board.getCapturedBy(Stone.WHITE);
 
         if (newBlackCaptures > blackCaptureCount) {
-            LOGGER.log(Level.INFO, "Siyah {0} beyaz taş esir aldı", (newBlackCaptures - blackCaptureCount));
+            events.captured(Stone.BLACK, newBlackCaptures - blackCaptureCount);
         }
 
         if (newWhiteCaptures > whiteCaptureCount) {
-            LOGGER.log(Level.INFO, "Beyaz {0} siyah taş esir aldı", (newWhiteCaptures - whiteCaptureCount));
+            events.captured(Stone.WHITE, newWhiteCaptures - whiteCaptureCount);
         }
 
         blackCaptureCount = newBlackCaptures;
@@ -182,9 +210,6 @@ public Board.MoveResult play(Point p) {
             recorder.recordPass(currentPlayer);
         }
 
-        LOGGER.log(Level.INFO, "{0} pas geçti. Sıradaki oyuncu: {1}",
-                new Object[]{currentPlayer, currentPlayer.opponent()});
-
         // Pas sayacını artır ve oyun bitişini kontrol et
         consecutivePasses++;
         if (consecutivePasses >= 2) {
@@ -193,9 +218,13 @@ public Board.MoveResult play(Point p) {
             LOGGER.info("Oyun sona erdi: " + gameOverReason);
         }
 
+        moveNumber++;
+        events.passed(currentPlayer, gameOver);
+
         // Sırayı değiştir
         currentPlayer = currentPlayer.opponent();
 
+        publishSnapshot();
         return new Board.MoveResult(true, "");
     }
 
@@ -219,6 +248,7 @@ public Board.MoveResult play(Point p) {
         // Oyunu bitir
         gameOver = true;
         gameOverReason = currentPlayer.toString() + " resigned";
+        publishSnapshot();
         
         // Hamle sonucunu döndür
         return new Board.MoveResult(true, "Player " + currentPlayer + " resigned");
@@ -254,23 +284,24 @@ public Board.MoveResult play(Point p) {
      * @return Oyuncu-puan eşleştirmelerinin bulunduğu harita
      */
 public Map<Stone, Integer> calculateTerritorialScores() {
-    Map<Stone, Integer> scores = new HashMap<>();
+    int[] totals = computeScores();
 
-    // Tahta durumunu ve taş sayılarını kontrol et
-    int blackCount = 0;
-    int whiteCount = 0;
-    
-    // Tahtadaki taşları say
-    for (int y = 0; y < board.getSize(); y++) {
-        for (int x = 0; x < board.getSize(); x++) {
-            Stone stone = board.getAtCoord(x, y); // getAtCoord kullan
-            if (stone == Stone.BLACK) {
-                blackCount++;
-            } else if (stone == Stone.WHITE) {
-                whiteCount++;
-            }
-        }
-    }
+    // Dinleyicilere bildir
+    events.scored(totals[0], totals[1], totals[2], totals[3]);
+
+    return toScoreMap(totals);
+}
+
+/**
+     * Puanları dinleyicilere bildirmeden hesaplar; anlık görüntü ve metin
+     * gösterimi her değişiklikte bunu kullanır.
+     *
+     * @return {siyah puanı, beyaz puanı, siyah taş sayısı, beyaz taş sayısı}
+     */
+private int[] computeScores() {
+    // Tahtadaki taşları say (toplu indirgeme ile)
+    int blackCount = board.countStones(Stone.BLACK);
+    int whiteCount = board.countStones(Stone.WHITE);
 
     // İlk hamle bonuslarını hesapla
     int blackScore = (blackCount > 0) ? 1 : 0;  // Siyah ilk hamlede +1
@@ -306,15 +337,13 @@ public Map<Stone, Integer> calculateTerritorialScores() {
         whiteScore += (int) Math.floor(komi);
     }
 
-    // Debug log ekle
-    LOGGER.log(Level.INFO, "Score calculation - Black stones: {0}, captures: {1}, score: {2}",
-        new Object[]{blackCount, board.getCapturedBy(Stone.BLACK), blackScore});
-    LOGGER.log(Level.INFO, "Score calculation - White stones: {0}, captures: {1}, score: {2}",
-        new Object[]{whiteCount, board.getCapturedBy(Stone.WHITE), whiteScore});
-
-    scores.put(Stone.BLACK, blackScore);
-    scores.put(Stone.WHITE, whiteScore);
+    return new int[]{blackScore, whiteScore, blackCount, whiteCount};
+}
 
+private static Map<Stone, Integer> toScoreMap(int[] totals) {
+    Map<Stone, Integer> scores = new HashMap<>();
+    scores.put(Stone.BLACK, totals[0]);
+    scores.put(Stone.WHITE, totals[1]);
     return scores;
 }
 
@@ -414,6 +443,7 @@ public Map<Stone, Integer> calculateTerritorialScores() {
             markedDeadStones.add(p);
         }
 
+        publishSnapshot();
         return true;
     }
 
@@ -431,6 +461,7 @@ public Map<Stone, Integer> calculateTerritorialScores() {
      */
     public void resetDeadStones() {
         markedDeadStones.clear();
+        publishSnapshot();
     }
 
     /**
@@ -475,6 +506,7 @@ public Map<Stone, Integer> calculateTerritorialScores() {
             board.placeStone(p, s1);
         }
 
+        publishSnapshot();
         return true;
     }
 
@@ -511,6 +543,7 @@ public Map<Stone, Integer> calculateTerritorialScores() {
                 }
             }
 
+            publishSnapshot();
             return true;
         } catch (IllegalArgumentException e) {
             LOGGER.log(Level.WARNING, "Handikap taşları yerleştirilemedi: {0}", e.getMessage());
@@ -561,6 +594,54 @@ public Map<Stone, Integer> calculateTerritorialScores() {
         return points.subList(0, Math.min(handicap, points.size()));
     }
 
+    /**
+     * Güncel durumu değişmez bir görüntü olarak yayınlar.
+     * <p>
+     * Sadece yazan thread'den çağrılır. Durumu değiştiren metotlar bunu kendisi
+     * yapar; tahtayı {@link #board()} üzerinden doğrudan değiştiren kod (ör.
+     * handikap yerleşimi) ardından bu metodu çağırmalıdır. Skorlar burada bir
+     * kez hesaplanır; okuyucular tekrar hesaplamaz.
+     * </p>
+     */
+    public void publishSnapshot() {
+        if (!publishSnapshots) {
+            return;
+        }
+        int[] totals = computeScores();
+        snapshot = new GameSnapshot(board, currentPlayer,
+                totals[0], totals[1],
+                moveNumber, gameOver, gameOverReason);
+    }
+
+    /**
+     * Son yayınlanan değişmez görüntüyü döndürür.
+     * <p>
+     * Herhangi bir thread'den kilit almadan çağrılabilir. Görüntü, en son
+     * tamamlanan hamleyi yansıtır.
+     * </p>
+     *
+     * @return Son görüntü (yayın kapalıysa kapatıldığı andaki görüntü)
+     */
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Her hamleden sonra görüntü yayınlanıp yayınlanmayacağını ayarlar.
+     * <p>
+     * Kilitsiz okuyucusu olmayan toplu işler (ör. self-play) hamle başına skor
+     * hesabından kaçınmak için kapatabilir.
+     * </p>
+     *
+     * @param enabled true ise yayınla
+     */
+    public void setPublishSnapshots(boolean enabled) {
+        this.publishSnapshots = enabled;
+        if (enabled) {
+            publishSnapshot();
+        }
+    }
+
     // Getter ve setter metodları
     /**
      * Tahta nesnesini döndürür.
@@ -605,6 +686,7 @@ public Map<Stone, Integer> calculateTerritorialScores() {
      */
     public void setKomi(double komi) {
         this.komi = komi;
+        publishSnapshot();
     }
 
     /**
@@ -643,6 +725,15 @@ public Map<Stone, Integer> calculateTerritorialScores() {
         return whiteCaptureCount;
     }
 
+    /**
+     * Oynanan hamle sayısını (pas dahil) döndürür.
+     *
+     * @return Hamle sayısı
+     */
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
     /**
      * Ardışık pas sayısını döndürür.
      *
@@ -672,7 +763,7 @@ public Map<Stone, Integer> calculateTerritorialScores() {
         sb.append("White Captures: ").append(whiteCaptureCount).append("\n");
 
         // Puanlar
-        Map<Stone, Integer> scores = calculateTerritorialScores();
+        Map<Stone, Integer> scores = toScoreMap(computeScores());
         sb.append("Scores: Black=").append(scores.get(Stone.BLACK))
                 .append(", White=").append(scores.get(Stone.WHITE)).append("\n");
 
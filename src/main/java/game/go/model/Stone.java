@@ -3,6 +3,8 @@ package game.go.model;
 public enum Stone {
     EMPTY, BLACK, WHITE;
 
+    private static final Stone[] BY_CODE = values();
+
     public Stone opponent() {
         return switch (this) {
             case BLACK -> WHITE;
@@ -10,4 +12,14 @@ public enum Stone {
             default -> EMPTY;
         };
     }
-}
\ No newline at end of file
+
+    /** Tahtanın bayt düzenindeki kodu (0 = boş, 1 = siyah, 2 = beyaz). */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /** Bayt kodundan taşı döndürür. */
+    public static Stone fromCode(int code) {
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,90 @@
+package game.go.model;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@code jdk.incubator.vector} ile SIMD indirgeme çekirdeği.
+ * <p>
+ * Sadece {@link BoardReductions} tarafından, modül yüklü olduğunda yansıma ile
+ * oluşturulur. Vektör boyu en fazla 512 bit (64 bayt şeridi) ile sınırlanır;
+ * şerit sayısı 64'ü bölen bir ikinin kuvveti olduğu için her vektör maskesi
+ * tek bir {@code long} kelimesinin içine sığar. Daha geniş donanımda (ör.
+ * 512 bitten geniş SVE) tercih edilen tür {@code toLong()} sınırını aşardı.
+ * </p>
+ */
+final class VectorBoardReductions implements BoardReductions.Kernel {
+
+    private static final VectorSpecies<Byte> SPECIES = VectorSpecies.of(byte.class,
+            VectorShape.forBitSize(Math.min(ByteVector.SPECIES_PREFERRED.vectorBitSize(), Long.SIZE * Byte.SIZE)));
+
+    @Override
+    public int count(byte[] cells, int length, byte value) {
+        int n = 0;
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            n += ByteVector.fromArray(SPECIES, cells, i).eq(value).trueCount();
+        }
+        for (; i < length; i++) {
+            if (cells[i] == value) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int diffMask(byte[] a, byte[] b, int length, long[] mask) {
+        java.util.Arrays.fill(mask, 0, (length + 63) >>> 6, 0L);
+        int n = 0;
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> m = ByteVector.fromArray(SPECIES, a, i)
+                    .compare(VectorOperators.NE, ByteVector.fromArray(SPECIES, b, i));
+            long bits = m.toLong();
+            if (bits != 0) {
+                mask[i >>> 6] |= bits << (i & 63);
+                n += Long.bitCount(bits);
+            }
+        }
+        for (; i < length; i++) {
+            if (a[i] != b[i]) {
+                mask[i >>> 6] |= 1L << (i & 63);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int changedPoints(byte[] a, byte[] b, int length, int[] out) {
+        int n = 0;
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            long bits = ByteVector.fromArray(SPECIES, a, i)
+                    .compare(VectorOperators.NE, ByteVector.fromArray(SPECIES, b, i))
+                    .toLong();
+            while (bits != 0) {
+                out[n++] = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        for (; i < length; i++) {
+            if (a[i] != b[i]) {
+                out[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + SPECIES.vectorBitSize() + "-bit)";
+    }
+}
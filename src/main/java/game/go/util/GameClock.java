@@ -0,0 +1,317 @@
+package game.go.util;
+
+import game.go.model.Stone;
+import java.util.function.LongSupplier;
+
+/**
+ * İki oyunculu, tik atmayan oyun saati.
+ * <p>
+ * Her oyuncu için kalan ana süre (nanosaniye) ve kalan byo-yomi periyodu
+ * saklanır; sıradaki oyuncunun harcadığı süre, sıranın başladığı monotonik
+ * zamandan itibaren sorulduğu anda hesaplanır. Saat yalnızca sıra
+ * değişiminde güncellenir, bu yüzden saniyede bir çalışan bir görev ya da
+ * mesaj gerekmez; süre dolduğunda bunu fark etmek için sıra başına tek bir
+ * zaman aşımı görevi yeterlidir ({@link #nanosToFlag()}).
+ * </p>
+ * <p>
+ * Süre kontrolleri:
+ * </p>
+ * <ul>
+ *   <li>Ana süre bittiğinde byo-yomi başlar. Bir periyot içinde oynanan hamle
+ *   periyodu sıfırlar, periyodu aşan her tam periyot kaybedilir; periyot
+ *   kalmayınca süre dolmuştur.</li>
+ *   <li>Fischer artışı, süresi dolmadan hamle yapan oyuncunun ana süresine
+ *   eklenir.</li>
+ * </ul>
+ * <p>
+ * Sınıf thread güvenli değildir; sunucuda oturumun döngüsünde, istemcide EDT
+ * altında kullanılır.
+ * </p>
+ */
+public final class GameClock {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Süre kontrolü: ana süre, byo-yomi periyot sayısı ve uzunluğu, Fischer
+     * artışı (milisaniye).
+     *
+     * @param mainMillis Ana süre
+     * @param periods Byo-yomi periyot sayısı (0 = byo-yomi yok)
+     * @param periodMillis Byo-yomi periyot uzunluğu
+     * @param incrementMillis Hamle başına eklenen süre (0 = artış yok)
+     */
+    public record TimeControl(long mainMillis, int periods, long periodMillis, long incrementMillis) {
+
+        public TimeControl {
+            if (mainMillis < 0 || periods < 0 || periodMillis < 0 || incrementMillis < 0) {
+                throw new IllegalArgumentException("Süre kontrolü negatif olamaz");
+            }
+            if (periods > 0 && periodMillis == 0) {
+                throw new IllegalArgumentException("Byo-yomi periyot uzunluğu sıfır olamaz");
+            }
+        }
+
+        /**
+         * Sistem özelliklerinden süre kontrolü okur: {@code go.clock.mainMinutes}
+         * (varsayılan verilen), {@code go.clock.byoyomiPeriods},
+         * {@code go.clock.byoyomiSeconds} ve {@code go.clock.incrementSeconds}.
+         *
+         * @param defaultMinutes Varsayılan ana süre (dakika)
+         * @return Süre kontrolü
+         */
+        public static TimeControl fromSystemProperties(int defaultMinutes) {
+            return new TimeControl(
+                    Integer.getInteger("go.clock.mainMinutes", defaultMinutes) * 60_000L,
+                    Integer.getInteger("go.clock.byoyomiPeriods", 0),
+                    Integer.getInteger("go.clock.byoyomiSeconds", 30) * 1000L,
+                    Integer.getInteger("go.clock.incrementSeconds", 0) * 1000L);
+        }
+    }
+
+    private final TimeControl control;
+    private final LongSupplier nanoTime;
+    private final long periodNanos;
+
+    // Dizinler: 0 = siyah, 1 = beyaz. Sıradaki oyuncu için sıra başındaki değerler.
+    private final long[] mainNanos = new long[2];
+    private final int[] periods = new int[2];
+    private final boolean[] flagged = new boolean[2];
+    private Stone running; // null ise saat durmuş
+    private long turnStart;
+
+    /**
+     * Sistem monotonik saatini kullanan yeni bir saat oluşturur.
+     *
+     * @param control Süre kontrolü
+     */
+    public GameClock(TimeControl control) {
+        this(control, System::nanoTime);
+    }
+
+    /**
+     * @param control Süre kontrolü
+     * @param nanoTime Monotonik zaman kaynağı (testler için değiştirilebilir)
+     */
+    public GameClock(TimeControl control, LongSupplier nanoTime) {
+        this.control = control;
+        this.nanoTime = nanoTime;
+        this.periodNanos = control.periodMillis() * NANOS_PER_MILLI;
+        for (int i = 0; i < 2; i++) {
+            mainNanos[i] = control.mainMillis() * NANOS_PER_MILLI;
+            periods[i] = control.periods();
+        }
+    }
+
+    /**
+     * @return Süre kontrolü
+     */
+    public TimeControl control() {
+        return control;
+    }
+
+    /**
+     * Verilen oyuncunun saatini başlatır (oyun başı ya da durdurulmuş saat).
+     *
+     * @param toMove Sıradaki oyuncu
+     */
+    public void start(Stone toMove) {
+        running = toMove;
+        turnStart = nanoTime.getAsLong();
+    }
+
+    /**
+     * Sıradaki oyuncunun hamlesini tamamlar: harcanan süre düşülür, süresi
+     * dolmadıysa artış eklenir ve rakibin saati başlar.
+     *
+     * @return Hamle yapan oyuncunun süresi dolmadıysa true
+     */
+    public boolean press() {
+        if (running == null) {
+            return true;
+        }
+        Stone mover = running;
+        long now = charge(now());
+        if (!flagged[index(mover)]) {
+            mainNanos[index(mover)] += control.incrementMillis() * NANOS_PER_MILLI;
+        }
+        running = mover.opponent();
+        turnStart = now;
+        return !flagged[index(mover)];
+    }
+
+    /**
+     * Saati durdurur; harcanan süre sıradaki oyuncudan düşülür.
+     */
+    public void stop() {
+        if (running != null) {
+            charge(now());
+            running = null;
+        }
+    }
+
+    /**
+     * @return Saati işleyen oyuncu, saat durmuşsa null
+     */
+    public Stone running() {
+        return running;
+    }
+
+    /**
+     * @param player Oyuncu
+     * @return Oyuncunun süresi dolduysa true
+     */
+    public boolean isFlagged(Stone player) {
+        if (flagged[index(player)]) {
+            return true;
+        }
+        return player == running && nanosToFlag() <= 0;
+    }
+
+    /**
+     * @return Sıradaki oyuncunun süresinin dolmasına kalan süre; saat
+     * durmuşsa {@link Long#MAX_VALUE}
+     */
+    public long nanosToFlag() {
+        if (running == null) {
+            return Long.MAX_VALUE;
+        }
+        int i = index(running);
+        return mainNanos[i] + periods[i] * periodNanos - (now() - turnStart);
+    }
+
+    /**
+     * Oyuncunun şu anki ana süresi; ana süre bittiyse içinde bulunduğu byo-yomi
+     * periyodunun kalanı.
+     *
+     * @param player Oyuncu
+     * @return Kalan süre (nanosaniye, en az 0)
+     */
+    public long remainingNanos(Stone player) {
+        long[] p = projectNow(player);
+        return p[0] > 0 ? p[0] : p[2];
+    }
+
+    /**
+     * @param player Oyuncu
+     * @return Oyuncunun şu an kalan byo-yomi periyodu
+     */
+    public int periodsLeft(Stone player) {
+        return (int) Math.max(projectNow(player)[1], 0);
+    }
+
+    /**
+     * @param player Oyuncu
+     * @return Kalan süre (tam saniye)
+     */
+    public int secondsRemaining(Stone player) {
+        return (int) (remainingNanos(player) / 1_000_000_000L);
+    }
+
+    /**
+     * Gösterim metni: "MM:SS", byo-yomideyse "MM:SS (periyot)".
+     *
+     * @param player Oyuncu
+     * @return Metin
+     */
+    public String text(Stone player) {
+        long[] p = projectNow(player);
+        int seconds = (int) ((p[0] > 0 ? p[0] : p[2]) / 1_000_000_000L);
+        String text = String.format("%02d:%02d", seconds / 60, seconds % 60);
+        return p[0] == 0 && p[1] > 0 ? text + " (" + p[1] + ")" : text;
+    }
+
+    /**
+     * Saatin tel biçimi:
+     * "sıra,geçenMs,siyahMs,siyahPeriyot,beyazMs,beyazPeriyot,periyotMs,artışMs".
+     * Sıra {@link Stone#code()} (0 = saat durmuş); geçen süre, sıradaki
+     * oyuncunun bu sırada harcadığı süredir.
+     *
+     * @return Yük
+     */
+    public String toPayload() {
+        long elapsed = running == null ? 0 : now() - turnStart;
+        return (running == null ? 0 : running.code()) + "," + elapsed / NANOS_PER_MILLI
+                + "," + mainNanos[0] / NANOS_PER_MILLI + "," + periods[0]
+                + "," + mainNanos[1] / NANOS_PER_MILLI + "," + periods[1]
+                + "," + control.periodMillis() + "," + control.incrementMillis();
+    }
+
+    /**
+     * Sunucunun gönderdiği saati yerel monotonik zamanla yeniden kurar. Mesaj
+     * yoldayken geçen süre (tek yön gecikmesi) sıradaki oyuncunun harcadığı
+     * süreye eklenir, böylece yerel geri sayım sunucununkiyle örtüşür.
+     *
+     * @param payload {@link #toPayload()} yükü
+     * @param lagNanos Tahmini tek yön gecikmesi (genellikle RTT/2)
+     * @param nanoTime Yerel monotonik zaman kaynağı
+     * @return Saat
+     * @throws IllegalArgumentException Yük bozuksa
+     */
+    public static GameClock fromPayload(String payload, long lagNanos, LongSupplier nanoTime) {
+        String[] parts = payload.split(",");
+        if (parts.length < 8) {
+            throw new IllegalArgumentException("Eksik saat yükü: " + payload);
+        }
+        GameClock clock = new GameClock(new TimeControl(0, 0,
+                Long.parseLong(parts[6]), Long.parseLong(parts[7])), nanoTime);
+        for (int i = 0; i < 2; i++) {
+            clock.mainNanos[i] = Long.parseLong(parts[2 + 2 * i]) * NANOS_PER_MILLI;
+            clock.periods[i] = Integer.parseInt(parts[3 + 2 * i]);
+        }
+        int toPlay = Integer.parseInt(parts[0]);
+        if (toPlay != 0) {
+            clock.running = Stone.fromCode(toPlay);
+            clock.turnStart = nanoTime.getAsLong() - Long.parseLong(parts[1]) * NANOS_PER_MILLI - lagNanos;
+        }
+        return clock;
+    }
+
+    /**
+     * Sıradaki oyuncunun harcadığı süreyi kalıcı olarak düşer.
+     *
+     * @return Kullanılan şimdiki zaman
+     */
+    private long charge(long now) {
+        int i = index(running);
+        long[] p = project(i, now - turnStart);
+        mainNanos[i] = p[0];
+        periods[i] = (int) Math.max(p[1], 0);
+        flagged[i] = p[1] < 0;
+        return now;
+    }
+
+    private long[] projectNow(Stone player) {
+        return project(index(player), player == running ? now() - turnStart : 0);
+    }
+
+    /**
+     * Oyuncunun geçen süre sonundaki durumu: {ana süre, periyot (süre dolduysa
+     * -1), periyot kalanı}.
+     */
+    private long[] project(int i, long elapsed) {
+        long main = mainNanos[i];
+        int p = periods[i];
+        if (flagged[i]) {
+            return new long[]{0, -1, 0};
+        }
+        if (elapsed < main) {
+            return new long[]{main - elapsed, p, p > 0 ? periodNanos : 0};
+        }
+        // Ana süre bitti: periyodu aşan her tam periyot kaybedilir
+        long over = elapsed - main;
+        long lost = p == 0 ? 1 : over / periodNanos;
+        if (lost >= p) {
+            return new long[]{0, -1, 0};
+        }
+        return new long[]{0, p - lost, periodNanos - over % periodNanos};
+    }
+
+    private long now() {
+        return nanoTime.getAsLong();
+    }
+
+    private static int index(Stone player) {
+        return player == Stone.BLACK ? 0 : 1;
+    }
+}
@@ -262,11 +262,10 @@ public boolean saveToSgf(String filePath) {
     
     File file = new File(filePath);
     File parentDir = file.getParentFile();
-    if (parentDir != null && !parentDir.exists()) {
-        if (!parentDir.mkdirs()) {
-            LOGGER.warning("GameRecorder: Failed to create directories for: " + filePath);
-            return false;
-        }
+    // Başka bir thread klasörü aynı anda oluşturmuş olabilir: mkdirs false dönse de klasör varsa devam et
+    if (parentDir != null && !parentDir.mkdirs() && !parentDir.isDirectory()) {
+        LOGGER.warning("GameRecorder: Failed to create directories for: " + filePath);
+        return false;
     }
     
     try (BufferedWriter writer = new BufferedWriter(
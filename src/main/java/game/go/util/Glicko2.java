@@ -0,0 +1,145 @@
+package game.go.util;
+
+/**
+ * Glicko-2 oyuncu puanlaması (Glickman, "Example of the Glicko-2 system").
+ * <p>
+ * Bir oyuncunun gücü üç değerle tutulur: puan, puan sapması (puanın ne kadar
+ * belirsiz olduğu) ve oynaklık (gücün ne kadar dalgalandığı). Yeni oyuncu
+ * 1500 puan ve yüksek sapmayla başlar; oynadıkça sapma küçülür ve puanı
+ * daha az oynar. Sunucu her oyunu ayrı bir puanlama dönemi sayar.
+ * </p>
+ */
+public final class Glicko2 {
+
+    /** Glicko ölçeği ile Glicko-2 ölçeği arasındaki çarpan */
+    private static final double SCALE = 173.7178;
+
+    /** Sistem sabiti: oynaklığın dönem başına ne kadar değişebileceği */
+    private static final double TAU = 0.5;
+
+    /** Oynaklık hesabının yakınsama eşiği */
+    private static final double EPSILON = 0.000001;
+
+    /**
+     * Bir oyuncunun puanı.
+     *
+     * @param rating Puan
+     * @param deviation Puan sapması
+     * @param volatility Oynaklık
+     */
+    public record Rating(double rating, double deviation, double volatility) {
+
+        /** Yeni oyuncunun puanı */
+        public static final Rating INITIAL = new Rating(1500, 350, 0.06);
+
+        @Override
+        public String toString() {
+            return Math.round(rating) + " (±" + Math.round(deviation) + ")";
+        }
+    }
+
+    private Glicko2() {
+    }
+
+    /**
+     * Tek bir oyunun sonucuyla puanı günceller.
+     *
+     * @param player Oyuncunun puanı
+     * @param opponent Rakibin puanı
+     * @param score 1 galibiyet, 0.5 beraberlik, 0 yenilgi
+     * @return Yeni puan
+     */
+    public static Rating update(Rating player, Rating opponent, double score) {
+        return update(player, new Rating[]{opponent}, new double[]{score});
+    }
+
+    /**
+     * Bir puanlama dönemindeki tüm oyunların sonuçlarıyla puanı günceller.
+     * Dönemde oyun yoksa yalnızca sapma büyür.
+     *
+     * @param player Oyuncunun puanı
+     * @param opponents Rakiplerin puanları
+     * @param scores Her rakibe karşı sonuç (1, 0.5 ya da 0)
+     * @return Yeni puan
+     * @throws IllegalArgumentException Rakip ve sonuç sayıları farklıysa
+     */
+    public static Rating update(Rating player, Rating[] opponents, double[] scores) {
+        if (opponents.length != scores.length) {
+            throw new IllegalArgumentException("Rakip ve sonuç sayıları eşleşmiyor");
+        }
+        double mu = (player.rating() - 1500) / SCALE;
+        double phi = player.deviation() / SCALE;
+        double sigma = player.volatility();
+
+        if (opponents.length == 0) {
+            double phiStar = Math.sqrt(phi * phi + sigma * sigma);
+            return new Rating(player.rating(), phiStar * SCALE, sigma);
+        }
+
+        // Tahmini varyans (v) ve tahmini puan farkı (delta)
+        double invV = 0;
+        double sum = 0;
+        for (int j = 0; j < opponents.length; j++) {
+            double muJ = (opponents[j].rating() - 1500) / SCALE;
+            double g = g(opponents[j].deviation() / SCALE);
+            double e = 1 / (1 + Math.exp(-g * (mu - muJ)));
+            invV += g * g * e * (1 - e);
+            sum += g * (scores[j] - e);
+        }
+        double v = 1 / invV;
+        double delta = v * sum;
+
+        double newSigma = volatility(phi, sigma, v, delta);
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / v);
+        double newMu = mu + newPhi * newPhi * sum;
+        return new Rating(newMu * SCALE + 1500, newPhi * SCALE, newSigma);
+    }
+
+    private static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    /**
+     * Yeni oynaklığı Illinois yöntemiyle bulur.
+     */
+    private static double volatility(double phi, double sigma, double v, double delta) {
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double left = a;
+        double right;
+        if (delta2 > phi2 + v) {
+            right = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (f(a - k * TAU, a, phi2, v, delta2) < 0) {
+                k++;
+            }
+            right = a - k * TAU;
+        }
+
+        double fLeft = f(left, a, phi2, v, delta2);
+        double fRight = f(right, a, phi2, v, delta2);
+        while (Math.abs(right - left) > EPSILON) {
+            double c = left + (left - right) * fLeft / (fRight - fLeft);
+            double fC = f(c, a, phi2, v, delta2);
+            if (fC * fRight <= 0) {
+                left = right;
+                fLeft = fRight;
+            } else {
+                fLeft /= 2;
+            }
+            right = c;
+            fRight = fC;
+        }
+        return Math.exp(left / 2);
+    }
+
+    private static double f(double x, double a, double phi2, double v, double delta2) {
+        double ex = Math.exp(x);
+        double d = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2 * d * d) - (x - a) / (TAU * TAU);
+    }
+}
@@ -1,17 +1,35 @@
 package server;
 
+import game.go.event.GameEventListener;
+import game.go.event.LoggingGameListener;
+import game.go.event.MetricsGameListener;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 
 public class AppMain {
     public static void main(String[] args) throws Exception {
         int port = args.length>0?Integer.parseInt(args[0]):5000; // Port 5000 olarak güncellendi
-        Server srv = new Server(port);
+        // Metrikler her zaman açık; olay loglaması -Dgo.events.log=true ile açılır
+        MetricsGameListener metrics = new MetricsGameListener();
+        GameEventListener events = metrics;
+        if (Boolean.getBoolean("go.events.log")) {
+            events = GameEventListener.compose(events, new LoggingGameListener());
+        }
+        // -Dgo.server.nio=true ile bağlantılar engellemeyen olay döngülerinde
+        // işlenir (varsayılan çekirdek başına bir döngü, -Dgo.server.eventLoops=N).
+        // Aksi halde her bağlantı kendi thread'inde okunur; -Dgo.server.virtualThreads=true
+        // ile bu thread'ler sanal thread olur
+        int eventLoops = 0;
+        if (Boolean.getBoolean("go.server.nio")) {
+            eventLoops = Integer.getInteger("go.server.eventLoops", Runtime.getRuntime().availableProcessors());
+        }
+        Server srv = new Server(port, events, eventLoops);
         srv.start();
         System.out.printf("Go sunucusu %d portunda dinliyor…%n", port);
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
         while (!"q".equalsIgnoreCase(br.readLine())) {}
         srv.shutdown();
+        System.out.println("Olay metrikleri: " + metrics);
         System.out.println("Sunucu kapatıldı.");
     }
 }
\ No newline at end of file
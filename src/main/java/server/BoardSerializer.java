@@ -1,27 +1,34 @@
 package server;
 
 import game.go.model.Board;
-import game.go.model.Point;
+import game.go.model.BoardCodec;
 import game.go.model.Stone;
-import java.util.StringJoiner;
 
 public class BoardSerializer {
 
     /** Tahtayı JSON dizisine çevirir (".", "B", "W") */
     public static String toJson(Board b) {
         int N = b.getSize();
-        StringBuilder sb = new StringBuilder("[");
+        // Her hücre "X" + ayraç, her satır [ ] + ayraç, dış [ ]
+        StringBuilder sb = new StringBuilder(2 + N * (4 * N + 2));
+        sb.append('[');
         for (int y = 0; y < N; y++) {
-            StringJoiner row = new StringJoiner(",", "[", "]");
+            sb.append('[');
             for (int x = 0; x < N; x++) {
-                Stone s = b.get(new Point(x, y));
-                row.add("\"" + (s == Stone.BLACK ? "B"
-                               : s == Stone.WHITE ? "W" : ".") + "\"");
+                Stone s = b.getAtCoord(x, y);
+                sb.append('"').append(s == Stone.BLACK ? 'B'
+                                    : s == Stone.WHITE ? 'W' : '.').append('"');
+                if (x < N - 1) sb.append(',');
             }
-            sb.append(row);
+            sb.append(']');
             if (y < N - 1) sb.append(',');
         }
         sb.append(']');
         return sb.toString();
     }
+
+    /** Tahtayı 2 bit/kesişim paketlenmiş Base64 metne çevirir (bkz. {@link BoardCodec}) */
+    public static String toPacked(Board b) {
+        return BoardCodec.toBase64(b);
+    }
 }
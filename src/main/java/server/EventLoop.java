@@ -0,0 +1,156 @@
+package server;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Engellemeyen bağlantılara hizmet veren tek bir olay döngüsü.
+ * <p>
+ * Her döngü kendi {@link Selector}'ünü ve thread'ini kullanır; bir bağlantı
+ * ömrü boyunca aynı döngüde kalır, bu yüzden bir istemcinin mesajları her
+ * zaman aynı thread'de ve sırayla işlenir. Diğer thread'ler döngüye yalnızca
+ * {@link #execute(Runnable)} ile iş bırakır. Bağlantı başına thread
+ * olmadığından bağlı istemci sayısı, thread yığınları yerine tampon
+ * belleğiyle sınırlıdır.
+ * </p>
+ */
+final class EventLoop extends Thread {
+
+    private static final Logger LOGGER = Logger.getLogger(EventLoop.class.getName());
+
+    private final Server hub;
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    /**
+     * @param hub Sunucu
+     * @param index Döngü numarası (thread adı için)
+     * @throws IOException Selector açılamazsa
+     */
+    EventLoop(Server hub, int index) throws IOException {
+        super("Server-EventLoop-" + index);
+        this.hub = hub;
+        this.selector = Selector.open();
+        setDaemon(true);
+    }
+
+    /**
+     * Bir işi döngü thread'inde çalıştırır.
+     *
+     * @param task İş
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Selector'ü select() beklemesinden uyandırır (ilgi değişiklikleri için).
+     */
+    void wakeup() {
+        selector.wakeup();
+    }
+
+    /**
+     * Kabul edilen bir bağlantıyı bu döngüye bağlar ve istemciyi sunucuya
+     * tanıtır.
+     *
+     * @param socket Kabul edilen soket
+     */
+    void register(SocketChannel socket) {
+        execute(() -> {
+            SClient client = null;
+            try {
+                socket.configureBlocking(false);
+                NioConnection conn = new NioConnection(socket, this);
+                client = new SClient(conn, hub);
+                SelectionKey key = socket.register(selector, SelectionKey.OP_READ, client);
+                conn.attach(key);
+                hub.admit(client);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error registering client connection", e);
+                if (client != null) {
+                    client.disconnected();
+                } else {
+                    try {
+                        socket.close();
+                    } catch (IOException ignored) {}
+                }
+            }
+        });
+    }
+
+    /**
+     * Döngüyü durdurur; açık bağlantılar sunucu tarafından kapatılır.
+     */
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                LOGGER.log(Level.SEVERE, "Event loop " + getName() + " failed", e);
+            }
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error in event loop task", e);
+            }
+        }
+    }
+
+    /**
+     * Hazır bir bağlantıyı işler; hata ya da EOF'ta bağlantıyı temizler.
+     */
+    private void handle(SelectionKey key) {
+        SClient client = (SClient) key.attachment();
+        try {
+            if (key.isValid() && key.isWritable() && client.connection().drain()) {
+                client.resumeWrites();
+            }
+            if (key.isValid() && key.isReadable() && !client.readAvailable()) {
+                LOGGER.log(Level.INFO, "Client {0} disconnected (EOF)", client.id);
+                client.disconnected();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.INFO, "Client {0} connection error: {1}", new Object[]{client.id, e.getMessage()});
+            client.disconnected();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error processing client " + client.id + " message", e);
+            client.disconnected();
+        }
+    }
+}
@@ -2,16 +2,24 @@
 package server;
 
 import common.IOUtil;
+import common.Frame;
 import common.Message;
+import common.Protocol;
+import game.go.model.GameSnapshot;
 import game.go.model.GameState;
 import game.go.model.Point;
 import game.go.model.Stone;
 import game.go.model.Board.MoveResult;
-import game.go.util.GameTimer;
+import game.go.util.GameClock;
 import game.go.util.GameRecorder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,23 +31,53 @@ public class GameSession {
 
     private static final Logger LOGGER = Logger.getLogger(GameSession.class.getName());
 
-    // Oyuncular ve bağlantılar
-    private final SClient black, white;
+    // Oyuncular ve bağlantılar (oturuma geri dönüşte yeni bağlantıyla değişir)
+    private volatile SClient black, white;
     private final GameState state;
     private final Server server;
     private final GameRecorder recorder;
 
+    // Oturumun posta kutusu: tüm girdiler (okuyucu thread'leri, zamanlayıcı)
+    // oturumun sabitlendiği tek thread'li döngüye iş olarak bırakılır ve
+    // sırayla çalışır. Aşağıdaki durum yalnızca o döngüden değiştirilir; kilit
+    // gerekmez.
+    private final long id;
+    private final Executor mailbox;
+
+    // Oyuncu başına döngüde bekleyen en fazla girdi (hamle, pas, sohbet...).
+    // Fazlası atılır: mesaj yağdıran bir istemci döngüyü paylaşan diğer
+    // oturumları bekletemez. Zaman aşımı, kopma ve pes etme sınırlanmaz.
+    private static final int MAX_PENDING_INPUTS = Integer.getInteger("go.session.maxPendingInputs", 32);
+    private final AtomicInteger blackInputs = new AtomicInteger();
+    private final AtomicInteger whiteInputs = new AtomicInteger();
+
     // Oyun durumu
     private boolean sessionActive = true;
     private final List<Point> moveHistory = new ArrayList<>();
     private int blackCaptureCount = 0;
     private int whiteCaptureCount = 0;
 
-    // Süre yönetimi
-    private final GameTimer blackTimer;
-    private final GameTimer whiteTimer;
+    // Süre yönetimi: saat tik atmaz, sıra başına tek bir zaman aşımı görevi
+    // kurulur. Saniyelik TIMER_UPDATE yalnızca CLOCK desteklemeyen istemci
+    // varken gönderilir.
     private static final int DEFAULT_TIME_MINUTES = 30;
+    private static final GameClock.TimeControl TIME_CONTROL =
+            GameClock.TimeControl.fromSystemProperties(DEFAULT_TIME_MINUTES);
     private static final int TIMER_UPDATE_INTERVAL = 1000; // 1 saniye
+    private final GameClock clock = new GameClock(TIME_CONTROL);
+    private ScheduledFuture<?> flagTimeout;
+    private ScheduledFuture<?> timerUpdates;
+
+    // Tahta farkları: her K hamlede bir tam tahta (anahtar kare) gönderilir
+    private static final int KEYFRAME_INTERVAL = Integer.getInteger("go.board.keyframeInterval", 32);
+    private long boardSeq = 0;
+    private int movesSinceKeyframe = 0;
+
+    // Bağlantısı kopan oyuncunun geri dönmesi için beklenen süre; 0 ise hemen hükmen kaybeder
+    private static final long RESUME_GRACE_MS = Long.getLong("go.session.resumeGraceMs", 30_000);
+    private Stone absent; // Bağlantısı kopmuş ve geri dönmesi beklenen oyuncu
+    private ScheduledFuture<?> graceTimeout;
+    private final List<String> resumeTokens = new ArrayList<>(); // Verilen anahtarlar (bitişte geri alınır)
 
     /**
      * Yeni bir oyun oturumu oluşturur
@@ -48,16 +86,18 @@ public class GameSession {
      * @param white Beyaz oyuncu
      * @param server Sunucu referansı
      * @param config Oyun konfigürasyonu
-     * @throws IOException İletişim hatası olursa
      */
-    public GameSession(SClient black, SClient white, Server server, Server.GameConfig config) throws IOException {
+    public GameSession(SClient black, SClient white, Server server, Server.GameConfig config) {
         this.black = black;
         this.white = white;
         this.server = server;
+        this.id = server.nextSessionId();
+        this.mailbox = server.sessionLoops().forSession(id);
 
         // GameState'i oluştur ve konfigüre et
         this.state = new GameState(config.getBoardSize());
         state.setKomi(config.getKomi());
+        state.addListener(server.events());
 
         // Oyun kaydedicisini oluştur
         this.recorder = new GameRecorder(config.getBoardSize(),
@@ -66,41 +106,107 @@ public class GameSession {
         recorder.setKomi(config.getKomi());
         state.setRecorder(recorder);
 
-        // Zamanlayıcıları oluştur
-        this.blackTimer = new GameTimer(DEFAULT_TIME_MINUTES, null);
-        this.whiteTimer = new GameTimer(DEFAULT_TIME_MINUTES, null);
-
         // Handikap taşlarını yerleştir (eğer varsa)
         if (config.getHandicap() > 0) {
             placeHandicapStones(config.getHandicap());
         }
 
-        // Zaman bittiğinde oyunu bitirme aksiyonlarını ayarla
-        setupTimerActions();
+        // Oyunun başlangıcı posta kutusunun ilk işidir; oyunculardan gelen
+        // girdiler ondan sonra işlenir
+        post(() -> begin(config));
+    }
 
+    /**
+     * Oyuncuları oturuma bağlar, başlangıç durumunu gönderir ve saati başlatır
+     */
+    private void begin(Server.GameConfig config) throws IOException {
         // Oyuncuları oturuma bağla
         black.bindSession(this);
         white.bindSession(this);
 
-        // Oyunculara rollerini bildir
+        // Oyunculara rollerini ve geri dönüş anahtarlarını bildir
         black.send(new Message(Message.Type.ROLE, "BLACK"));
         white.send(new Message(Message.Type.ROLE, "WHITE"));
+        sendResumeToken(black, Stone.BLACK);
+        sendResumeToken(white, Stone.WHITE);
+
+        // İlk oyuncunun (handikapta beyaz) saatini başlat
+        clock.start(state.toPlay());
+        scheduleFlagCheck();
 
         // Skor, tahta ve zaman durumunu gönder
         broadcastScore();
         broadcastBoard();
+        broadcastClock();
         sendTimerStatus();
 
-        // İlk oyuncunun (siyah) süresini başlat
-        blackTimer.start();
+        LOGGER.log(Level.INFO, "GameSession {5} started between client {0} (BLACK) and {1} (WHITE) with config: {2}x{2}, Handicap: {3}, Komi: {4}",
+                new Object[]{black.id, white.id, config.getBoardSize(), config.getHandicap(), config.getKomi(), id});
 
-        LOGGER.log(Level.INFO, "GameSession started between client {0} (BLACK) and {1} (WHITE) with config: {2}x{2}, Handicap: {3}, Komi: {4}",
-                new Object[]{black.id, white.id, config.getBoardSize(), config.getHandicap(), config.getKomi()});
-
-        // Zamanlayıcı güncellemelerini başlat
+        // Eski istemciler için saniyelik süre güncellemeleri
         startTimerUpdates();
     }
 
+    /**
+     * Oturum posta kutusuna bırakılan bir girdi
+     */
+    @FunctionalInterface
+    private interface Event {
+        void run() throws IOException;
+    }
+
+    /**
+     * Girdiyi oturumun döngüsüne bırakır; çağıran thread beklemez. Girdiler
+     * bırakıldıkları sırayla ve hep aynı thread'de işlenir.
+     *
+     * @param event Girdi
+     */
+    private void post(Event event) {
+        try {
+            mailbox.execute(() -> {
+                try {
+                    event.run();
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Session " + id + " I/O error", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.log(Level.FINE, "Session loop stopped, input for session {0} dropped", id);
+        }
+    }
+
+    /**
+     * Oyuncudan gelen girdiyi döngüye bırakır. Oyuncunun işlenmeyi bekleyen
+     * girdisi sınırdaysa girdi atılır. Geri dönüşte yerine yeni bağlantı geçmiş
+     * eski bağlantının girdileri yok sayılır; renk ancak bu denetimden sonra
+     * belirlenebilir.
+     *
+     * @param from Girdiyi gönderen oyuncu
+     * @param event Girdi
+     */
+    private void postInput(SClient from, Event event) {
+        if (from != black && from != white) {
+            return;
+        }
+        AtomicInteger pending = from == black ? blackInputs : whiteInputs;
+        if (pending.incrementAndGet() > MAX_PENDING_INPUTS) {
+            pending.decrementAndGet();
+            LOGGER.log(Level.FINE, "Session {0}: too many pending inputs from client {1}, input dropped",
+                    new Object[]{id, from.id});
+            return;
+        }
+        post(() -> {
+            try {
+                // Oyuncular döngüde değişir: girdi beklerken bağlantı değiştirilmiş olabilir
+                if (from == black || from == white) {
+                    event.run();
+                }
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
     /**
      * Handikap taşlarını yerleştirir
      *
@@ -123,6 +229,7 @@ public class GameSession {
                 LOGGER.log(Level.INFO, "Placed handicap stone at ({0},{1})", new Object[]{p.x(), p.y()});
             }
         }
+        state.publishSnapshot();
     }
 
     /**
@@ -214,45 +321,94 @@ public class GameSession {
     }
 
     /**
-     * Zamanlayıcı aksiyonlarını ayarlar
+     * Sıradaki oyuncunun süresi dolduğunda çalışacak tek zaman aşımı görevini
+     * kurar; önceki sıranın görevi iptal edilir.
      */
-    private void setupTimerActions() {
-        // Siyah zamanlayıcı aksiyonları
-        blackTimer.setTimeoutAction(() -> {
-            try {
-                LOGGER.info("Black's time is up!");
-                timeOut(Stone.BLACK);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Error handling black timeout", e);
-            }
-        });
+    private void scheduleFlagCheck() {
+        if (flagTimeout != null) {
+            flagTimeout.cancel(false);
+            flagTimeout = null;
+        }
+        if (clock.running() != null) {
+            flagTimeout = server.scheduler().schedule(this::checkFlag,
+                    Math.max(clock.nanosToFlag(), 0), TimeUnit.NANOSECONDS);
+        }
+    }
 
-        // Beyaz zamanlayıcı aksiyonları
-        whiteTimer.setTimeoutAction(() -> {
-            try {
-                LOGGER.info("White's time is up!");
-                timeOut(Stone.WHITE);
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Error handling white timeout", e);
+    /**
+     * Zaman aşımı görevi: süre gerçekten dolduysa oyunu bitirir, görev erken
+     * çalıştıysa yeniden kurulur.
+     */
+    private void checkFlag() {
+        post(() -> {
+            Stone player = clock.running();
+            if (!sessionActive || player == null) {
+                return;
+            }
+            if (clock.isFlagged(player)) {
+                LOGGER.log(Level.INFO, "{0}''s time is up!", player);
+                timeOut(player);
+            } else {
+                scheduleFlagCheck();
             }
         });
     }
 
     /**
-     * Zaman güncellemelerini periyodik olarak gönderir
+     * Sırayı rakibe geçirir: hamle yapanın saati durur, rakibinki başlar ve
+     * yeni sıranın zaman aşımı kurulur (oturum döngüsünde).
+     */
+    private void pressClock() {
+        clock.press();
+        scheduleFlagCheck();
+    }
+
+    /**
+     * CLOCK anlaşılmamış oyuncu varsa süre güncellemelerini sunucunun ortak
+     * zamanlayıcısında periyodik olarak gönderir; oyun bitince
+     * {@link #stopClocks()} ile iptal edilir.
      */
     private void startTimerUpdates() {
-        new Thread(() -> {
-            while (sessionActive) {
-                try {
-                    sendTimerStatus();
-                    Thread.sleep(TIMER_UPDATE_INTERVAL);
-                } catch (InterruptedException | IOException e) {
-                    LOGGER.log(Level.WARNING, "Timer update interrupted", e);
-                    break;
+        if (timerUpdates != null || (black.hasFeature(Protocol.FEATURE_CLOCK) && white.hasFeature(Protocol.FEATURE_CLOCK))) {
+            return;
+        }
+        timerUpdates = server.scheduler().scheduleAtFixedRate(() -> post(this::sendTimerStatus),
+                TIMER_UPDATE_INTERVAL, TIMER_UPDATE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saati durdurur, zaman aşımını ve süre yayınını iptal eder
+     */
+    private void stopClocks() {
+        clock.stop();
+        if (flagTimeout != null) {
+            flagTimeout.cancel(false);
+            flagTimeout = null;
+        }
+        if (timerUpdates != null) {
+            timerUpdates.cancel(false);
+            timerUpdates = null;
+        }
+    }
+
+    /**
+     * Saati CLOCK anlaşılmış oyunculara gönderir (sıra değişiminde)
+     *
+     * @throws IOException İletişim hatası olursa
+     */
+    private void broadcastClock() throws IOException {
+        if (!sessionActive) {
+            return;
+        }
+        Frame frame = null;
+        for (SClient client : new SClient[]{black, white}) {
+            if (client.hasFeature(Protocol.FEATURE_CLOCK)) {
+                if (frame == null) {
+                    frame = Frame.of(new Message(Message.Type.CLOCK, clock.toPayload()));
                 }
+                sendToClient(client, frame, "clock");
             }
-        }).start();
+        }
     }
 
     /**
@@ -265,14 +421,26 @@ public class GameSession {
             return;
         }
 
-        String blackTime = blackTimer.getTimeText();
-        String whiteTime = whiteTimer.getTimeText();
-
-        // Siyah oyuncuya zaman bilgisini gönder
-        sendToClient(black, new Message(Message.Type.TIMER_UPDATE, blackTime + "," + whiteTime), "timer to black");
+        // Saati kendisi işletemeyen oyunculara zaman bilgisini gönder
+        if (!black.hasFeature(Protocol.FEATURE_CLOCK)) {
+            sendToClient(black, timerMessageFor(black), "timer to black");
+        }
+        if (!white.hasFeature(Protocol.FEATURE_CLOCK)) {
+            sendToClient(white, timerMessageFor(white), "timer to white");
+        }
+    }
 
-        // Beyaz oyuncuya zaman bilgisini gönder
-        sendToClient(white, new Message(Message.Type.TIMER_UPDATE, whiteTime + "," + blackTime), "timer to white");
+    /**
+     * Oyuncuya özel süre mesajını oluşturur ("benimSürem,rakibinSüresi")
+     *
+     * @param client Alıcı oyuncu
+     * @return TIMER_UPDATE mesajı
+     */
+    private Message timerMessageFor(SClient client) {
+        String blackTime = clock.text(Stone.BLACK);
+        String whiteTime = clock.text(Stone.WHITE);
+        return new Message(Message.Type.TIMER_UPDATE,
+                client == black ? blackTime + "," + whiteTime : whiteTime + "," + blackTime);
     }
 
     /**
@@ -281,7 +449,7 @@ public class GameSession {
      * @param player Süresi biten oyuncu
      * @throws IOException İletişim hatası olursa
      */
-    private synchronized void timeOut(Stone player) throws IOException {
+    private void timeOut(Stone player) throws IOException {
         if (!sessionActive || state.isOver()) {
             return;
         }
@@ -290,7 +458,7 @@ public class GameSession {
         state.resign();
 
         String timeoutPlayer = (player == Stone.BLACK) ? "BLACK" : "WHITE";
-        finish(timeoutPlayer + " süre dolduğu için oyunu kaybetti.");
+        finish(player.opponent(), timeoutPlayer + " süre dolduğu için oyunu kaybetti.");
     }
 
     /**
@@ -298,258 +466,278 @@ public class GameSession {
      *
      * @param from Hamleyi yapan oyuncu
      * @param payload Hamle bilgisi (x,y formatında)
-     * @throws IOException İletişim hatası olursa
      */
-public synchronized void handleMove(SClient from, String payload) throws IOException {
-    if (!sessionActive || state.isOver()) { 
-        handleInactiveSession(from, "Hamle"); 
-        return; 
-    }
-    
-    // Sıra kontrolü - doğru oyuncu mu hamle yapıyor?
-    Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-    if (fromColor != state.toPlay()) {
-        LOGGER.log(Level.WARNING, "Client {0} tried to move out of turn", from.id);
-        sendToClient(from, new Message(Message.Type.ERROR, "Hamle sırası sizde değil!"), "turn error");
-        return;
-    }
+public void handleMove(SClient from, String payload) {
+    postInput(from, () -> {
+        if (!sessionActive || state.isOver()) { 
+            handleInactiveSession(from, "Hamle"); 
+            return; 
+        }
     
-    try {
-        // x,y formatındaki payload'ı Point'e çevir
-        Point p = Point.fromCsv(payload);
-        
-        // Hamle yapılacak pozisyonda taş var mı kontrol et
-        if (state.board().get(p) != Stone.EMPTY) {
-            LOGGER.log(Level.INFO, "Client {0} tried to place stone on occupied position {1}", 
-                      new Object[]{from.id, payload});
-            sendToClient(from, new Message(Message.Type.ERROR, "Bu pozisyonda zaten bir taş var!"), "invalid move");
+        // Sıra kontrolü - doğru oyuncu mu hamle yapıyor?
+        Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+        if (fromColor != state.toPlay()) {
+            LOGGER.log(Level.WARNING, "Client {0} tried to move out of turn", from.id);
+            rejectMove(from, payload, "Hamle sırası sizde değil!", "turn error");
             return;
         }
+
+        // Zaman aşımı görevi henüz çalışmadan gelen geç hamle
+        if (clock.isFlagged(fromColor)) {
+            timeOut(fromColor);
+            return;
+        }
+    
+        try {
+            // x,y (tahmin eden istemcide x,y,hamleNo) formatındaki payload'ı Point'e çevir
+            Point p = Point.fromCsv(payload);
         
-        // Hamleyi yap
-        MoveResult result = state.play(p);
+            // Hamle yapılacak pozisyonda taş var mı kontrol et
+            if (state.board().get(p) != Stone.EMPTY) {
+                LOGGER.log(Level.INFO, "Client {0} tried to place stone on occupied position {1}", 
+                          new Object[]{from.id, payload});
+                rejectMove(from, payload, "Bu pozisyonda zaten bir taş var!", "invalid move");
+                return;
+            }
+        
+            // Hamleyi yap
+            MoveResult result = state.play(p);
         
-        if (result.valid) {
-            LOGGER.log(Level.INFO, "Client {0} moved to {1}", new Object[]{from.id, payload});
+            if (result.valid) {
+                LOGGER.log(Level.INFO, "Client {0} moved to {1}", new Object[]{from.id, payload});
             
-            // Hamle geçişinde, mevcut oyuncunun zamanını durdur ve diğer oyuncunun zamanını başlat
-            if (fromColor == Stone.BLACK) {
-                blackTimer.stop();
-                whiteTimer.start();
+                // Hamle geçişinde, mevcut oyuncunun saatini durdur ve rakibinkini başlat
+                pressClock();
+            
+                // Başarılı hamle sonrası tahta, skor ve süre güncelleme
+                broadcastMoveApplied(p, fromColor);
+                broadcastClock();
             } else {
-                whiteTimer.stop();
-                blackTimer.start();
+                // Geçersiz hamle - hata mesajını sadece hamleyi yapan oyuncuya ilet
+                LOGGER.log(Level.INFO, "Client {0} made invalid move to {1}: {2}", 
+                          new Object[]{from.id, payload, result.message});
+                rejectMove(from, payload, "Geçersiz hamle: " + result.message, "move error");
+                return; // Hamle geçersizse devam etme
             }
-            
-            // Başarılı hamle sonrası tahta ve skor güncelleme
-            broadcastBoard();
-            broadcastScore();
-            
-            // Süre durumunu güncelle
-            sendTimerStatus();
-        } else {
-            // Geçersiz hamle - hata mesajını sadece hamleyi yapan oyuncuya ilet
-            LOGGER.log(Level.INFO, "Client {0} made invalid move to {1}: {2}", 
-                      new Object[]{from.id, payload, result.message});
-            sendToClient(from, new Message(Message.Type.ERROR, "Geçersiz hamle: " + result.message), "move error");
-            return; // Hamle geçersizse devam etme
-        }
-    } catch (Exception e) {
-        LOGGER.log(Level.WARNING, "Error processing move from client " + from.id, e);
-        sendToClient(from, new Message(Message.Type.ERROR, "Hamle işlenemedi: " + e.getMessage()), "move error");
-        return;
-    }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error processing move from client " + from.id, e);
+            rejectMove(from, payload, "Hamle işlenemedi: " + e.getMessage(), "move error");
+            return;
+        }
     
-    if (state.isOver()) {
-        finish("Oyun bitti (Hamle sonrası durum).");
-    }
+        if (state.isOver()) {
+            finish(null, "Oyun bitti (Hamle sonrası durum).");
+        }
+    });
 }
+
     /**
-     * Oyuncunun undo (geri alma) talebini işler
+     * Hamleyi reddeder. Hamleyi önceden gösteren istemci, geri alabilmesi
+     * için hamlenin sıra numarasını MOVE_REJECTED ile de alır.
      *
-     * @param from Talepte bulunan oyuncu
+     * @param from Hamleyi yapan oyuncu
+     * @param payload Hamle yükü ("x,y" ya da "x,y,hamleNo")
+     * @param error Kullanıcıya gösterilecek hata
+     * @param description İşlem açıklaması (log için)
      * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handleUndoRequest(SClient from) throws IOException {
-        if (!sessionActive || state.isOver()) {
-            handleInactiveSession(from, "Geri alma");
-            return;
+    private void rejectMove(SClient from, String payload, String error, String description) throws IOException {
+        sendToClient(from, new Message(Message.Type.ERROR, error), description);
+        int seqStart = payload == null ? -1 : payload.lastIndexOf(',');
+        if (from.hasFeature(Protocol.FEATURE_PREDICT) && seqStart > payload.indexOf(',')) {
+            sendToClient(from, new Message(Message.Type.MOVE_REJECTED, payload.substring(seqStart + 1)), "move rejected");
         }
+    }
+    /**
+     * Oyuncunun undo (geri alma) talebini işler
+     *
+     * @param from Talepte bulunan oyuncu
+     */
+    public void handleUndoRequest(SClient from) {
+        postInput(from, () -> {
+            if (!sessionActive || state.isOver()) {
+                handleInactiveSession(from, "Geri alma");
+                return;
+            }
 
-        // Sıra kontrolü - sadece kendi sırasında undo talep edebilir
-        Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-        if (fromColor != state.toPlay()) {
-            LOGGER.log(Level.WARNING, "Client {0} tried to undo out of turn", from.id);
-            sendToClient(from, new Message(Message.Type.ERROR, "Geri alma talebini sadece kendi sıranızda yapabilirsiniz!"), "undo error");
-            return;
-        }
+            // Sıra kontrolü - sadece kendi sırasında undo talep edebilir
+            Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+            if (fromColor != state.toPlay()) {
+                LOGGER.log(Level.WARNING, "Client {0} tried to undo out of turn", from.id);
+                sendToClient(from, new Message(Message.Type.ERROR, "Geri alma talebini sadece kendi sıranızda yapabilirsiniz!"), "undo error");
+                return;
+            }
 
-        // Geri alınacak hamle var mı?
-        if (moveHistory.isEmpty()) {
-            sendToClient(from, new Message(Message.Type.ERROR, "Geri alınacak hamle bulunamadı!"), "undo error");
-            return;
-        }
+            // Geri alınacak hamle var mı?
+            if (moveHistory.isEmpty()) {
+                sendToClient(from, new Message(Message.Type.ERROR, "Geri alınacak hamle bulunamadı!"), "undo error");
+                return;
+            }
 
-        // Diğer oyuncuya talep gönder
-        SClient opponent = (from == black) ? white : black;
-        sendToClient(opponent, new Message(Message.Type.MSG_FROM_CLIENT,
-                "System: Rakibiniz son hamleyi geri alma talebinde bulundu. Kabul ediyor musunuz? (UNDO_ACCEPT veya UNDO_REJECT)"),
-                "undo request");
+            // Diğer oyuncuya talep gönder
+            SClient opponent = (from == black) ? white : black;
+            sendToClient(opponent, new Message(Message.Type.MSG_FROM_CLIENT,
+                    "System: Rakibiniz son hamleyi geri alma talebinde bulundu. Kabul ediyor musunuz? (UNDO_ACCEPT veya UNDO_REJECT)"),
+                    "undo request");
 
-        sendToClient(from, new Message(Message.Type.MSG_FROM_CLIENT,
-                "System: Geri alma talebiniz rakibinize iletildi, yanıt bekleniyor..."),
-                "undo request sent");
+            sendToClient(from, new Message(Message.Type.MSG_FROM_CLIENT,
+                    "System: Geri alma talebiniz rakibinize iletildi, yanıt bekleniyor..."),
+                    "undo request sent");
+        });
     }
 
     /**
      * Undo talebini kabul etme işlemi
      *
      * @param from Kabul eden oyuncu
-     * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handleUndoAccept(SClient from) throws IOException {
-        if (!sessionActive || state.isOver()) {
-            handleInactiveSession(from, "Undo kabul");
-            return;
-        }
-
-        // Talepte bulunan oyuncu değilse
-        Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-        if (fromColor == state.toPlay()) {
-            sendToClient(from, new Message(Message.Type.ERROR, "Kendi talebinizi kabul edemezsiniz!"), "undo error");
-            return;
-        }
-
-        // 2 hamle geri al (her iki oyuncunun da son hamlesini)
-        if (moveHistory.size() >= 2) {
-            // NOT: Gerçek uygulamada, hamleleri geri almak için özel bir mekanizma gerekir.
-            // Bu örnek kodu basitleştirmek için sadece tahta durumunu yeniden oluşturacağız.
-            LOGGER.log(Level.INFO, "Undo accepted: Removing last 2 moves");
-
-            // Son 2 hamleyi sil
-            moveHistory.remove(moveHistory.size() - 1);
-            moveHistory.remove(moveHistory.size() - 1);
+    public void handleUndoAccept(SClient from) {
+        postInput(from, () -> {
+            if (!sessionActive || state.isOver()) {
+                handleInactiveSession(from, "Undo kabul");
+                return;
+            }
 
-            // TODO: Tahtayı yeniden oluştur (gerçek uygulamada)
-            // Tüm oyunculara bildir
-            sendToClient(black, new Message(Message.Type.MSG_FROM_CLIENT,
-                    "System: Son iki hamle geri alındı."),
-                    "undo notification");
-            sendToClient(white, new Message(Message.Type.MSG_FROM_CLIENT,
-                    "System: Son iki hamle geri alındı."),
-                    "undo notification");
+            // Talepte bulunan oyuncu değilse
+            Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+            if (fromColor == state.toPlay()) {
+                sendToClient(from, new Message(Message.Type.ERROR, "Kendi talebinizi kabul edemezsiniz!"), "undo error");
+                return;
+            }
 
-            // Tahta ve skor güncelleme
-            broadcastBoard();
-            broadcastScore();
-        } else {
-            sendToClient(from, new Message(Message.Type.ERROR, "Geri alınacak yeterli hamle yok!"), "undo error");
-        }
+            // 2 hamle geri al (her iki oyuncunun da son hamlesini)
+            if (moveHistory.size() >= 2) {
+                // NOT: Gerçek uygulamada, hamleleri geri almak için özel bir mekanizma gerekir.
+                // Bu örnek kodu basitleştirmek için sadece tahta durumunu yeniden oluşturacağız.
+                LOGGER.log(Level.INFO, "Undo accepted: Removing last 2 moves");
+
+                // Son 2 hamleyi sil
+                moveHistory.remove(moveHistory.size() - 1);
+                moveHistory.remove(moveHistory.size() - 1);
+
+                // TODO: Tahtayı yeniden oluştur (gerçek uygulamada)
+                // Tüm oyunculara bildir
+                sendToClient(black, new Message(Message.Type.MSG_FROM_CLIENT,
+                        "System: Son iki hamle geri alındı."),
+                        "undo notification");
+                sendToClient(white, new Message(Message.Type.MSG_FROM_CLIENT,
+                        "System: Son iki hamle geri alındı."),
+                        "undo notification");
+
+                // Tahta ve skor güncelleme
+                broadcastBoard();
+                broadcastScore();
+            } else {
+                sendToClient(from, new Message(Message.Type.ERROR, "Geri alınacak yeterli hamle yok!"), "undo error");
+            }
+        });
     }
 
     /**
      * Undo talebini reddetme işlemi
      *
      * @param from Reddeden oyuncu
-     * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handleUndoReject(SClient from) throws IOException {
-        if (!sessionActive || state.isOver()) {
-            handleInactiveSession(from, "Undo red");
-            return;
-        }
+    public void handleUndoReject(SClient from) {
+        postInput(from, () -> {
+            if (!sessionActive || state.isOver()) {
+                handleInactiveSession(from, "Undo red");
+                return;
+            }
 
-        // Talepte bulunan oyuncu değilse
-        Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-        if (fromColor == state.toPlay()) {
-            sendToClient(from, new Message(Message.Type.ERROR, "Kendi talebinizi reddedemezsiniz!"), "undo error");
-            return;
-        }
+            // Talepte bulunan oyuncu değilse
+            Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+            if (fromColor == state.toPlay()) {
+                sendToClient(from, new Message(Message.Type.ERROR, "Kendi talebinizi reddedemezsiniz!"), "undo error");
+                return;
+            }
 
-        // Talep eden oyuncuya bildir
-        SClient requester = (from == black) ? white : black;
-        sendToClient(requester, new Message(Message.Type.MSG_FROM_CLIENT,
-                "System: Geri alma talebiniz reddedildi."),
-                "undo rejected");
+            // Talep eden oyuncuya bildir
+            SClient requester = (from == black) ? white : black;
+            sendToClient(requester, new Message(Message.Type.MSG_FROM_CLIENT,
+                    "System: Geri alma talebiniz reddedildi."),
+                    "undo rejected");
 
-        // Reddeden oyuncuya onay
-        sendToClient(from, new Message(Message.Type.MSG_FROM_CLIENT,
-                "System: Geri alma talebini reddettiniz."),
-                "undo rejection confirmed");
+            // Reddeden oyuncuya onay
+            sendToClient(from, new Message(Message.Type.MSG_FROM_CLIENT,
+                    "System: Geri alma talebini reddettiniz."),
+                    "undo rejection confirmed");
+        });
     }
 
     /**
      * Oyuncunun pas geçme hamlesini işler
      *
      * @param from Pas geçen oyuncu
-     * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handlePass(SClient from) throws IOException {
-        if (!sessionActive || state.isOver()) {
-            handleInactiveSession(from, "Pas");
-            return;
-        }
+    public void handlePass(SClient from) {
+        postInput(from, () -> {
+            if (!sessionActive || state.isOver()) {
+                handleInactiveSession(from, "Pas");
+                return;
+            }
 
-        // Sıra kontrolü
-        Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-        if (fromColor != state.toPlay()) {
-            LOGGER.log(Level.WARNING, "Client {0} tried to pass out of turn", from.id);
-            sendToClient(from, new Message(Message.Type.ERROR, "Hamle sırası sizde değil!"), "turn error");
-            return;
-        }
+            // Sıra kontrolü
+            Stone fromColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+            if (fromColor != state.toPlay()) {
+                LOGGER.log(Level.WARNING, "Client {0} tried to pass out of turn", from.id);
+                sendToClient(from, new Message(Message.Type.ERROR, "Hamle sırası sizde değil!"), "turn error");
+                return;
+            }
+            if (clock.isFlagged(fromColor)) {
+                timeOut(fromColor);
+                return;
+            }
 
-        // Pas geç
-        MoveResult result = state.pass();
+            // Pas geç
+            MoveResult result = state.pass();
 
-        if (result.valid) {
-            LOGGER.log(Level.INFO, "Client {0} passed.", from.id);
+            if (result.valid) {
+                LOGGER.log(Level.INFO, "Client {0} passed.", from.id);
 
-            // Hamle geçişinde zamanlayıcıları değiştir
-            if (fromColor == Stone.BLACK) {
-                blackTimer.stop();
-                whiteTimer.start();
-            } else {
-                whiteTimer.stop();
-                blackTimer.start();
-            }
+                // Hamle geçişinde saati rakibe geçir
+                pressClock();
 
-            // Pas sonrası tahta ve skor güncelleme
-            broadcastBoard();
-            broadcastScore();
+                // Pas sonrası tahta ve skor güncelleme
+                broadcastBoard();
+                broadcastScore();
 
-            // Süre durumunu güncelle
-            sendTimerStatus();
+                // Süre durumunu güncelle
+                broadcastClock();
+                sendTimerStatus();
 
-            // Oyun bitti mi kontrol et (iki pas üst üste)
-            if (state.isOver()) {
-                finish("İki oyuncu da pas geçti.");
+                // Oyun bitti mi kontrol et (iki pas üst üste)
+                if (state.isOver()) {
+                    finish(null, "İki oyuncu da pas geçti.");
+                }
+            } else {
+                sendToClient(from, new Message(Message.Type.ERROR, "Pas geçilemedi: " + result.message), "pass error");
             }
-        } else {
-            sendToClient(from, new Message(Message.Type.ERROR, "Pas geçilemedi: " + result.message), "pass error");
-        }
+        });
     }
 
     /**
      * Oyuncunun istifa (teslim olma) hamlesini işler
      *
      * @param from İstifa eden oyuncu
-     * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handleResign(SClient from) throws IOException {
-        if (!sessionActive || state.isOver()) {
-            handleInactiveSession(from, "Pes");
-            return;
-        }
+    public void handleResign(SClient from) {
+        post(() -> {
+            // Geri dönüşte yerine yeni bağlantı geçmiş eski bağlantı
+            if (from != black && from != white) {
+                return;
+            }
+            if (!sessionActive || state.isOver()) {
+                handleInactiveSession(from, "Pes");
+                return;
+            }
 
-        Stone resignerColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-        LOGGER.log(Level.INFO, "Client {0} ({1}) resigned.", new Object[]{from.id, resignerColor});
+            Stone resignerColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+            LOGGER.log(Level.INFO, "Client {0} ({1}) resigned.", new Object[]{from.id, resignerColor});
 
-        // Zamanlayıcıları durdur
-        blackTimer.stop();
-        whiteTimer.stop();
-
-        state.resign();
-        finish(resignerColor + " pes etti.");
+            state.resign();
+            finish(resignerColor.opponent(), resignerColor + " pes etti.");
+        });
     }
 
     /**
@@ -557,47 +745,50 @@ public synchronized void handleMove(SClient from, String payload) throws IOExcep
      *
      * @param from Mesajı gönderen oyuncu
      * @param message Mesaj içeriği
-     * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handleChat(SClient from, String message) throws IOException {
-        if (!sessionActive) {
-            handleInactiveSession(from, "Sohbet");
-            return;
-        }
+    public void handleChat(SClient from, String message) {
+        postInput(from, () -> {
+            if (!sessionActive) {
+                handleInactiveSession(from, "Sohbet");
+                return;
+            }
 
-        Stone senderColor = (from == black) ? Stone.BLACK : Stone.WHITE;
-        String formattedMessage = senderColor + ": " + message;
-        Message chatMsg = new Message(Message.Type.MSG_FROM_CLIENT, formattedMessage);
+            Stone senderColor = (from == black) ? Stone.BLACK : Stone.WHITE;
+            String formattedMessage = senderColor + ": " + message;
+            Frame chatMsg = Frame.of(new Message(Message.Type.MSG_FROM_CLIENT, formattedMessage));
 
-        // Her iki oyuncuya da gönder
-        sendToClient(black, chatMsg, "chat to black");
-        sendToClient(white, chatMsg, "chat to white");
-        LOGGER.log(Level.INFO, "Chat relayed from {0}: {1}", new Object[]{from.id, message});
+            // Her iki oyuncuya da gönder
+            sendToClient(black, chatMsg, "chat to black");
+            sendToClient(white, chatMsg, "chat to white");
+            LOGGER.log(Level.INFO, "Chat relayed from {0}: {1}", new Object[]{from.id, message});
+        });
     }
 
     /**
-     * Oyunu bitirir ve sonuçları bildirir
+     * Oyunu bitirir, sonuçları bildirir ve oyuncuların puanlarını günceller
      *
+     * @param winner Kazanan; null ise skora göre belirlenir
      * @param reason Bitiş sebebi
      * @throws IOException İletişim hatası olursa
      */
-    private void finish(String reason) throws IOException {
+    private void finish(Stone winner, String reason) throws IOException {
         if (!sessionActive) {
             return;
         }
 
         // Oturumu pasif yap
         sessionActive = false;
+        endResumeWindow();
 
         // Zamanlayıcıları durdur
-        blackTimer.stop();
-        whiteTimer.stop();
+        stopClocks();
 
         // Skor ve bitiş mesajı
-        int sb = state.scoreFor(Stone.BLACK);
-        int sw = state.scoreFor(Stone.WHITE);
+        GameSnapshot snap = state.snapshot();
+        int sb = snap.getBlackScore();
+        int sw = snap.getWhiteScore();
         String result = sb + "," + sw + "," + reason;
-        var endMessage = new Message(Message.Type.GAME_OVER, result);
+        var endMessage = Frame.of(new Message(Message.Type.GAME_OVER, result));
 
         LOGGER.log(Level.INFO, "Game Over. Reason: {0}. Score B/W: {1}/{2}", new Object[]{reason, sb, sw});
 
@@ -618,45 +809,111 @@ public synchronized void handleMove(SClient from, String payload) throws IOExcep
             LOGGER.log(Level.WARNING, "Cannot send game over to white", e);
         }
 
-        // Oyun kaydını tamamla
+        // Oyun kaydını tamamla; doğrulama ve disk yazması döngüyü bekletmez.
+        // Oturum bittiği için kayıt bundan sonra değişmez.
         if (recorder != null) {
             recorder.markGameFinished();
-            recorder.verifyRecordedMoves();
-
-            // İsteğe bağlı: Oyun kayıtlarını kaydet
             String sgfPath = "games/game_" + black.id + "_vs_" + white.id + "_"
                     + System.currentTimeMillis() + ".sgf";
-            recorder.saveToSgf(sgfPath);
-            LOGGER.log(Level.INFO, "Game record saved to {0}", sgfPath);
+            server.saveRecord(() -> {
+                recorder.verifyRecordedMoves();
+                if (recorder.saveToSgf(sgfPath)) {
+                    LOGGER.log(Level.INFO, "Game record saved to {0}", sgfPath);
+                }
+            });
         }
 
+        // Puanları güncelle
+        double blackResult = winner != null ? (winner == Stone.BLACK ? 1 : 0)
+                : sb > sw ? 1 : sb < sw ? 0 : 0.5;
+        server.recordResult(black, white, blackResult);
+
         // Sunucuya oyunun bittiğini bildir
         server.gameEnded(black, white);
     }
 
     /**
-     * Bir oyuncunun bağlantısının koptuğunu işler
+     * Oyunun son yayınlanan değişmez görüntüsünü döndürür.
+     * <p>
+     * Oturumun döngüsüne iş bırakmaz; izleyiciler ve analiz işleri hamle işlemeyi
+     * bekletmeden herhangi bir thread'den okuyabilir.
+     * </p>
+     *
+     * @return Son görüntü
+     */
+    public GameSnapshot snapshot() {
+        return state.snapshot();
+    }
+
+    /**
+     * Bir oyuncunun bağlantısının koptuğunu işler. Oyuncu geri dönüşü
+     * destekliyorsa oyun hemen bitirilmez: {@link #RESUME_GRACE_MS} boyunca
+     * yeni bir bağlantıyla dönmesi beklenir, saati bu sırada işlemeye devam
+     * eder. Aksi halde oyuncu hükmen kaybeder.
      *
      * @param disconnectedClient Bağlantısı kopan oyuncu
-     * @throws IOException İletişim hatası olursa
      */
-    public synchronized void handleDisconnect(SClient disconnectedClient) throws IOException {
-        if (!sessionActive) {
-            return;
-        }
+    public void handleDisconnect(SClient disconnectedClient) {
+        post(() -> {
+            // Geri dönüşte yerine yeni bağlantı geçmiş eski bağlantı
+            if (!sessionActive || (disconnectedClient != black && disconnectedClient != white)) {
+                return;
+            }
+
+            Stone disconnectedColor = (disconnectedClient == black) ? Stone.BLACK : Stone.WHITE;
+            SClient opponent = (disconnectedClient == black) ? white : black;
+
+            if (absent == null && RESUME_GRACE_MS > 0 && !state.isOver()
+                    && disconnectedClient.hasFeature(Protocol.FEATURE_RESUME)) {
+                absent = disconnectedColor;
+                graceTimeout = server.scheduler().schedule(() -> expireResumeWindow(disconnectedColor),
+                        RESUME_GRACE_MS, TimeUnit.MILLISECONDS);
+                LOGGER.log(Level.INFO, "Client {0} ({1}) disconnected, waiting {2} ms for resume",
+                        new Object[]{disconnectedClient.id, disconnectedColor, RESUME_GRACE_MS});
+                try {
+                    sendToClient(opponent, new Message(Message.Type.MSG_FROM_CLIENT,
+                            "System: Rakibin bağlantısı koptu, " + RESUME_GRACE_MS / 1000 + " saniye geri dönmesi bekleniyor."),
+                            "opponent disconnected");
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Error notifying opponent about disconnect", e);
+                }
+                return;
+            }
 
-        Stone disconnectedColor = (disconnectedClient == black) ? Stone.BLACK : Stone.WHITE;
-        SClient opponent = (disconnectedClient == black) ? white : black;
+            abandon(disconnectedClient, opponent, disconnectedColor);
+        });
+    }
 
+    /**
+     * Geri dönüş süresi dolduğunda oyuncu hala yoksa oyunu bitirir
+     */
+    private void expireResumeWindow(Stone color) {
+        post(() -> {
+            if (!sessionActive || absent != color) {
+                return;
+            }
+            LOGGER.log(Level.INFO, "{0} did not resume in time", color);
+            try {
+                abandon(color == Stone.BLACK ? black : white, color == Stone.BLACK ? white : black, color);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error ending abandoned game", e);
+            }
+        });
+    }
+
+    /**
+     * Bağlantısı kopan oyuncunun oyunu hükmen kaybetmesini sağlar
+     */
+    private void abandon(SClient disconnectedClient, SClient opponent, Stone disconnectedColor) throws IOException {
         LOGGER.log(Level.WARNING, "Client {0} ({1}) disconnected during active game.",
                 new Object[]{disconnectedClient.id, disconnectedColor});
 
         // Zamanlayıcıları durdur
-        blackTimer.stop();
-        whiteTimer.stop();
+        stopClocks();
 
         // Oturumu bitir
         sessionActive = false;
+        endResumeWindow();
 
         // Oyunu bitir
         if (!state.isOver()) {
@@ -666,9 +923,8 @@ public synchronized void handleMove(SClient from, String payload) throws IOExcep
         // Sadece hala bağlı olan rakibe bilgi gönder
         if (opponent != null && opponent.isConnected()) {
             try {
-                int sb = state.scoreFor(Stone.BLACK);
-                int sw = state.scoreFor(Stone.WHITE);
-                String result = sb + "," + sw + "," + disconnectedColor + " bağlantısı koptu.";
+                GameSnapshot snap = state.snapshot();
+                String result = snap.getBlackScore() + "," + snap.getWhiteScore() + "," + disconnectedColor + " bağlantısı koptu.";
                 opponent.send(new Message(Message.Type.GAME_OVER, result));
             } catch (IOException e) {
                 LOGGER.log(Level.WARNING, "Error sending disconnect notification to opponent", e);
@@ -680,12 +936,104 @@ public synchronized void handleMove(SClient from, String payload) throws IOExcep
             recorder.markGameFinished();
         }
 
+        // Oyunu terk eden kaybetmiş sayılır
+        server.recordResult(black, white, disconnectedColor == Stone.BLACK ? 0 : 1);
+
         // Sunucuya oyunun bittiğini bildir
         server.gameEnded(black, white);
     }
 
     /**
-     * Tahta durumunu her iki oyuncuya da gönderir
+     * Bağlantısı kopmuş oyuncuyu yeni bağlantısıyla oyuna geri bağlar ve ona
+     * oyunun tamamını tek bir RESUME_STATE mesajında gönderir. Eski bağlantı
+     * hala açık görünüyorsa kapatılır.
+     *
+     * Oyun bu arada bittiyse istemciye boş RESUME_STATE gönderilir.
+     *
+     * @param client Yeni bağlantı
+     * @param color Geri dönen oyuncunun rengi
+     */
+    public void reattach(SClient client, Stone color) {
+        post(() -> {
+            if (!sessionActive || state.isOver()) {
+                client.send(new Message(Message.Type.RESUME_STATE, ""));
+                return;
+            }
+
+            SClient previous = color == Stone.BLACK ? black : white;
+            if (color == Stone.BLACK) {
+                black = client;
+            } else {
+                white = client;
+            }
+            client.bindSession(this);
+            client.setRating(previous.getRating());
+            previous.clearSession();
+            if (absent == color) {
+                absent = null;
+                if (graceTimeout != null) {
+                    graceTimeout.cancel(false);
+                    graceTimeout = null;
+                }
+            } else {
+                // Eski bağlantının koptuğu sunucuda henüz fark edilmedi (yarı açık
+                // soket); anahtar sahibi yeni bağlantı onun yerine geçer
+                previous.closeConnection();
+            }
+
+            LOGGER.log(Level.INFO, "Client {0} resumed as {1} (was client {2})",
+                    new Object[]{client.id, color, previous.id});
+            sendToClient(client, new Message(Message.Type.RESUME_STATE, resumeStatePayload(color)), "resume state");
+            if (client.hasFeature(Protocol.FEATURE_CLOCK)) {
+                sendToClient(client, new Message(Message.Type.CLOCK, clock.toPayload()), "clock");
+            } else {
+                startTimerUpdates();
+            }
+            sendResumeToken(client, color);
+            sendToClient(color == Stone.BLACK ? white : black,
+                    new Message(Message.Type.MSG_FROM_CLIENT, "System: Rakip oyuna geri döndü."), "opponent resumed");
+        });
+    }
+
+    /**
+     * RESUME_STATE yükünü oluşturur:
+     * "rol,seq,hamleNo,sıra,siyahSkor,beyazSkor,siyahSn,beyazSn,paketliTahta".
+     */
+    private String resumeStatePayload(Stone color) {
+        GameSnapshot snap = state.snapshot();
+        return color + "," + boardSeq + "," + snap.getMoveNumber() + "," + snap.toPlay().code()
+                + "," + snap.getBlackScore() + "," + snap.getWhiteScore()
+                + "," + clock.secondsRemaining(Stone.BLACK) + "," + clock.secondsRemaining(Stone.WHITE)
+                + "," + BoardSerializer.toPacked(state.board());
+    }
+
+    /**
+     * Geri dönüşü destekleyen oyuncuya yeni bir oturum anahtarı gönderir
+     */
+    private void sendResumeToken(SClient client, Stone color) throws IOException {
+        if (client.hasFeature(Protocol.FEATURE_RESUME)) {
+            String token = server.issueResumeToken(this, color);
+            resumeTokens.add(token);
+            sendToClient(client, new Message(Message.Type.SESSION_TOKEN, token), "session token");
+        }
+    }
+
+    /**
+     * Geri dönüş beklemesini ve oturumun anahtarlarını sonlandırır
+     */
+    private void endResumeWindow() {
+        absent = null;
+        if (graceTimeout != null) {
+            graceTimeout.cancel(false);
+            graceTimeout = null;
+        }
+        server.revokeResumeTokens(resumeTokens);
+        resumeTokens.clear();
+    }
+
+    /**
+     * Tahta durumunu her iki oyuncuya da gönderir. Fark destekleyen istemciler
+     * anahtar kare, diğerleri JSON tahta alır.
      *
      * @throws IOException İletişim hatası olursa
      */
@@ -694,11 +1042,142 @@ public synchronized void handleMove(SClient from, String payload) throws IOExcep
             return;
         }
 
-        var json = BoardSerializer.toJson(state.board());
-        var boardMessage = new Message(Message.Type.BOARD_STATE, json);
+        Frame[] cache = new Frame[3];
+        movesSinceKeyframe = 0;
 
-        sendToClient(black, boardMessage, "board to black");
-        sendToClient(white, boardMessage, "board to white");
+        sendToClient(black, boardMessageFor(black, cache), "board to black");
+        sendToClient(white, boardMessageFor(white, cache), "board to white");
+    }
+
+    /**
+     * İstemcinin anlaştığı özelliklere göre tam tahta mesajını döndürür: eski
+     * istemciye JSON BOARD_STATE, fark destekleyene anahtar kare (paketli ya da
+     * JSON). Her biçim bir kez oluşturulup kodlanır ve önbellekte paylaşılır.
+     *
+     * @param client Alıcı
+     * @param cache [JSON, JSON anahtar kare, paketli anahtar kare] önbelleği
+     * @return Gönderilecek çerçeve
+     */
+    private Frame boardMessageFor(SClient client, Frame[] cache) {
+        if (!client.hasFeature(Protocol.FEATURE_DELTA)) {
+            if (cache[0] == null) {
+                cache[0] = Frame.of(new Message(Message.Type.BOARD_STATE, BoardSerializer.toJson(state.board())));
+            }
+            return cache[0];
+        }
+        if (client.hasFeature(Protocol.FEATURE_PACKED)) {
+            if (cache[2] == null) {
+                cache[2] = Frame.of(new Message(Message.Type.BOARD_KEYFRAME, boardSeq + "," + BoardSerializer.toPacked(state.board())));
+            }
+            return cache[2];
+        }
+        if (cache[1] == null) {
+            cache[1] = Frame.of(new Message(Message.Type.BOARD_KEYFRAME, boardSeq + "," + BoardSerializer.toJson(state.board())));
+        }
+        return cache[1];
+    }
+
+    /**
+     * Bir hamlenin sonucunu (tahta, skor, sıra, süreler) gönderir.
+     * <p>
+     * {@link Protocol#FEATURE_BUNDLE} anlaşılmış istemciler hepsini tek bir
+     * MOVE_APPLIED mesajında alır. Diğerleri tahta, skor ve süreyi ayrı
+     * mesajlarla alır: fark destekleyenler sadece konan ve esir alınan taşları,
+     * eski istemciler JSON tahtayı. Her {@link #KEYFRAME_INTERVAL} hamlede bir
+     * fark destekleyen istemcilere tam tahta da gönderilir.
+     * </p>
+     *
+     * @param p Konan taşın yeri
+     * @param color Konan taşın rengi
+     * @throws IOException İletişim hatası olursa
+     */
+    private void broadcastMoveApplied(Point p, Stone color) throws IOException {
+        if (!sessionActive) {
+            return;
+        }
+
+        boardSeq++;
+        boolean keyframeDue = ++movesSinceKeyframe >= KEYFRAME_INTERVAL;
+        if (keyframeDue) {
+            movesSinceKeyframe = 0;
+        }
+
+        Frame[] boards = new Frame[3];
+        Frame bundle = null;
+        Frame delta = null;
+        Frame score = null;
+        for (SClient client : new SClient[]{black, white}) {
+            boolean hasDelta = client.hasFeature(Protocol.FEATURE_DELTA);
+            if (hasDelta && client.hasFeature(Protocol.FEATURE_BUNDLE)) {
+                if (bundle == null) {
+                    bundle = Frame.of(new Message(Message.Type.MOVE_APPLIED, moveAppliedPayload(p, color)));
+                }
+                sendToClient(client, bundle, "move applied");
+                if (keyframeDue) {
+                    sendToClient(client, boardMessageFor(client, boards), "board keyframe");
+                }
+                continue;
+            }
+
+            // Ayrı mesajlar: tahta, skor, süre
+            if (hasDelta && !keyframeDue) {
+                if (delta == null) {
+                    StringBuilder sb = new StringBuilder(32);
+                    sb.append(boardSeq).append(',').append(color.code()).append(',')
+                            .append(p.x()).append(',').append(p.y());
+                    appendCaptured(sb);
+                    delta = Frame.of(new Message(Message.Type.BOARD_DELTA, sb.toString()));
+                }
+                sendToClient(client, delta, "board delta");
+            } else {
+                sendToClient(client, boardMessageFor(client, boards), "board");
+            }
+            if (score == null) {
+                score = scoreFrame();
+            }
+            sendToClient(client, score, "score");
+            if (!client.hasFeature(Protocol.FEATURE_CLOCK)) {
+                sendToClient(client, timerMessageFor(client), "timer");
+            }
+        }
+    }
+
+    /**
+     * MOVE_APPLIED yükünü oluşturur:
+     * "seq,renk,x,y,siyahSkor,beyazSkor,sıra,siyahSn,beyazSn,cx1,cy1,...".
+     * Süreler saniye cinsinden kalan süredir; renk ve sıra {@link Stone#code()}.
+     */
+    private String moveAppliedPayload(Point p, Stone color) {
+        GameSnapshot snap = state.snapshot();
+        StringBuilder sb = new StringBuilder(48);
+        sb.append(boardSeq).append(',').append(color.code()).append(',')
+                .append(p.x()).append(',').append(p.y()).append(',')
+                .append(snap.getBlackScore()).append(',').append(snap.getWhiteScore()).append(',')
+                .append(snap.toPlay().code()).append(',')
+                .append(clock.secondsRemaining(Stone.BLACK)).append(',').append(clock.secondsRemaining(Stone.WHITE));
+        appendCaptured(sb);
+        return sb.toString();
+    }
+
+    private void appendCaptured(StringBuilder sb) {
+        for (Point c : state.board().getLastCaptured()) {
+            sb.append(',').append(c.x()).append(',').append(c.y());
+        }
+    }
+
+    /**
+     * İstemcinin tam tahta isteğini (sıra numarası boşluğu sonrası) yanıtlar.
+     *
+     * @param from İsteyen oyuncu
+     */
+    public void handleResync(SClient from) {
+        postInput(from, () -> {
+            if (!sessionActive) {
+                return;
+            }
+            LOGGER.log(Level.FINE, "Client {0} requested board resync", from.id);
+            sendToClient(from, boardMessageFor(from, new Frame[3]), "board resync");
+        });
     }
 
     /**
@@ -709,18 +1188,23 @@ public synchronized void handleMove(SClient from, String payload) throws IOExcep
 private void broadcastScore() throws IOException {
     if (!sessionActive) return;
     
-    int blackPoints = state.scoreFor(Stone.BLACK);
-    int whitePoints = state.scoreFor(Stone.WHITE);
-    String turn = state.toPlay().toString();
-    
-    // Her iki oyuncu için de tutarlı bir formatta skor gönder
-    // Format: "BLACK_SCORE,WHITE_SCORE,TURN"
-    String scoreMessage = blackPoints + "," + whitePoints + "," + turn;
-    Message scoreMsg = new Message(Message.Type.SCORE, scoreMessage);
+    Frame scoreMsg = scoreFrame();
     
     sendToClient(black, scoreMsg, "score to black");
     sendToClient(white, scoreMsg, "score to white");
 }
+
+    /**
+     * Her iki oyuncu için ortak skor çerçevesini oluşturur
+     *
+     * @return "BLACK_SCORE,WHITE_SCORE,TURN" biçiminde SCORE çerçevesi
+     */
+    private Frame scoreFrame() {
+        // Skorlar hamle sırasında bir kez hesaplanıp görüntüde yayınlandı
+        GameSnapshot snap = state.snapshot();
+        String scoreMessage = snap.getBlackScore() + "," + snap.getWhiteScore() + "," + snap.toPlay();
+        return Frame.of(new Message(Message.Type.SCORE, scoreMessage));
+    }
 /**
      * Mesaj gönderme için yardımcı metod (hata yakalama ile)
      *
@@ -730,6 +1214,19 @@ private void broadcastScore() throws IOException {
      * @throws IOException Mesaj gönderme hatası olursa
      */
     private void sendToClient(SClient client, Message message, String description) throws IOException {
+        sendToClient(client, Frame.of(message), description);
+    }
+
+    /**
+     * Önceden kodlanmış çerçeve gönderme için yardımcı metod (hata yakalama ile).
+     * Yayınlarda aynı çerçeve tüm alıcılara verilir; her biçim bir kez kodlanır.
+     *
+     * @param client Çerçevenin gönderileceği istemci
+     * @param frame Gönderilecek çerçeve
+     * @param description İşlem açıklaması (log için)
+     * @throws IOException Gönderme hatası olursa
+     */
+    private void sendToClient(SClient client, Frame frame, String description) throws IOException {
         if (client == null || !sessionActive) {
             return;
         }
@@ -742,7 +1239,7 @@ private void broadcastScore() throws IOException {
         }
 
         try {
-            client.send(message);
+            client.send(frame);
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "IOException sending " + description + " to client " + client.id, e);
             throw e; // Yeniden fırlat, böylece üst metot gerekirse handleDisconnect'i çağırabilir
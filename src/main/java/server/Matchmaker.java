@@ -0,0 +1,489 @@
+package server;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Puana göre eşleştirme: kilitsiz gelen kutuları, puan sıralı bekleme
+ * dizinleri ve tek eşleştirici döngü.
+ * <p>
+ * İstemci thread'leri biletlerini konfigürasyonun çok üreticili, tek
+ * tüketicili gelen kutusuna bırakır ya da iptal eder; hiçbiri kilit almaz.
+ * Gelen kutularını ve bekleme dizinlerini yalnızca eşleştirici döngü kullanır.
+ * Her konfigürasyonun dizini biletleri puana göre sıralı tutar (ağaç); gelen
+ * bilet dizindeki en yakın puanlı iki komşusuyla O(log n) karşılaştırılır.
+ * </p>
+ * <p>
+ * Bir biletin kabul ettiği puan farkı (pencere) bekledikçe genişler:
+ * {@code go.match.baseWindow} (varsayılan 100) + saniye başına
+ * {@code go.match.windowGrowth} (varsayılan 25). İki bilet, farkları
+ * pencerelerinden en az birine sığıyorsa eşleşir; bu yüzden uzun bekleyen bir
+ * oyuncu sonunda mutlaka eşleşir. Pencereler zamanla genişlediğinden döngü
+ * belirli aralıklarla ({@code go.match.sweepMillis}, varsayılan 500 ms)
+ * bekleyenleri en eskiden başlayarak yeniden dener.
+ * </p>
+ * <p>
+ * İptal edilen (bağlantısı kopan) biletler dizinden hemen silinmez; döngü
+ * onlara rastladığında atar. Eşleşme süreleri (bilet bırakılmasından eşleşmeye)
+ * ölçülür ve p50/p99 olarak raporlanır.
+ * </p>
+ * <p>
+ * Sunucuda istemci tipi {@link SClient}'tır. Saat ve eşleştirici yürütücü
+ * dışarıdan verilebilir; bu durumda periyodik tarama kurulmaz, turları
+ * çağıranın {@link #wake()} ile başlatması gerekir.
+ * </p>
+ *
+ * @param <C> Eşleştirilen istemci tipi
+ */
+public final class Matchmaker<C> {
+
+    private static final Logger LOGGER = Logger.getLogger(Matchmaker.class.getName());
+
+    private static final double BASE_WINDOW = Integer.getInteger("go.match.baseWindow", 100);
+    private static final double WINDOW_GROWTH = Integer.getInteger("go.match.windowGrowth", 25);
+    private static final long SWEEP_MILLIS = Integer.getInteger("go.match.sweepMillis", 500);
+
+    /**
+     * Eşleşen iki istemciyi oyuna alan işlem.
+     */
+    public interface Pairing<C> {
+        /**
+         * @param first Daha uzun bekleyen istemci
+         * @param second Diğer istemci
+         * @param configId Konfigürasyon ID'si
+         */
+        void pair(C first, C second, int configId);
+    }
+
+    /**
+     * Bir istemcinin bekleme kaydı. Eşleştirici ve iptal, bileti tek bir
+     * karşılaştır-değiştir ile sahiplenir; ikisinden yalnızca biri kazanır.
+     */
+    private static final class Ticket<C> {
+        final C client;
+        final Queue<C> queue;
+        final double rating;
+        final long enqueuedNanos;
+        final long seq;
+        final AtomicBoolean claimed = new AtomicBoolean();
+
+        Ticket(C client, Queue<C> queue, double rating, long enqueuedNanos) {
+            this.client = client;
+            this.queue = queue;
+            this.rating = rating;
+            this.enqueuedNanos = enqueuedNanos;
+            this.seq = queue.seqs.incrementAndGet();
+        }
+
+        boolean claim() {
+            if (claimed.compareAndSet(false, true)) {
+                queue.size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return Bu anda kabul edilen en büyük puan farkı
+         */
+        double window(long now) {
+            return BASE_WINDOW + WINDOW_GROWTH * (now - enqueuedNanos) / 1e9;
+        }
+    }
+
+    // Eşit puanlılar geliş sırasıyla
+    private static final Comparator<Ticket<?>> BY_RATING =
+            Comparator.<Ticket<?>>comparingDouble(t -> t.rating).thenComparingLong(t -> t.seq);
+
+    /**
+     * Bir konfigürasyonun gelen kutusu ve bekleme dizini.
+     */
+    private static final class Queue<C> {
+        final int configId;
+        final ConcurrentLinkedQueue<Ticket<C>> inbox = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicLong seqs = new AtomicLong();
+        // Dizinleri yalnızca eşleştirici döngü kullanır
+        final TreeSet<Ticket<C>> byRating = new TreeSet<>(BY_RATING);
+        final ArrayDeque<Ticket<C>> byAge = new ArrayDeque<>();
+
+        Queue(int configId) {
+            this.configId = configId;
+        }
+    }
+
+    private final Map<Integer, Queue<C>> queues = new ConcurrentHashMap<>();
+    private final Map<C, Ticket<C>> waiting = new ConcurrentHashMap<>();
+    private final Predicate<C> usable;
+    private final Pairing<C> pairing;
+    private final LongSupplier clock;
+    private final Executor matcher;
+    private final ScheduledExecutorService ownMatcher; // Kendi thread'imiz yoksa null
+    private final AtomicBoolean wakeup = new AtomicBoolean();
+    private final MatchTimes matchTimes = new MatchTimes();
+    private long lastSweep;
+
+    /**
+     * Kendi eşleştirici thread'i ve periyodik taraması olan eşleştirici.
+     *
+     * @param configIds Geçerli konfigürasyon ID'leri
+     * @param usable Eşleştirilebilir istemci koşulu (bağlı ve oyunda değil)
+     * @param pairing Eşleşen istemcileri oyuna alan işlem; eşleştirici döngüde çalışır
+     */
+    public Matchmaker(Set<Integer> configIds, Predicate<C> usable, Pairing<C> pairing) {
+        this(configIds, usable, pairing, System::nanoTime,
+                Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("Matchmaker").daemon(true).factory()),
+                true);
+    }
+
+    /**
+     * Saati ve turları dışarıdan yönetilen eşleştirici. Periyodik tarama
+     * kurulmaz; pencereler saatle genişler ama yeniden deneme için çağıranın
+     * {@link #wake()} çağırması gerekir.
+     *
+     * @param configIds Geçerli konfigürasyon ID'leri
+     * @param usable Eşleştirilebilir istemci koşulu
+     * @param pairing Eşleşen istemcileri oyuna alan işlem; eşleştirici yürütücüde çalışır
+     * @param clock Nanosaniye saati
+     * @param matcher Turları sırayla çalıştıran yürütücü (aynı anda tek tur)
+     */
+    public Matchmaker(Set<Integer> configIds, Predicate<C> usable, Pairing<C> pairing,
+            LongSupplier clock, Executor matcher) {
+        this(configIds, usable, pairing, clock, matcher, false);
+    }
+
+    private Matchmaker(Set<Integer> configIds, Predicate<C> usable, Pairing<C> pairing,
+            LongSupplier clock, Executor matcher, boolean owned) {
+        for (int id : configIds) {
+            queues.put(id, new Queue<>(id));
+        }
+        this.usable = usable;
+        this.pairing = pairing;
+        this.clock = clock;
+        this.matcher = matcher;
+        this.lastSweep = clock.getAsLong();
+        this.ownMatcher = owned ? (ScheduledExecutorService) matcher : null;
+        if (ownMatcher != null) {
+            ownMatcher.scheduleWithFixedDelay(this::wake, SWEEP_MILLIS, SWEEP_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param configId Konfigürasyon ID'si
+     * @return Konfigürasyon biliniyorsa true
+     */
+    public boolean supports(int configId) {
+        return queues.containsKey(configId);
+    }
+
+    /**
+     * İstemciyi konfigürasyonun gelen kutusuna ekler ve eşleştiriciyi uyandırır.
+     *
+     * @param client İstemci
+     * @param configId Bilinen bir konfigürasyon ID'si
+     * @param rating İstemcinin puanı
+     * @return Konfigürasyonda bekleyen sayısı; istemci zaten bekliyorsa -1
+     */
+    public int enqueue(C client, int configId, double rating) {
+        Queue<C> queue = queues.get(configId);
+        Ticket<C> ticket = new Ticket<>(client, queue, rating, clock.getAsLong());
+        if (waiting.putIfAbsent(client, ticket) != null) {
+            return -1;
+        }
+        int size = queue.size.incrementAndGet();
+        queue.inbox.offer(ticket);
+        wake();
+        return size;
+    }
+
+    /**
+     * İstemcinin bekleyen biletini iptal eder; bilet dizinde kalır ve
+     * eşleştirici tarafından atlanır.
+     *
+     * @param client İstemci
+     * @return Bekleyen bir bilet iptal edildiyse true
+     */
+    public boolean cancel(C client) {
+        Ticket<C> ticket = waiting.remove(client);
+        return ticket != null && ticket.claim();
+    }
+
+    /**
+     * Eşleştirici döngüye bir tur ekler; tur zaten bekliyorsa bir şey yapmaz.
+     */
+    public void wake() {
+        if (wakeup.compareAndSet(false, true)) {
+            try {
+                matcher.execute(this::matchAll);
+            } catch (RejectedExecutionException e) {
+                // Sunucu kapanıyor
+            }
+        }
+    }
+
+    /**
+     * @param client İstemci
+     * @return İstemcinin bekleyen bileti varsa true
+     */
+    public boolean isWaiting(C client) {
+        return waiting.containsKey(client);
+    }
+
+    /**
+     * @param configId Konfigürasyon ID'si
+     * @return Konfigürasyonda bekleyen istemci sayısı
+     */
+    public int waitingCount(int configId) {
+        Queue<C> queue = queues.get(configId);
+        return queue == null ? 0 : queue.size.get();
+    }
+
+    /**
+     * @return Tüm konfigürasyonlarda bekleyen istemci sayısı
+     */
+    public int waitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * @return Eşleşme sayısı ve eşleşme süresi yüzdelikleri
+     */
+    public String summary() {
+        return matchTimes.summary();
+    }
+
+    /**
+     * @param p Yüzdelik (0-1 arası)
+     * @return Oyuncu başına eşleşme süresinin yüzdeliği (ms; kovanın üst
+     *         sınırı, gerçek değerden en fazla ~%19 büyük), eşleşme yoksa -1
+     */
+    public long percentileMillis(double p) {
+        return matchTimes.percentile(p);
+    }
+
+    /**
+     * Kendi eşleştirici thread'ini durdurur; dışarıdan verilen yürütücüye dokunmaz.
+     */
+    public void shutdown() {
+        if (ownMatcher != null) {
+            ownMatcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Gelen biletleri dizine alır; zamanı geldiyse bekleyenleri genişlemiş
+     * pencereleriyle yeniden dener.
+     */
+    private void matchAll() {
+        // Tur başlamadan bayrak indirilir: tur sırasında gelen bilet yeni bir tur ister
+        wakeup.set(false);
+        long now = clock.getAsLong();
+        boolean sweep = now - lastSweep >= TimeUnit.MILLISECONDS.toNanos(SWEEP_MILLIS);
+        for (Queue<C> queue : queues.values()) {
+            Ticket<C> arrival;
+            while ((arrival = queue.inbox.poll()) != null) {
+                if (isLive(arrival)) {
+                    place(queue, arrival, now);
+                } else {
+                    drop(arrival);
+                }
+            }
+            if (sweep) {
+                sweep(queue, now);
+            }
+        }
+        if (sweep) {
+            lastSweep = now;
+        }
+    }
+
+    /**
+     * Bileti en yakın puanlı komşusuyla eşler ya da dizine ekler.
+     */
+    private void place(Queue<C> queue, Ticket<C> ticket, long now) {
+        Ticket<C> partner = nearest(queue, ticket, now);
+        if (partner == null) {
+            queue.byRating.add(ticket);
+            queue.byAge.add(ticket);
+            return;
+        }
+        queue.byRating.remove(partner);
+        match(queue, partner, ticket);
+    }
+
+    /**
+     * Bekleyenleri en eskiden başlayarak genişlemiş pencereleriyle yeniden
+     * dener; ölü biletleri atar.
+     */
+    private void sweep(Queue<C> queue, long now) {
+        Iterator<Ticket<C>> it = queue.byAge.iterator();
+        while (it.hasNext()) {
+            Ticket<C> ticket = it.next();
+            if (!isLive(ticket)) {
+                it.remove();
+                queue.byRating.remove(ticket);
+                drop(ticket);
+                continue;
+            }
+            Ticket<C> partner = nearest(queue, ticket, now);
+            if (partner != null) {
+                // Eş byAge içinde kalır; sahiplenildiği için sırası gelince atılır
+                it.remove();
+                queue.byRating.remove(ticket);
+                queue.byRating.remove(partner);
+                match(queue, ticket, partner);
+            }
+        }
+    }
+
+    /**
+     * Dizinde bilete en yakın puanlı canlı bileti bulur; yoldaki ölü biletler
+     * atılır.
+     *
+     * @return Pencerelerden birine sığan en yakın bilet, yoksa null
+     */
+    private Ticket<C> nearest(Queue<C> queue, Ticket<C> ticket, long now) {
+        Ticket<C> lower = queue.byRating.lower(ticket);
+        while (lower != null && !isLive(lower)) {
+            queue.byRating.remove(lower);
+            drop(lower);
+            lower = queue.byRating.lower(ticket);
+        }
+        Ticket<C> higher = queue.byRating.higher(ticket);
+        while (higher != null && !isLive(higher)) {
+            queue.byRating.remove(higher);
+            drop(higher);
+            higher = queue.byRating.higher(ticket);
+        }
+        Ticket<C> best = lower;
+        if (best == null || (higher != null && higher.rating - ticket.rating < ticket.rating - best.rating)) {
+            best = higher;
+        }
+        if (best == null) {
+            return null;
+        }
+        double gap = Math.abs(best.rating - ticket.rating);
+        return gap <= Math.max(ticket.window(now), best.window(now)) ? best : null;
+    }
+
+    /**
+     * İki bileti sahiplenir ve oyunu başlatır. Biri tam bu sırada iptal
+     * edildiyse diğeri yeni biletle gelen kutusuna döner (tarama sürerken
+     * dizinler değiştirilmez).
+     */
+    private void match(Queue<C> queue, Ticket<C> a, Ticket<C> b) {
+        boolean aClaimed = a.claim();
+        boolean bClaimed = b.claim();
+        if (!aClaimed || !bClaimed) {
+            Ticket<C> survivor = aClaimed ? a : bClaimed ? b : null;
+            if (survivor != null) {
+                Ticket<C> fresh = new Ticket<>(survivor.client, queue, survivor.rating, survivor.enqueuedNanos);
+                if (waiting.replace(survivor.client, survivor, fresh)) {
+                    queue.size.incrementAndGet();
+                    queue.inbox.offer(fresh);
+                    wake();
+                }
+            }
+            return;
+        }
+        waiting.remove(a.client, a);
+        waiting.remove(b.client, b);
+        Ticket<C> first = a.enqueuedNanos <= b.enqueuedNanos ? a : b;
+        Ticket<C> second = first == a ? b : a;
+        long now = clock.getAsLong();
+        matchTimes.record(now - first.enqueuedNanos);
+        matchTimes.record(now - second.enqueuedNanos);
+        try {
+            pairing.pair(first.client, second.client, queue.configId);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error creating match", e);
+        }
+    }
+
+    private boolean isLive(Ticket<C> ticket) {
+        return !ticket.claimed.get() && usable.test(ticket.client);
+    }
+
+    private void drop(Ticket<C> ticket) {
+        ticket.claim();
+        waiting.remove(ticket.client, ticket);
+    }
+
+    /**
+     * Oyuncu başına eşleşme süreleri için üstel kovalı histogram (kova
+     * genişliği ~%19).
+     */
+    private static final class MatchTimes {
+        private static final int SUB_BUCKETS = 4;
+        private final AtomicLongArray buckets = new AtomicLongArray(40 * SUB_BUCKETS);
+
+        void record(long nanos) {
+            double millis = Math.max(nanos / 1e6, 0);
+            int index = (int) Math.ceil(Math.log1p(millis) / Math.log(2) * SUB_BUCKETS);
+            buckets.incrementAndGet(Math.min(index, buckets.length() - 1));
+        }
+
+        /**
+         * @return Kovanın üst sınırı (ms)
+         */
+        private static long millisOf(int index) {
+            return Math.round(Math.expm1(index * Math.log(2) / SUB_BUCKETS));
+        }
+
+        long percentile(double p) {
+            long[] counts = new long[buckets.length()];
+            long total = snapshot(counts);
+            return total == 0 ? -1 : percentile(counts, total, p);
+        }
+
+        private long snapshot(long[] counts) {
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            return total;
+        }
+
+        private static long percentile(long[] counts, long total, double p) {
+            long rank = Math.max(1, (long) Math.ceil(total * p));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return millisOf(i);
+                }
+            }
+            return millisOf(counts.length - 1);
+        }
+
+        String summary() {
+            long[] counts = new long[buckets.length()];
+            long total = snapshot(counts);
+            if (total == 0) {
+                return "no matches";
+            }
+            return total / 2 + " matches, time to match p50 " + percentile(counts, total, 0.50)
+                    + " ms, p99 " + percentile(counts, total, 0.99) + " ms";
+        }
+    }
+}
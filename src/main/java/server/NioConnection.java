@@ -0,0 +1,169 @@
+package server;
+
+import common.Message;
+import common.MessageChannel;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Olay döngüsü kipinde tek bir engellemeyen bağlantının tamponları.
+ * <p>
+ * Giden yön, {@link MessageChannel}'ın yazdığı çıkış akışıdır: bir mesajın
+ * baytları {@code flush()}'a kadar biriktirilir, sonra soket boşsa doğrudan
+ * (engellemeden) yazılır. Soket yazılamadığında kalan kısım kuyruğa alınır ve
+ * OP_WRITE ilgisi açılır; kuyruğu olay döngüsü boşaltır. Kalan yazılana kadar
+ * sonraki mesajlar istemcinin sınırlı {@link Outbox} kuyruğunda bekler, bu
+ * tampon en fazla bir mesajın kalanını tutar.
+ * </p>
+ * <p>
+ * Gelen yön, olay döngüsünün okuduğu ve tamamlanan çerçeveleri
+ * {@link MessageChannel#poll(ByteBuffer)} ile çözdüğü tampondur; tampon küçük
+ * başlar ve yalnızca büyük bir çerçeve geldiğinde büyür.
+ * </p>
+ */
+final class NioConnection extends OutputStream {
+
+    private static final int INITIAL_READ_BUFFER = 512;
+
+    private final SocketChannel socket;
+    private final EventLoop loop;
+    private SelectionKey key;
+
+    // Gelen baytlar (yalnızca olay döngüsü thread'i)
+    private ByteBuffer inbound = ByteBuffer.allocate(INITIAL_READ_BUFFER);
+
+    // Giden yön (this kilidi altında)
+    private byte[] staging = new byte[256];
+    private int staged;
+    private final ArrayDeque<ByteBuffer> outbound = new ArrayDeque<>();
+
+    NioConnection(SocketChannel socket, EventLoop loop) {
+        this.socket = socket;
+        this.loop = loop;
+    }
+
+    SocketChannel socket() {
+        return socket;
+    }
+
+    EventLoop loop() {
+        return loop;
+    }
+
+    /**
+     * Olay döngüsü kayıttan sonra seçim anahtarını bildirir.
+     */
+    void attach(SelectionKey key) {
+        synchronized (this) {
+            this.key = key;
+            if (!outbound.isEmpty()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (staged + len > staging.length) {
+            staging = Arrays.copyOf(staging, Math.max(staging.length * 2, staged + len));
+        }
+        System.arraycopy(b, off, staging, staged, len);
+        staged += len;
+    }
+
+    /**
+     * Biriken mesajı gönderir: sırada bekleyen veri yoksa ve kayıt
+     * tamamlandıysa sokete doğrudan yazılır, sığmayan kısım kuyruğa alınır.
+     *
+     * @throws IOException Soket kapalıysa ya da yazma hatası olursa
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (staged == 0) {
+            return;
+        }
+        ByteBuffer data = ByteBuffer.wrap(staging, 0, staged);
+        staged = 0;
+        if (outbound.isEmpty() && key != null) {
+            socket.write(data);
+            if (!data.hasRemaining()) {
+                return;
+            }
+        }
+        // Tampon bir sonraki mesajda yeniden kullanılacağı için kalan kopyalanır
+        outbound.add(ByteBuffer.wrap(Arrays.copyOfRange(staging, data.position(), data.limit())));
+        if (key != null && key.isValid() && outbound.size() == 1) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            loop.wakeup();
+        }
+    }
+
+    /**
+     * Kuyruktaki baytları yazabildiği kadar yazar (olay döngüsü, OP_WRITE).
+     *
+     * @return Kuyruk tamamen boşaldıysa true
+     * @throws IOException Yazma hatası olursa
+     */
+    synchronized boolean drain() throws IOException {
+        while (!outbound.isEmpty()) {
+            ByteBuffer head = outbound.peek();
+            socket.write(head);
+            if (head.hasRemaining()) {
+                return false;
+            }
+            outbound.poll();
+        }
+        if (key.isValid()) {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+        return true;
+    }
+
+    /**
+     * @return Sokete henüz yazılamamış bayt varsa true
+     */
+    synchronized boolean hasPending() {
+        return !outbound.isEmpty();
+    }
+
+    /**
+     * Soketten okur ve tamamlanan her çerçeveyi istemciye iletir (olay
+     * döngüsü, OP_READ).
+     *
+     * @param channel Bağlantının mesaj kanalı
+     * @param client Mesajları işleyecek istemci
+     * @return Karşı taraf bağlantıyı kapattıysa false
+     * @throws IOException Okuma hatası ya da bozuk çerçeve
+     */
+    boolean read(MessageChannel channel, SClient client) throws IOException {
+        int n = socket.read(inbound);
+        if (n < 0) {
+            return false;
+        }
+        inbound.flip();
+        Message msg;
+        while (client.isConnected() && (msg = channel.poll(inbound)) != null) {
+            client.onMessage(msg);
+        }
+        inbound.compact();
+        if (!inbound.hasRemaining()) {
+            // Tampondan büyük bir çerçeve geliyor
+            if (inbound.capacity() >= MessageChannel.maxFrameLength() + 4) {
+                throw new IOException("Çerçeve tampona sığmıyor");
+            }
+            int capacity = Math.min(inbound.capacity() * 2, MessageChannel.maxFrameLength() + 4);
+            inbound = ByteBuffer.allocate(capacity).put(inbound.flip());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,295 @@
+package server;
+
+import common.Frame;
+import common.Message;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bir istemcinin sınırlı giden mesaj kuyruğu.
+ * <p>
+ * Gönderen thread (oturum döngüsündeki oyun mantığı, zamanlayıcı, diğer
+ * istemciler) mesajı yalnızca kuyruğa bırakır; sokete yazma, istemciye ait
+ * tek bir yazıcı işi tarafından sırayla yapılır. Yavaş ya da takılmış bir
+ * soket bu yüzden oyunu ve saati durduramaz. Yazıcı iş kuyruk boşalınca biter
+ * ve yeni mesajda tekrar başlatılır; boşta bekleyen bağlantı thread tutmaz.
+ * </p>
+ * <p>
+ * Kuyruk dolduğunda sırasıyla: bekleyen tüm TIMER_UPDATE'ler atılır (bir
+ * sonraki saniyede yenisi gelir), gelen mesaj tam durum taşıyorsa onun
+ * geçersiz kıldığı eski mesajlar atılır (yeni tahta eski tahta ve farkları,
+ * yeni skor eski skoru). Yeni tahta bekleyen MOVE_APPLIED'lardan yalnızca
+ * en yenisini bırakır: tahta farkı anahtar karede zaten vardır, içindeki
+ * skor, sıra ve süreler ise mutlak değerlerdir. Yer açılmazsa istemci
+ * bağlantısı kesilir; oturuma geri dönüşü destekleyen istemci yeni
+ * bağlantıyla güncel duruma döner. Kuyruk derinliği ve atılan mesajlar
+ * izlenebilir.
+ * </p>
+ * <p>
+ * Kuyruk yazdığı bağlantıyı {@link Sink} üzerinden görür; sunucuda bu
+ * {@link SClient}'tır.
+ * </p>
+ */
+public final class Outbox {
+
+    private static final Logger LOGGER = Logger.getLogger(Outbox.class.getName());
+
+    /** İstemci başına en fazla bekleyen mesaj */
+    static final int CAPACITY = Integer.getInteger("go.server.outboxCapacity", 256);
+
+    private static final Set<Message.Type> BOARD_FRAMES =
+            EnumSet.of(Message.Type.BOARD_STATE, Message.Type.BOARD_KEYFRAME, Message.Type.BOARD_DELTA);
+
+    /**
+     * Kuyruğun yazdığı bağlantı.
+     */
+    public interface Sink {
+
+        /** @return Günlüklerde kullanılan bağlantı kimliği */
+        int id();
+
+        /**
+         * @return Bir sonraki mesaj yazılabiliyorsa true (engellemeyen sokette
+         *         önceki mesajın kalanı henüz gönderilmediyse false)
+         */
+        boolean canWrite();
+
+        /**
+         * Kuyruktan alınan bir mesajı yazar (yalnızca yazıcı işi).
+         *
+         * @param entry {@link Message} ya da {@link Frame}
+         * @throws IOException Yazma hatası olursa
+         */
+        void write(Object entry) throws IOException;
+
+        /**
+         * Bağlantıyı kapatır.
+         */
+        void close();
+    }
+
+    private final Sink client;
+    private final Executor writer;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Message ya da Frame (yayın çerçeveleri bir kez kodlanır)
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closeWhenEmpty;
+
+    private int maxDepth;
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param client Sahip bağlantı
+     * @param writer Yazıcı işi çalıştıracak yürütücü (thread havuzu ya da olay döngüsü)
+     */
+    public Outbox(Sink client, Executor writer) {
+        this(client, writer, CAPACITY);
+    }
+
+    /**
+     * @param client Sahip bağlantı
+     * @param writer Yazıcı işi çalıştıracak yürütücü (thread havuzu ya da olay döngüsü)
+     * @param capacity En fazla bekleyen mesaj
+     */
+    public Outbox(Sink client, Executor writer, int capacity) {
+        this.client = client;
+        this.writer = writer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Mesajı kuyruğa ekler; hiçbir zaman ağ yazmasını beklemez. Kuyrukta yer
+     * açılamazsa bağlantı kapatılır ve mesaj atılır. Gönderene hata
+     * fırlatılmaz: bir istemcinin taşan kuyruğu, ona yayın yapan diğer
+     * istemcinin bağlantısını etkilememelidir.
+     *
+     * @param entry {@link Message} ya da {@link Frame}
+     */
+    public void offer(Object entry) {
+        boolean start;
+        int depth;
+        lock.lock();
+        try {
+            if (queue.size() >= capacity && !makeRoom(typeOf(entry))) {
+                depth = -1;
+                start = false;
+            } else {
+                queue.add(entry);
+                depth = queue.size();
+                maxDepth = Math.max(maxDepth, depth);
+                start = !draining;
+                draining = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (depth < 0) {
+            LOGGER.log(Level.WARNING, "Client {0} outbound queue full ({1} messages), disconnecting",
+                    new Object[]{client.id(), capacity});
+            dropped.increment();
+            client.close();
+            return;
+        }
+        if (start) {
+            writer.execute(this::drain);
+        }
+    }
+
+    /**
+     * Dolu kuyrukta yer açar (lock altında).
+     *
+     * @param incoming Eklenecek mesajın tipi
+     * @return Yer açıldıysa true
+     */
+    private boolean makeRoom(Message.Type incoming) {
+        int before = queue.size();
+        queue.removeIf(e -> typeOf(e) == Message.Type.TIMER_UPDATE);
+        if (incoming == Message.Type.BOARD_STATE || incoming == Message.Type.BOARD_KEYFRAME) {
+            queue.removeIf(e -> BOARD_FRAMES.contains(typeOf(e)));
+            Object newest = newestOf(Message.Type.MOVE_APPLIED);
+            queue.removeIf(e -> e != newest && typeOf(e) == Message.Type.MOVE_APPLIED);
+        } else if (incoming == Message.Type.SCORE) {
+            queue.removeIf(e -> typeOf(e) == Message.Type.SCORE);
+        }
+        dropped.add(before - queue.size());
+        return queue.size() < capacity;
+    }
+
+    /**
+     * @return Kuyruktaki verilen tipte en yeni mesaj, yoksa null (lock altında)
+     */
+    private Object newestOf(Message.Type type) {
+        for (Iterator<Object> it = queue.descendingIterator(); it.hasNext();) {
+            Object e = it.next();
+            if (typeOf(e) == type) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Kuyruk boşalana ya da bağlantı yazılamaz olana kadar yazar. Kapatma
+     * istendiyse bağlantı, kuyruk ve soketin gönderilmemiş baytları bitince
+     * kapatılır.
+     */
+    private void drain() {
+        while (true) {
+            Object next;
+            lock.lock();
+            try {
+                boolean writable = client.canWrite();
+                next = writable ? queue.poll() : null;
+                if (next == null) {
+                    draining = false;
+                    // Yazılamıyorsa kalan baytlar gidince resume() tekrar çağırır
+                    if (!writable || !closeWhenEmpty || !queue.isEmpty()) {
+                        return;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (next == null) {
+                client.close();
+                return;
+            }
+            try {
+                client.write(next);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error sending to client " + client.id(), e);
+                lock.lock();
+                try {
+                    queue.clear();
+                    draining = false;
+                } finally {
+                    lock.unlock();
+                }
+                client.close();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bağlantı yeniden yazılabilir olduğunda (engellemeyen sokette gönderim
+     * tamponu boşaldığında) bekleyen mesajları yazmayı ya da bekleyen
+     * kapatmayı sürdürür.
+     */
+    public void resume() {
+        boolean start;
+        lock.lock();
+        try {
+            start = !draining && (!queue.isEmpty() || closeWhenEmpty);
+            draining |= start;
+        } finally {
+            lock.unlock();
+        }
+        if (start) {
+            writer.execute(this::drain);
+        }
+    }
+
+    /**
+     * Kuyruktaki mesajlar ve soketin gönderilmemiş baytları yazıldıktan sonra
+     * bağlantıyı kapatır.
+     */
+    public void closeWhenEmpty() {
+        boolean now;
+        lock.lock();
+        try {
+            closeWhenEmpty = true;
+            now = !draining && queue.isEmpty() && client.canWrite();
+        } finally {
+            lock.unlock();
+        }
+        if (now) {
+            client.close();
+        }
+    }
+
+    /**
+     * @return Şu an bekleyen mesaj sayısı
+     */
+    public int depth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Bağlantı boyunca görülen en yüksek kuyruk derinliği
+     */
+    public int maxDepth() {
+        lock.lock();
+        try {
+            return maxDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Kuyruk dolduğu için atılan mesaj sayısı
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private static Message.Type typeOf(Object entry) {
+        return entry instanceof Frame f ? f.message().type() : ((Message) entry).type();
+    }
+}
@@ -0,0 +1,83 @@
+package server;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Sanal thread sabitlenmelerini (pinning) raporlar.
+ * <p>
+ * Sanal thread bir monitör içinde ya da yerel çağrıda engellendiğinde
+ * taşıyıcı platform thread'ini bırakamaz; çok sayıda bağlantıda bu, taşıyıcı
+ * havuzunu tüketir. JFR'nin {@code jdk.VirtualThreadPinned} olayları akış
+ * olarak dinlenir ve eşikten uzun her sabitlenme, yeri bulunabilsin diye
+ * yığının üst çerçeveleriyle loglanır. Eşik
+ * {@code -Dgo.server.pinnedThresholdMs} ile ayarlanır (varsayılan 20 ms).
+ * </p>
+ */
+final class PinningMonitor implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(PinningMonitor.class.getName());
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final long THRESHOLD_MS = Long.getLong("go.server.pinnedThresholdMs", 20);
+    private static final int LOGGED_FRAMES = 6;
+
+    private final RecordingStream stream;
+    private final LongAdder pinned = new LongAdder();
+
+    private PinningMonitor(RecordingStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Dinlemeyi arka planda başlatır.
+     *
+     * @return İzleyici, JFR kullanılamıyorsa null
+     */
+    static PinningMonitor start() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            PinningMonitor monitor = new PinningMonitor(stream);
+            stream.enable(EVENT).withThreshold(Duration.ofMillis(THRESHOLD_MS)).withStackTrace();
+            stream.onEvent(EVENT, monitor::report);
+            stream.startAsync();
+            return monitor;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Virtual thread pinning cannot be monitored", e);
+            return null;
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        StringBuilder where = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            int logged = 0;
+            for (RecordedFrame f : event.getStackTrace().getFrames()) {
+                String type = f.getMethod().getType().getName();
+                if (type.equals("java.lang.VirtualThread")) {
+                    continue; // Park çerçeveleri; sabitleyen kod daha aşağıda
+                }
+                if (logged++ == LOGGED_FRAMES) {
+                    break;
+                }
+                where.append("\n\tat ").append(type)
+                        .append('.').append(f.getMethod().getName())
+                        .append(':').append(f.getLineNumber());
+            }
+        }
+        LOGGER.log(Level.WARNING, "Virtual thread {0} pinned its carrier for {1} ms{2}",
+                new Object[]{event.getThread() == null ? "?" : "#" + event.getThread().getJavaThreadId(),
+                        event.getDuration().toMillis(), where});
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+        LOGGER.log(Level.INFO, "Virtual thread pinning events: {0}", pinned.sum());
+    }
+}
@@ -0,0 +1,214 @@
+package server;
+
+import common.Frame;
+import common.Message;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Bağlı istemci listesinin (varlık) yayını.
+ * <p>
+ * Bağlanma ve kopmalar her olayda tüm istemcilere tam liste göndermek yerine
+ * kısa bir pencere ({@code go.server.presenceWindowMs}, varsayılan 100 ms)
+ * boyunca toplanır. Pencere sonunda aynı pencerede gelip giden istemciler
+ * birbirini götürür, kalan değişiklik tek bir sürümlü PRESENCE farkı olarak
+ * bir kez kodlanır ve tüm abonelere aynı çerçeve gönderilir. Bağlantı
+ * fırtınasında istemci başına olay sayısı değil pencere sayısı kadar mesaj
+ * gider.
+ * </p>
+ * <p>
+ * {@link common.Protocol#FEATURE_PRESENCE} anlaşan istemciler varsayılan
+ * olarak abone değildir; PRESENCE_SUBSCRIBE "1" ile önce güncel sürümde tam
+ * listeyi, sonra farkları alır, "0" ile ayrılır. Sürümde boşluk gören istemci
+ * yeniden abone olarak tam listeyi ister. Eski istemciler aynı pencere
+ * sonunda tek bir tam CLIENT_IDS alır.
+ * </p>
+ */
+final class Presence {
+
+    private static final Logger LOGGER = Logger.getLogger(Presence.class.getName());
+
+    private static final long WINDOW_MS = Integer.getInteger("go.server.presenceWindowMs", 100);
+
+    private static final int KIND_SNAPSHOT = 0;
+    private static final int KIND_DELTA = 1;
+
+    /**
+     * Pencere içinde bekleyen değişiklik.
+     */
+    private record Change(int id, boolean joined) {}
+
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentLinkedQueue<Change> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Set<SClient> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<SClient> legacy = ConcurrentHashMap.newKeySet();
+
+    // Sürüm ve yayınlanan liste; yayın ve tam liste gönderimi sırayla yapılır
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Integer> online = new TreeSet<>();
+    private int version;
+
+    /**
+     * @param scheduler Pencere sonu yayınını çalıştıracak zamanlayıcı
+     */
+    Presence(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Yeni bağlanan istemciyi bildirir. Özellik anlaşması henüz yapılmadığından
+     * istemci eski biçimde (CLIENT_IDS) alıcı olarak başlar.
+     *
+     * @param client İstemci
+     */
+    void joined(SClient client) {
+        legacy.add(client);
+        record(new Change(client.id, true));
+    }
+
+    /**
+     * Kopan istemciyi bildirir ve tüm aboneliklerinden çıkarır.
+     *
+     * @param client İstemci
+     */
+    void left(SClient client) {
+        legacy.remove(client);
+        subscribers.remove(client);
+        record(new Change(client.id, false));
+    }
+
+    /**
+     * İstemci varlık özelliğini anlaştı: artık CLIENT_IDS almaz, isterse
+     * PRESENCE'a abone olur.
+     *
+     * @param client İstemci
+     */
+    void upgrade(SClient client) {
+        legacy.remove(client);
+    }
+
+    /**
+     * PRESENCE aboneliğini açar ya da kapatır. Abone olan istemciye önce güncel
+     * sürümdeki tam liste gönderilir.
+     *
+     * @param client İstemci
+     * @param subscribe true abone ol, false ayrıl
+     */
+    void subscribe(SClient client, boolean subscribe) {
+        if (!subscribe) {
+            subscribers.remove(client);
+            return;
+        }
+        lock.lock();
+        try {
+            // Tam liste ve abonelik aynı kilit altında: arada yayınlanan fark kaçmaz
+            send(client, Frame.of(new Message(Message.Type.PRESENCE, payload(KIND_SNAPSHOT, online, Set.of()))));
+            subscribers.add(client);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Abone sayısı
+     */
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void record(Change change) {
+        pending.add(change);
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::flush, WINDOW_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Sunucu kapanıyor
+            }
+        }
+    }
+
+    /**
+     * Pencerede biriken değişiklikleri birleştirir ve tek çerçeve olarak yayınlar.
+     */
+    private void flush() {
+        // Yayın başlamadan bayrak indirilir: bu sırada gelen değişiklik yeni pencere açar
+        flushScheduled.set(false);
+        lock.lock();
+        try {
+            // Aynı pencerede gelip giden istemciler birbirini götürür
+            Map<Integer, Boolean> net = new LinkedHashMap<>();
+            Change change;
+            while ((change = pending.poll()) != null) {
+                Boolean before = net.remove(change.id());
+                if (before == null || before == change.joined()) {
+                    net.put(change.id(), change.joined());
+                }
+            }
+            Set<Integer> joined = new TreeSet<>();
+            Set<Integer> left = new TreeSet<>();
+            net.forEach((id, in) -> {
+                if (in ? online.add(id) : online.remove(id)) {
+                    (in ? joined : left).add(id);
+                }
+            });
+            if (joined.isEmpty() && left.isEmpty()) {
+                return;
+            }
+            version++;
+
+            if (!subscribers.isEmpty()) {
+                Frame delta = Frame.of(new Message(Message.Type.PRESENCE, payload(KIND_DELTA, joined, left)));
+                for (SClient client : subscribers) {
+                    send(client, delta);
+                }
+            }
+            if (!legacy.isEmpty()) {
+                String ids = online.stream().map(String::valueOf).collect(Collectors.joining(","));
+                Frame full = Frame.of(new Message(Message.Type.CLIENT_IDS, ids));
+                for (SClient client : legacy) {
+                    send(client, full);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * "tür,sürüm,gelenSayısı,gelenler...,gidenler..." yükü
+     */
+    private String payload(int kind, Set<Integer> joined, Set<Integer> left) {
+        StringBuilder sb = new StringBuilder().append(kind).append(',').append(version).append(',').append(joined.size());
+        for (int id : joined) {
+            sb.append(',').append(id);
+        }
+        for (int id : left) {
+            sb.append(',').append(id);
+        }
+        return sb.toString();
+    }
+
+    private void send(SClient client, Frame frame) {
+        try {
+            if (client.isConnected()) {
+                client.send(frame);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error sending presence to client " + client.id, e);
+        }
+    }
+}
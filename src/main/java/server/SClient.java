@@ -1,32 +1,68 @@
 package server;
 
-import common.IOUtil;
+import common.Frame;
 import common.Message;
+import common.MessageChannel;
+import common.Protocol;
+import game.go.util.Glicko2;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class SClient extends Thread {
+/**
+ * Sunucu tarafında tek bir istemci bağlantısı. Thread kipinde {@link #run()}
+ * bağlantının okuma döngüsüdür ve sunucunun seçtiği platform ya da sanal
+ * thread'de çalışır; olay döngüsü kipinde mesajlar döngüden iletilir.
+ */
+public class SClient implements Runnable {
     final int id;
     public final Socket sock;
-    private final InputStream in;
-    private final OutputStream out;
+    private final MessageChannel channel;
     private final Server hub;
-    private GameSession session;
+    private volatile GameSession session; // Geri dönüşte oturum döngüsünden temizlenebilir
     private boolean running = true;
-    private boolean inGame = false; // Oyuncu şu an oyunda mı
+    private volatile boolean inGame = false; // Oyuncu şu an oyunda mı (eşleştirici thread'den de okunur)
+    private volatile Set<String> features = Set.of(); // İstemciyle anlaşılan protokol özellikleri
+    private volatile Glicko2.Rating rating = Glicko2.Rating.INITIAL; // Eşleştirmede kullanılan puan
+    private final NioConnection connection; // Olay döngüsü kipinde bağlantı tamponları (yoksa null)
+    private final Outbox outbox; // Sınırlı giden kuyruk; sokete yalnızca yazıcı işi yazar
+    private final AtomicBoolean cleanedUp = new AtomicBoolean();
     private static final Logger LOGGER = Logger.getLogger(SClient.class.getName());
 
     public SClient(Socket s, Server hub) throws Exception {
         this.sock = s; 
         this.hub = hub;
         this.id = hub.nextId();
-        this.in = s.getInputStream(); 
-        this.out = s.getOutputStream();
+        this.channel = new MessageChannel(s.getInputStream(), s.getOutputStream());
+        this.connection = null;
+        this.outbox = new Outbox(new OutboxSink(), hub.writers());
+    }
+    
+    /**
+     * Olay döngüsü kipinde bir istemci oluşturur. Thread başlatılmaz; gelen
+     * mesajlar bağlantının olay döngüsünde işlenir.
+     * 
+     * @param conn Engellemeyen bağlantı
+     * @param hub Sunucu
+     */
+    SClient(NioConnection conn, Server hub) {
+        this.sock = conn.socket().socket();
+        this.hub = hub;
+        this.id = hub.nextId();
+        this.channel = new MessageChannel(conn);
+        this.connection = conn;
+        this.outbox = new Outbox(new OutboxSink(), conn.loop()::execute);
+    }
+    
+    /**
+     * @return Olay döngüsü kipinde bağlantı tamponları, thread kipinde null
+     */
+    NioConnection connection() {
+        return connection;
     }
 
     public void bindSession(GameSession gs) { 
@@ -47,6 +83,53 @@ public class SClient extends Thread {
         this.inGame = inGame;
     }
     
+    /**
+     * @return Oyuncunun Glicko-2 puanı
+     */
+    public Glicko2.Rating getRating() {
+        return rating;
+    }
+    
+    /**
+     * Oyuncunun puanını değiştirir (oyun sonunda ya da oyuna geri dönüşte).
+     * 
+     * @param rating Yeni puan
+     */
+    public void setRating(Glicko2.Rating rating) {
+        this.rating = rating;
+    }
+    
+    /**
+     * İstemciyle anlaşılan bir protokol özelliğinin açık olup olmadığını döndürür.
+     * 
+     * @param feature Özellik adı ({@link Protocol} sabitleri)
+     * @return Özellik anlaşıldıysa true
+     */
+    public boolean hasFeature(String feature) {
+        return features.contains(feature);
+    }
+    
+    /**
+     * @return Gönderilmeyi bekleyen mesaj sayısı
+     */
+    public int getOutboxDepth() {
+        return outbox.depth();
+    }
+    
+    /**
+     * @return Bu bağlantıdan okunan toplam bayt
+     */
+    public long getBytesIn() {
+        return channel.getBytesIn();
+    }
+    
+    /**
+     * @return Bu bağlantıya yazılan toplam bayt
+     */
+    public long getBytesOut() {
+        return channel.getBytesOut();
+    }
+    
     /**
      * Bağlantı durumunu kontrol eder.
      * 
@@ -56,18 +139,73 @@ public class SClient extends Thread {
         return running && sock != null && !sock.isClosed() && sock.isConnected();
     }
     
+    /**
+     * Mesajı giden kuyruğa ekler; ağ yazmasını beklemez. Kuyruk taşarsa
+     * bağlantı kapatılır.
+     * 
+     * @param m Gönderilecek mesaj
+     * @throws IOException Bağlantı kapalıysa
+     */
     public void send(Message m) throws IOException { 
         if (!isConnected()) {
             throw new IOException("Connection is closed");
         }
-        
-        try {
-            IOUtil.writeMessage(out, m); 
-            LOGGER.log(Level.INFO, "Sent to client {0}: {1}#{2}", new Object[]{id, m.type(), m.payload()});
-        } catch (IOException e) {
-            LOGGER.log(Level.WARNING, "Error sending to client " + id, e);
-            throw e; // Yeniden fırlat, böylece çağıran metot uygun şekilde ele alabilir
+        outbox.offer(m);
+    }
+    
+    /**
+     * Önceden kodlanmış bir çerçeveyi giden kuyruğa ekler. Aynı çerçeve birden
+     * çok istemciye gönderildiğinde her biçim bir kez kodlanır.
+     * 
+     * @param frame Gönderilecek çerçeve
+     * @throws IOException Bağlantı kapalıysa
+     */
+    public void send(Frame frame) throws IOException {
+        if (!isConnected()) {
+            throw new IOException("Connection is closed");
         }
+        outbox.offer(frame);
+    }
+    
+    /**
+     * Kuyruktan alınan bir mesajı sokete yazar (yalnızca yazıcı işi).
+     * 
+     * @param entry {@link Message} ya da {@link Frame}
+     * @throws IOException Yazma hatası olursa
+     */
+    void write(Object entry) throws IOException {
+        boolean binary = features.contains(Protocol.FEATURE_BINARY);
+        Message m;
+        if (entry instanceof Frame frame) {
+            channel.write(frame, binary);
+            m = frame.message();
+        } else {
+            m = (Message) entry;
+            channel.write(m, binary);
+        }
+        hub.events().messageSent(id, m.type(), m.payload() == null ? 0 : m.payload().length());
+    }
+    
+    /**
+     * @return Yazıcı işi bir sonraki mesajı yazabiliyorsa true (engellemeyen
+     *         sokette önceki mesajın kalanı henüz gönderilmediyse false)
+     */
+    boolean canWrite() {
+        return connection == null || !connection.hasPending();
+    }
+    
+    /**
+     * Engellemeyen soketin gönderim tamponu boşaldığında kuyruğu yazmayı sürdürür.
+     */
+    void resumeWrites() {
+        outbox.resume();
+    }
+    
+    /**
+     * Kuyruktaki mesajlar gönderildikten sonra bağlantıyı kapatır.
+     */
+    public void closeWhenFlushed() {
+        outbox.closeWhenEmpty();
     }
     
     /**
@@ -79,8 +217,19 @@ public class SClient extends Thread {
             if (sock != null && !sock.isClosed()) {
                 sock.close();
             }
+            if (connection != null && !cleanedUp.get()) {
+                // Okuyan thread yok: oturum ve sunucu temizliği olay döngüsünde yapılır
+                connection.loop().execute(this::disconnected);
+            }
             hub.removeClient(this);
-            LOGGER.log(Level.INFO, "Client {0} connection closed", id);
+            LOGGER.log(Level.INFO, "Client {0} connection closed ({1} bytes in, {2} bytes out, "
+                    + "outbox max depth {3}, {4} messages dropped)",
+                    new Object[]{id, channel.getBytesIn(), channel.getBytesOut(), outbox.maxDepth(), outbox.dropped()});
+            if (channel.getCompressor() != null) {
+                LOGGER.log(Level.INFO, "Client {0} compression: {1}",
+                        new Object[]{id, channel.getCompressor().summary()});
+            }
+            channel.close();
         } catch (IOException e) {
             LOGGER.log(Level.WARNING, "Error closing client connection", e);
         }
@@ -93,7 +242,7 @@ public class SClient extends Thread {
         try {
             while (running) {
                 // Gelen mesajı bekle
-                Message msg = IOUtil.readMessage(in);
+                Message msg = channel.read();
                 
                 // Bağlantı kapatıldıysa çık
                 if (msg == null) {
@@ -101,10 +250,7 @@ public class SClient extends Thread {
                     break;
                 }
                 
-                LOGGER.log(Level.INFO, "Received from client {0}: {1}#{2}", new Object[]{id, msg.type(), msg.payload()});
-                
-                // Mesaj tipine göre işle
-                processMessage(msg);
+                onMessage(msg);
             }
         } catch (SocketException se) {
             LOGGER.log(Level.INFO, "Client {0} connection reset: {1}", new Object[]{id, se.getMessage()});
@@ -115,52 +261,126 @@ public class SClient extends Thread {
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error processing client " + id + " message", e);
         } finally {
-            try {
-                // İstemci oturuma bağlıysa, bağlantı kopma bilgisi ilet
-                if (session != null) {
-                    session.handleDisconnect(this);
-                }
-                
-                // İstemciyi sunucudan çıkar
-                hub.removeClient(this);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error during client cleanup", e);
+            disconnected();
+        }
+    }
+    
+    /**
+     * Gelen bir mesajı işler (okuyan thread ya da olay döngüsü).
+     * 
+     * @param msg Gelen mesaj
+     * @throws IOException Yanıt gönderilemezse
+     */
+    void onMessage(Message msg) throws IOException {
+        hub.events().messageReceived(id, msg.type(), msg.payload() == null ? 0 : msg.payload().length());
+        
+        // Mesaj tipine göre işle
+        processMessage(msg);
+    }
+    
+    /**
+     * Olay döngüsü kipinde soketteki baytları okur ve tamamlanan mesajları işler.
+     * 
+     * @return Karşı taraf bağlantıyı kapattıysa false
+     * @throws IOException Okuma hatası ya da bozuk çerçeve
+     */
+    boolean readAvailable() throws IOException {
+        return connection.read(channel, this);
+    }
+    
+    /**
+     * Bağlantı koptuğunda oturumu bilgilendirir ve istemciyi sunucudan
+     * çıkarır; yalnızca bir kez çalışır.
+     */
+    void disconnected() {
+        if (!cleanedUp.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // İstemci oturuma bağlıysa, bağlantı kopma bilgisi ilet
+            GameSession current = session;
+            if (current != null) {
+                current.handleDisconnect(this);
             }
             
-            // Soket bağlantısını kapat
-            closeConnection();
+            // İstemciyi sunucudan çıkar
+            hub.removeClient(this);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error during client cleanup", e);
         }
+        
+        // Soket bağlantısını kapat
+        closeConnection();
     }
     
     /**
      * Gelen mesajları işler
      */
     private void processMessage(Message msg) throws IOException {
+        // Oturum döngüsü alanı temizleyebilir: mesaj boyunca tek bir değer kullanılır
+        GameSession current = session;
         switch (msg.type()) {
+            case PONG:
+                // Özellik anlaşması yanıtı; diğer PONG'lar yok sayılır
+                if (Protocol.isHello(msg)) {
+                    features = Protocol.negotiate(msg);
+                    if (features.contains(Protocol.FEATURE_DEFLATE)) {
+                        channel.enableCompression();
+                    }
+                    if (features.contains(Protocol.FEATURE_PRESENCE)) {
+                        hub.presence().upgrade(this);
+                    }
+                    LOGGER.log(Level.INFO, "Client {0} negotiated features: {1}", new Object[]{id, features});
+                }
+                break;
+                
+            case PING:
+                send(new Message(Message.Type.PONG, msg.payload()));
+                break;
+                
+            case PRESENCE_SUBSCRIBE:
+                // Bağlı istemci listesi aboneliği: "1" abone ol, "0" ayrıl
+                hub.presence().subscribe(this, "1".equals(msg.payload()));
+                break;
+                
+
             case MOVE:
-                if (session != null) {
-                    session.handleMove(this, msg.payload());
+                if (current != null) {
+                    current.handleMove(this, msg.payload());
                 } else {
                     send(new Message(Message.Type.ERROR, "Aktif bir oyun oturumunda değilsiniz"));
                 }
                 break;
                 
             case PASS:
-                if (session != null) {
-                    session.handlePass(this);
+                if (current != null) {
+                    current.handlePass(this);
                 } else {
                     send(new Message(Message.Type.ERROR, "Aktif bir oyun oturumunda değilsiniz"));
                 }
                 break;
                 
             case RESIGN:
-                if (session != null) {
-                    session.handleResign(this);
+                if (current != null) {
+                    current.handleResign(this);
                 } else {
                     send(new Message(Message.Type.ERROR, "Aktif bir oyun oturumunda değilsiniz"));
                 }
                 break;
                 
+            case RESUME:
+                // Kopan bağlantının yerine geçip oyuna geri dönme isteği
+                if (current != null || !hub.resume(this, msg.payload())) {
+                    send(new Message(Message.Type.RESUME_STATE, ""));
+                }
+                break;
+                
+            case RESYNC:
+                if (current != null) {
+                    current.handleResync(this);
+                }
+                break;
+                
             case READY_FOR_GAME:
                 // Yeni oyun için hazır işareti
                 if (!inGame) {
@@ -172,8 +392,8 @@ public class SClient extends Thread {
             case CHAT_BROADCAST:
             case TO_CLIENT:
                 // Sohbet mesajı
-                if (session != null) {
-                    session.handleChat(this, msg.payload());
+                if (current != null) {
+                    current.handleChat(this, msg.payload());
                 } else if (msg.payload().contains(",")) {
                     // Direkt mesaj formatı: "targetId,message"
                     String[] parts = msg.payload().split(",", 2);
@@ -195,4 +415,30 @@ public class SClient extends Thread {
                 send(new Message(Message.Type.ERROR, "Desteklenmeyen mesaj tipi: " + msg.type()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Giden kuyruğun bu bağlantıya yazdığı uç
+     */
+    private final class OutboxSink implements Outbox.Sink {
+
+        @Override
+        public int id() {
+            return id;
+        }
+
+        @Override
+        public boolean canWrite() {
+            return SClient.this.canWrite();
+        }
+
+        @Override
+        public void write(Object entry) throws IOException {
+            SClient.this.write(entry);
+        }
+
+        @Override
+        public void close() {
+            closeConnection();
+        }
+    }
+}
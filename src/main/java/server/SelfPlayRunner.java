@@ -0,0 +1,273 @@
+package server;
+
+import game.go.model.BatchEngine;
+import game.go.model.GameState;
+import game.go.model.Point;
+import game.go.model.Stone;
+import game.go.util.GameRecorder;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Soket ve Swing olmadan, tüm çekirdeklerde paralel bot-bot oyunları oynatan
+ * komut satırı aracı.
+ * <p>
+ * Hem motorun yük/performans testi hem de açılış kitabı ve hamle tahmini için
+ * oyun arşivi üretmek amacıyla kullanılır. Varsayılan motor {@link GameState}
+ * olup isteğe bağlı olarak her oyun {@link GameRecorder} ile SGF'e yazılır.
+ * {@code --engine=batch} ile aynı ölçüm {@link BatchEngine} üzerinde yapılır
+ * (SGF yazılmaz).
+ * </p>
+ * Kullanım:
+ * <pre>
+ * java -cp Go.jar server.SelfPlayRunner --games=1000 --size=9 --threads=8 --sgf=games/selfplay --seed=1
+ * </pre>
+ */
+public class SelfPlayRunner {
+
+    // Rastgele nokta seçiminde pas geçmeden önceki deneme sayısı
+    private static final int MOVE_TRIES = 32;
+
+    private final int games;
+    private final int size;
+    private final int threads;
+    private final String sgfDir;
+    private final long seed;
+    private final boolean batchEngine;
+
+    // Toplu istatistikler
+    private final LongAdder finishedGames = new LongAdder();
+    private final LongAdder totalMoves = new LongAdder();
+    private final LongAdder blackWins = new LongAdder();
+    private final LongAdder whiteWins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder failedSaves = new LongAdder();
+
+    /**
+     * Yeni bir self-play çalıştırıcısı oluşturur
+     *
+     * @param games Oynanacak oyun sayısı
+     * @param size Tahta boyutu
+     * @param threads Paralel thread sayısı
+     * @param sgfDir SGF dosyalarının yazılacağı klasör (null ise yazılmaz)
+     * @param seed Rastgele tohum
+     * @param batchEngine true ise BatchEngine kullanılır
+     */
+    public SelfPlayRunner(int games, int size, int threads, String sgfDir, long seed, boolean batchEngine) {
+        this.games = games;
+        this.size = size;
+        this.threads = threads;
+        this.sgfDir = sgfDir;
+        this.seed = seed;
+        this.batchEngine = batchEngine;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = 200;
+        int size = 19;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String sgfDir = null;
+        long seed = System.nanoTime();
+        boolean batch = false;
+
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            String value = kv.length > 1 ? kv[1] : "";
+            switch (kv[0]) {
+                case "--games" -> games = Integer.parseInt(value);
+                case "--size" -> size = Integer.parseInt(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--sgf" -> sgfDir = value;
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--engine" -> batch = "batch".equalsIgnoreCase(value);
+                default -> {
+                    System.err.println("Bilinmeyen parametre: " + arg);
+                    System.err.println("Kullanım: --games=N --size=9|13|19 --threads=T --sgf=klasör --seed=S --engine=state|batch");
+                    System.exit(1);
+                }
+            }
+        }
+
+        // Başsız çalışmada hamle başına log I/O'su ölçümü bozmasın
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        new SelfPlayRunner(games, size, threads, sgfDir, seed, batch).run();
+    }
+
+    /**
+     * Tüm oyunları oynatır ve özet istatistikleri yazdırır.
+     *
+     * @throws Exception Bir oyun görevi hata verirse ya da SGF klasörü oluşturulamazsa
+     */
+    public void run() throws Exception {
+        // Klasör işçiler başlamadan bir kez oluşturulur
+        if (sgfDir != null) {
+            File dir = new File(sgfDir);
+            if (!dir.mkdirs() && !dir.isDirectory()) {
+                throw new IOException("SGF klasörü oluşturulamadı: " + sgfDir);
+            }
+        }
+
+        System.out.printf("Self-play: %d oyun, %dx%d, %d thread, motor: %s%s%n",
+                games, size, size, threads, batchEngine ? "BatchEngine" : "GameState",
+                sgfDir != null ? ", SGF: " + sgfDir : "");
+
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "SelfPlay-Worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            if (batchEngine) {
+                // Her thread'e bir BatchEngine, oyunlar eşit bölünür
+                int perThread = (games + threads - 1) / threads;
+                for (int t = 0; t < threads; t++) {
+                    int count = Math.min(perThread, games - t * perThread);
+                    if (count <= 0) {
+                        break;
+                    }
+                    long engineSeed = root.nextLong();
+                    futures.add(pool.submit(() -> playBatch(count, engineSeed)));
+                }
+            } else {
+                for (int i = 0; i < games; i++) {
+                    int gameNo = i;
+                    SplittableRandom rnd = root.split();
+                    futures.add(pool.submit(() -> playGame(gameNo, rnd)));
+                }
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        printSummary(elapsedNanos);
+    }
+
+    /**
+     * Tek bir oyunu GameState üzerinde sonuna kadar oynatır.
+     */
+    private void playGame(int gameNo, SplittableRandom rnd) {
+        GameState state = new GameState(size);
+        state.setPublishSnapshots(false); // Kilitsiz okuyucu yok
+        GameRecorder recorder = null;
+        if (sgfDir != null) {
+            recorder = new GameRecorder(size, "Bot_B" + gameNo, "Bot_W" + gameNo);
+            recorder.setKomi(state.getKomi());
+            state.setRecorder(recorder);
+        }
+
+        int maxMoves = size * size * 3;
+        int moves = 0;
+        while (!state.isOver()) {
+            if (moves >= maxMoves || !playRandomMove(state, rnd)) {
+                state.pass();
+            }
+            moves++;
+        }
+
+        int blackScore = state.scoreFor(Stone.BLACK);
+        int whiteScore = state.scoreFor(Stone.WHITE);
+        recordResult(blackScore, whiteScore, moves);
+
+        if (recorder != null && !recorder.saveToSgf(sgfDir + "/selfplay_" + seed + "_" + gameNo + ".sgf")) {
+            failedSaves.increment();
+        }
+    }
+
+    /**
+     * Rastgele bir yasal hamle oynar. Botun kendi gözünü doldurmaması oyunların
+     * sonlanmasını sağlar.
+     *
+     * @return Hamle yapıldıysa true, pas geçilmesi gerekiyorsa false
+     */
+    private boolean playRandomMove(GameState state, SplittableRandom rnd) {
+        Stone me = state.toPlay();
+        for (int t = 0; t < MOVE_TRIES; t++) {
+            int x = rnd.nextInt(size);
+            int y = rnd.nextInt(size);
+            if (state.board().getAtCoord(x, y) != Stone.EMPTY || isOwnEye(state, x, y, me)) {
+                continue;
+            }
+            if (state.play(new Point(x, y)).valid) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOwnEye(GameState state, int x, int y, Stone color) {
+        Stone[] around = {
+            state.board().getAtCoord(x - 1, y), state.board().getAtCoord(x + 1, y),
+            state.board().getAtCoord(x, y - 1), state.board().getAtCoord(x, y + 1)
+        };
+        for (Stone s : around) {
+            if (s != null && s != color) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bir grup oyunu BatchEngine üzerinde sonuna kadar oynatır.
+     */
+    private void playBatch(int count, long engineSeed) {
+        BatchEngine engine = new BatchEngine(count, size, engineSeed);
+        engine.playAllToEnd();
+        double komi = new GameState(size).getKomi();
+        for (int g = 0; g < count; g++) {
+            int blackScore = engine.areaScore(g, Stone.BLACK);
+            int whiteScore = engine.areaScore(g, Stone.WHITE) + (int) Math.floor(komi);
+            recordResult(blackScore, whiteScore, engine.getMoveCount(g));
+        }
+    }
+
+    private void recordResult(int blackScore, int whiteScore, int moves) {
+        finishedGames.increment();
+        totalMoves.add(moves);
+        if (blackScore > whiteScore) {
+            blackWins.increment();
+        } else if (whiteScore > blackScore) {
+            whiteWins.increment();
+        } else {
+            draws.increment();
+        }
+    }
+
+    private void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long n = finishedGames.sum();
+        long moves = totalMoves.sum();
+
+        System.out.printf("Süre: %.2f s%n", seconds);
+        System.out.printf("Oyun: %d (%.1f oyun/s)%n", n, n / seconds);
+        System.out.printf("Hamle: %d (%.0f hamle/s)%n", moves, moves / seconds);
+        System.out.printf("Ortalama oyun uzunluğu: %.1f hamle%n", n > 0 ? (double) moves / n : 0.0);
+        System.out.printf("Kazanma oranları: Siyah %.1f%%, Beyaz %.1f%%, Berabere %.1f%%%n",
+                percent(blackWins.sum(), n), percent(whiteWins.sum(), n), percent(draws.sum(), n));
+        if (sgfDir != null && !batchEngine) {
+            System.out.printf("SGF: %d yazıldı, %d başarısız%n", n - failedSaves.sum(), failedSaves.sum());
+        }
+    }
+
+    private static double percent(long part, long total) {
+        return total > 0 ? 100.0 * part / total : 0.0;
+    }
+}
@@ -1,14 +1,31 @@
 package server;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.SecureRandom;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import common.FrameCompressor;
 import common.Message;
+import common.Protocol;
+import game.go.event.GameEventListener;
+import game.go.model.Stone;
+import game.go.util.Glicko2;
 
 /**
  * Go oyunu sunucusu - Oyuncuları eşleştirir ve oyun oturumlarını yönetir.
@@ -19,15 +36,73 @@ public class Server {
     
     // Temel sunucu bileşenleri
     private final ServerSocket serverSocket;
-    private final List<SClient> clients = Collections.synchronizedList(new ArrayList<>());
-    private int idSequence = 0;
     private boolean isRunning = true;
     
-    // Eşleştirme sistemi
-    private final Object matchingLock = new Object();
-    private final Map<Integer, List<SClient>> waitingClientsByConfig = new ConcurrentHashMap<>();
+    // Bağlı istemciler ID'ye göre; ekleme, çıkarma ve doğrudan mesaj O(1) ve
+    // kilitsiz. values() üzerinde gezinme zayıf tutarlıdır: kopya almaz ve
+    // gezinirken bağlanan ya da kopan istemciler görülebilir ya da görülmeyebilir.
+    private final Map<Integer, SClient> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger idSequence = new AtomicInteger();
+    
+    // Thread kipinde bağlantı başına okuma thread'i; -Dgo.server.virtualThreads=true ile
+    // sanal thread (boşta bekleyen bağlantı ~1 MB yığın yerine birkaç KB tutar)
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("go.server.virtualThreads");
+    private final ThreadFactory connectionThreads = VIRTUAL_THREADS
+            ? Thread.ofVirtual().name("SClient-", 0).factory()
+            : Thread.ofPlatform().name("SClient-", 0).factory();
+    private PinningMonitor pinningMonitor;
+    
+    // Kapanışta giden kuyrukların boşalması için beklenen en uzun süre
+    private static final long SHUTDOWN_FLUSH_MS = 1000;
+    
+    // Thread kipinde giden kuyrukları boşaltan yazıcı işleri (yalnızca kuyruk doluyken çalışır)
+    private final ExecutorService writers = VIRTUAL_THREADS
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SClient-Writer-", 0).factory())
+            : Executors.newCachedThreadPool(Thread.ofPlatform().name("SClient-Writer-", 0).daemon(true).factory());
+    
+    // Olay döngüsü kipinde engellemeyen bağlantıları paylaşan döngüler (thread kipinde boş)
+    private final EventLoop[] eventLoops;
+    private int nextLoop = 0;
+    
+    // Eşleştirme sistemi: konfigürasyon başına kilitsiz gelen kutuları, puan sıralı
+    // bekleme dizinleri ve tek eşleştirici.
+    // Konfigürasyonlar: 1 = 9x9, 2 = 13x13, 3 = 19x19
+    private final Matchmaker<SClient> matchmaker = new Matchmaker<>(Set.of(1, 2, 3), this::isClientUsable, this::startMatch);
+    // Yalnızca eşleştirici thread'de kullanılır
     private final Random random = new Random();
     
+    // Oyun ve mesaj olayları için dinleyici (loglama, metrik vb.)
+    private final GameEventListener events;
+    
+    // Oturuma geri dönüş anahtarları (anahtar -> oturum ve renk)
+    private final Map<String, ResumeTicket> resumeTickets = new ConcurrentHashMap<>();
+    private final SecureRandom tokenRandom = new SecureRandom();
+    
+    // Tüm zamanlı sunucu işleri: oyun saatleri, süre yayınları, geri dönüş
+    // bekleme süreleri. Oyun sayısından bağımsız birkaç thread; hamle başına
+    // iptal edilen saat görevleri kuyruktan hemen çıkarılır.
+    private static final int SCHEDULER_THREADS = Integer.getInteger("go.server.schedulerThreads",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private final ScheduledThreadPoolExecutor scheduler = newScheduler();
+    
+    // Oyun oturumlarının posta kutuları; her oturum kimliğine göre bir döngüye sabitlenir
+    private static final int SESSION_LOOPS = Integer.getInteger("go.server.sessionLoops",
+            Runtime.getRuntime().availableProcessors());
+    private final SessionLoops sessionLoops = new SessionLoops(SESSION_LOOPS);
+    private final AtomicLong sessionIds = new AtomicLong();
+    
+    // Oyun kayıtlarının doğrulanması ve diske yazılması; oturum döngülerini bekletmez
+    private final ExecutorService recordWriter =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("Record-Writer").daemon(true).factory());
+    
+    // Bağlanma/kopmalar kısa pencerelerde toplanıp tek çerçeveyle yayınlanır
+    private final Presence presence = new Presence(scheduler);
+    
+    /**
+     * Bir oturum anahtarının işaret ettiği oyun ve renk
+     */
+    private record ResumeTicket(GameSession session, Stone color) {}
+    
     /**
      * Oyun konfigürasyon sınıfı - tahta boyutu, handikap ve komi değerlerini içerir
      */
@@ -82,27 +157,78 @@ public class Server {
      * @throws IOException Sunucu soketi oluşturulurken hata olursa
      */
     public Server(int port) throws IOException {
-        this.serverSocket = new ServerSocket(port);
-        LOGGER.info("Server started on port " + port);
-        
-        // Varsayılan oyun konfigürasyonları için bekleyen listeler oluştur
-        waitingClientsByConfig.put(1, new ArrayList<>()); // 9x9
-        waitingClientsByConfig.put(2, new ArrayList<>()); // 13x13
-        waitingClientsByConfig.put(3, new ArrayList<>()); // 19x19
+        this(port, GameEventListener.NONE);
+    }
+    
+    /**
+     * Olay dinleyicisi ile yeni bir Go sunucusu oluşturur
+     * 
+     * @param port Dinlenecek port
+     * @param events Oyun ve mesaj olaylarını alacak dinleyici
+     * @throws IOException Sunucu soketi oluşturulurken hata olursa
+     */
+    public Server(int port, GameEventListener events) throws IOException {
+        this(port, events, 0);
+    }
+    
+    /**
+     * Olay dinleyicisi ve bağlantı modeli seçilerek yeni bir Go sunucusu oluşturur.
+     * <p>
+     * {@code eventLoops} 0 ise her istemci kendi thread'inde engelleyerek okunur.
+     * Pozitifse bağlantılar engellemeyen soketlerle bu sayıdaki olay döngüsüne
+     * dağıtılır (genellikle çekirdek başına bir döngü); bağlantı başına thread
+     * olmadığı için on binlerce bağlantı tutulabilir.
+     * </p>
+     * 
+     * @param port Dinlenecek port
+     * @param events Oyun ve mesaj olaylarını alacak dinleyici
+     * @param eventLoops Olay döngüsü sayısı, thread başına bağlantı için 0
+     * @throws IOException Sunucu soketi oluşturulurken hata olursa
+     */
+    public Server(int port, GameEventListener events, int eventLoops) throws IOException {
+        this.events = events != null ? events : GameEventListener.NONE;
+        if (eventLoops > 0) {
+            ServerSocketChannel channel = ServerSocketChannel.open();
+            channel.bind(new InetSocketAddress(port));
+            this.serverSocket = channel.socket();
+            this.eventLoops = new EventLoop[eventLoops];
+            for (int i = 0; i < eventLoops; i++) {
+                this.eventLoops[i] = new EventLoop(this, i);
+            }
+            LOGGER.info("Server started on port " + port + " with " + eventLoops + " event loops");
+        } else {
+            this.serverSocket = new ServerSocket(port);
+            this.eventLoops = new EventLoop[0];
+            LOGGER.info("Server started on port " + port);
+        }
     }
     
     /**
      * Sunucuyu başlatır ve istemci bağlantılarını kabul eder
      */
     public void start() {
+        for (EventLoop loop : eventLoops) {
+            loop.start();
+        }
+        if (VIRTUAL_THREADS && eventLoops.length == 0) {
+            LOGGER.info("Client connections run on virtual threads");
+            pinningMonitor = PinningMonitor.start();
+        }
+        
         Thread acceptThread = new Thread(() -> {
             try {
                 LOGGER.info("Server is ready to accept connections");
                 
                 while (isRunning) {
                     try {
-                        Socket socket = serverSocket.accept();
-                        handleNewClient(socket);
+                        if (eventLoops.length > 0) {
+                            // Bağlantılar döngülere sırayla dağıtılır
+                            SocketChannel channel = serverSocket.getChannel().accept();
+                            eventLoops[nextLoop++ % eventLoops.length].register(channel);
+                        } else {
+                            Socket socket = serverSocket.accept();
+                            handleNewClient(socket);
+                        }
                     } catch (IOException e) {
                         if (isRunning) {
                             LOGGER.log(Level.WARNING, "Error accepting client connection", e);
@@ -124,18 +250,41 @@ public class Server {
      * @param socket İstemci soketi
      */
     private void handleNewClient(Socket socket) {
+        SClient client;
+        try {
+            client = new SClient(socket, this);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error handling new client", e);
+            try {
+                socket.close();
+            } catch (IOException ignored) {}
+            return;
+        }
+        admit(client);
+    }
+    
+    /**
+     * Yeni bağlanan istemciyi listeye ekler, okumayı başlatır ve karşılama
+     * mesajlarını gönderir.
+     * 
+     * @param client Yeni istemci (thread kipinde henüz başlatılmamış)
+     */
+    void admit(SClient client) {
         try {
-            SClient client = new SClient(socket, this);
+            // İstemciyi listeye ekle; thread kipinde okuyan thread'i başlat
+            clients.put(client.id, client);
+            if (client.connection() == null) {
+                connectionThreads.newThread(client).start();
+            }
             
-            // İstemciyi listeye ekle ve başlat
-            clients.add(client);
-            client.start();
+            // Protokol özelliklerini duyur (eski istemciler bu PING'i yok sayar)
+            client.send(new Message(Message.Type.PING, Protocol.hello(Protocol.SUPPORTED)));
             
-            // Bağlı istemci listesini tüm istemcilere güncelle
-            broadcastClientIds();
+            // Bağlı istemci listesinin bir sonraki yayınına ekle
+            presence.joined(client);
             
             LOGGER.log(Level.INFO, "New client connected: {0} from {1}", 
-                      new Object[]{client.id, socket.getRemoteSocketAddress()});
+                      new Object[]{client.id, client.sock.getRemoteSocketAddress()});
             
             // Hoş geldin mesajı gönder
             client.send(new Message(Message.Type.MSG_FROM_CLIENT, 
@@ -143,9 +292,7 @@ public class Server {
             
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "Error handling new client", e);
-            try {
-                socket.close();
-            } catch (IOException ignored) {}
+            client.closeConnection();
         }
     }
     
@@ -158,29 +305,198 @@ public class Server {
         isRunning = false;
         
         // Tüm istemcilere bildir
-        for (SClient client : new ArrayList<>(clients)) {
+        for (SClient client : clients.values()) {
             try {
                 client.send(new Message(Message.Type.MSG_FROM_CLIENT, 
                                        "System: Sunucu kapatılıyor..."));
-                client.closeConnection();
+                client.closeWhenFlushed();
             } catch (IOException ignored) {}
         }
         
+        // Kuyruklar kısa bir süre boşaltılır; yetişmeyen bağlantılar kapatılır
+        long deadline = System.currentTimeMillis() + SHUTDOWN_FLUSH_MS;
+        try {
+            while (!clients.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SClient client : clients.values()) {
+            client.closeConnection();
+        }
+        
         // Sunucu soketini kapat
         if (!serverSocket.isClosed()) {
             serverSocket.close();
         }
         
+        for (EventLoop loop : eventLoops) {
+            loop.shutdown();
+        }
+        if (pinningMonitor != null) {
+            pinningMonitor.close();
+        }
+        matchmaker.shutdown();
+        scheduler.shutdownNow();
+        sessionLoops.shutdown();
+        writers.shutdown();
+        // Bitmiş oyunların kayıtları kısa bir süre beklenir
+        recordWriter.shutdown();
+        try {
+            if (!recordWriter.awaitTermination(SHUTDOWN_FLUSH_MS, TimeUnit.MILLISECONDS)) {
+                LOGGER.warning("Some game records were not saved before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.log(Level.INFO, "Session loops: {0}", sessionLoops.summary());
+        LOGGER.log(Level.INFO, "Matchmaking: {0}", matchmaker.summary());
+        LOGGER.log(Level.INFO, "Compression totals: {0}", FrameCompressor.totalSummary());
         LOGGER.info("Server has been shut down");
     }
     
+    /**
+     * Sunucunun olay dinleyicisini döndürür
+     * 
+     * @return Olay dinleyicisi
+     */
+    public GameEventListener events() {
+        return events;
+    }
+    
     /**
      * Bir sonraki istemci ID'sini döndürür
      * 
      * @return Bir sonraki istemci ID'si
      */
-    public synchronized int nextId() {
-        return idSequence++;
+    public int nextId() {
+        return idSequence.getAndIncrement();
+    }
+    
+    /**
+     * Thread kipindeki istemcilerin giden kuyruklarını boşaltan yürütücü
+     */
+    ExecutorService writers() {
+        return writers;
+    }
+    
+    private static ScheduledThreadPoolExecutor newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(SCHEDULER_THREADS,
+                Thread.ofPlatform().name("Server-Scheduler-", 0).daemon(true).factory());
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+    
+    /**
+     * Oyun kaydını yazma işini kayıt thread'ine bırakır. Sunucu kapandıysa
+     * kayıt yazılmaz.
+     * 
+     * @param task Doğrulama ve SGF yazma işi
+     */
+    void saveRecord(Runnable task) {
+        try {
+            recordWriter.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.log(Level.FINE, "Server stopped, game record not saved");
+        }
+    }
+    
+    /**
+     * Oyun oturumlarının posta kutusu döngülerini döndürür
+     */
+    SessionLoops sessionLoops() {
+        return sessionLoops;
+    }
+    
+    /**
+     * @return Yeni oyun oturumu kimliği
+     */
+    long nextSessionId() {
+        return sessionIds.incrementAndGet();
+    }
+    
+    /**
+     * Bağlı istemci listesinin yayınını döndürür (abonelik ve özellik anlaşması için)
+     */
+    Presence presence() {
+        return presence;
+    }
+    
+    /**
+     * Oturum döngüleri başına işlenen girdi sayısı ve kuyrukta bekleme
+     * süreleri (izleme için)
+     * 
+     * @return Özet metin
+     */
+    public String getSessionLoopStats() {
+        return sessionLoops.summary();
+    }
+    
+    /**
+     * Eşleşme sayısı ve oyuncu başına eşleşme süresinin p50/p99 değerleri
+     * (izleme için)
+     * 
+     * @return Özet metin
+     */
+    public String getMatchmakingStats() {
+        return matchmaker.summary();
+    }
+    
+    /**
+     * Zamanlı sunucu işleri için ortak zamanlayıcıyı döndürür. Görevler kısa
+     * sürmeli ve ağ yazmasını beklememelidir (mesajlar istemci kuyruklarına
+     * bırakılır).
+     */
+    ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+    
+    /**
+     * Bir oyuncu için tek kullanımlık oturum anahtarı üretir. Bağlantı koparsa
+     * oyuncu bu anahtarla yeni bir bağlantıdan oyuna geri dönebilir.
+     * 
+     * @param session Oyun oturumu
+     * @param color Oyuncunun rengi
+     * @return Tahmin edilemez anahtar
+     */
+    String issueResumeToken(GameSession session, Stone color) {
+        byte[] bytes = new byte[18];
+        tokenRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        resumeTickets.put(token, new ResumeTicket(session, color));
+        return token;
+    }
+    
+    /**
+     * Oturumun verdiği anahtarları geçersiz kılar (oyun bittiğinde). Daha önce
+     * kullanılmış anahtarlar zaten silinmiştir.
+     * 
+     * @param tokens Oturumun verdiği anahtarlar
+     */
+    void revokeResumeTokens(Collection<String> tokens) {
+        for (String token : tokens) {
+            resumeTickets.remove(token);
+        }
+    }
+    
+    /**
+     * Yeni bağlantıyı anahtarın işaret ettiği oyuna bağlar. Anahtar başarılı
+     * olsun olmasın tek kullanımlıktır.
+     * 
+     * @param client Yeni bağlantı
+     * @param token Oturum anahtarı
+     * @return Anahtar geçerliyse true; oturum geri dönüşü kendi döngüsünde
+     *         tamamlar ya da oyun bittiyse boş RESUME_STATE ile reddeder
+     */
+    boolean resume(SClient client, String token) {
+        ResumeTicket ticket = token == null ? null : resumeTickets.remove(token);
+        if (ticket == null) {
+            LOGGER.log(Level.INFO, "Client {0} sent an unknown resume token", client.id);
+            return false;
+        }
+        ticket.session().reattach(client, ticket.color());
+        return true;
     }
     
     /**
@@ -189,34 +505,38 @@ public class Server {
      * @param client Eklenecek istemci
      * @param configId Oyun konfigürasyon ID'si
      */
-    public synchronized void addToWaitingQueue(SClient client, int configId) {
+    public void addToWaitingQueue(SClient client, int configId) {
         // Geçersiz configId ise, varsayılan olarak 19x19 kullan
-        if (!waitingClientsByConfig.containsKey(configId)) {
+        if (!matchmaker.supports(configId)) {
             configId = 3; // 19x19
         }
         
-        List<SClient> waitingList = waitingClientsByConfig.get(configId);
+        // İstemci bağlıysa ve oyunda değilse ve zaten beklemiyorsa ekle
+        if (!isClientUsable(client) || matchmaker.isWaiting(client)) {
+            return;
+        }
         
-        // İstemci bağlıysa ve oyunda değilse ve zaten listede yoksa ekle
-        if (!waitingList.contains(client) && client.isConnected() && !client.isInGame()) {
-            waitingList.add(client);
-            
-            // Konfigürasyon bilgisini oluştur
-            GameConfig config = getConfigById(configId);
-            
-            LOGGER.log(Level.INFO, "Client {0} added to waiting queue with config: {1}. Queue size: {2}", 
-                      new Object[]{client.id, config, waitingList.size()});
-            
-            try {
-                // İstemciye bekleme durumunu bildir
-                client.send(new Message(Message.Type.MSG_FROM_CLIENT, 
-                                       "System: Eşleşme bekleniyor... " + 
-                                       "Seçilen konfigürasyon: " + config + ". " +
-                                       "Sırada bekleyen: " + waitingList.size()));
-            } catch (IOException e) {
-                LOGGER.log(Level.WARNING, "Could not send waiting message to client " + client.id, e);
-                waitingList.remove(client);
-            }
+        // Konfigürasyon bilgisini oluştur
+        GameConfig config = getConfigById(configId);
+        Glicko2.Rating rating = client.getRating();
+        int waiting = matchmaker.waitingCount(configId) + 1;
+        
+        try {
+            // İstemciye bekleme durumunu bildir; bilet bırakılmadan önce kuyruğa
+            // alınır ki eşleşme bildiriminden önce gitsin
+            client.send(new Message(Message.Type.MSG_FROM_CLIENT, 
+                                   "System: Eşleşme bekleniyor... " + 
+                                   "Seçilen konfigürasyon: " + config + ". " +
+                                   "Puanınız: " + rating + ". " +
+                                   "Sırada bekleyen: " + waiting));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not send waiting message to client " + client.id, e);
+            return;
+        }
+        
+        if (matchmaker.enqueue(client, configId, rating.rating()) > 0) {
+            LOGGER.log(Level.INFO, "Client {0} (rating {1}) added to waiting queue with config: {2}. Queue size: {3}", 
+                      new Object[]{client.id, rating, config, waiting});
         }
     }
     
@@ -244,53 +564,34 @@ public class Server {
     }
     
     /**
-     * Tüm bekleyen eşleştirmeleri kontrol eder ve mümkünse oyun oturumları oluşturur
+     * Eşleştiriciyi uyandırır; bekleyen eşleşmeler eşleştirici thread'de
+     * oluşturulur
      */
     public void checkAndCreateMatch() {
-        synchronized (matchingLock) {
-            // Her konfigürasyon için kontrol et
-            for (Map.Entry<Integer, List<SClient>> entry : waitingClientsByConfig.entrySet()) {
-                List<SClient> waitingList = entry.getValue();
-                int configId = entry.getKey();
-                
-                // En az iki istemci varsa, eşleştirme yap
-                if (waitingList.size() >= 2) {
-                    // İlk iki istemciyi al
-                    SClient client1 = waitingList.get(0);
-                    SClient client2 = waitingList.get(1);
-                    
-                    // Bağlantı kontrolü
-                    if (!isClientUsable(client1)) {
-                        waitingList.remove(client1);
-                        checkAndCreateMatch(); // Tekrar kontrol et
-                        return;
-                    }
-                    
-                    if (!isClientUsable(client2)) {
-                        waitingList.remove(client2);
-                        checkAndCreateMatch(); // Tekrar kontrol et
-                        return;
-                    }
-                    
-                    // Listeden çıkar
-                    waitingList.remove(client1);
-                    waitingList.remove(client2);
-                    
-                    // Oyun konfigürasyonunu al
-                    GameConfig config = getConfigById(configId);
-                    
-                    // Rastgele renk ataması
-                    boolean client1IsBlack = random.nextBoolean();
-                    SClient blackClient = client1IsBlack ? client1 : client2;
-                    SClient whiteClient = client1IsBlack ? client2 : client1;
-                    
-                    LOGGER.log(Level.INFO, "Creating match with config {0}: Client {1} (BLACK) vs Client {2} (WHITE)", 
-                              new Object[]{config, blackClient.id, whiteClient.id});
-                    
-                    createGameSession(blackClient, whiteClient, config);
-                }
-            }
-        }
+        matchmaker.wake();
+    }
+    
+    /**
+     * Eşleştiricinin puanca yakın bulduğu iki istemci için renkleri belirler
+     * ve oyunu başlatır (eşleştirici thread'de çalışır)
+     * 
+     * @param client1 Daha uzun bekleyen istemci
+     * @param client2 Diğer istemci
+     * @param configId Konfigürasyon ID'si
+     */
+    private void startMatch(SClient client1, SClient client2, int configId) {
+        // Oyun konfigürasyonunu al
+        GameConfig config = getConfigById(configId);
+        
+        // Rastgele renk ataması
+        boolean client1IsBlack = random.nextBoolean();
+        SClient blackClient = client1IsBlack ? client1 : client2;
+        SClient whiteClient = client1IsBlack ? client2 : client1;
+        
+        LOGGER.log(Level.INFO, "Creating match with config {0}: Client {1} (BLACK, {2}) vs Client {3} (WHITE, {4})", 
+                  new Object[]{config, blackClient.id, blackClient.getRating(), whiteClient.id, whiteClient.getRating()});
+        
+        createGameSession(blackClient, whiteClient, config);
     }
     
     /**
@@ -301,38 +602,32 @@ public class Server {
      * @param config Oyun konfigürasyonu
      */
     private void createGameSession(SClient blackClient, SClient whiteClient, GameConfig config) {
+        // Bildirim mesajları
         try {
-            // Bildirim mesajları
-            try {
-                String configInfo = "Tahta: " + config.getBoardSize() + "x" + config.getBoardSize() + 
-                                   ", Handicap: " + config.getHandicap() + 
-                                   ", Komi: " + config.getKomi();
-                
-                blackClient.send(new Message(Message.Type.MSG_FROM_CLIENT, 
-                                          "System: Rakip bulundu! Oyun başlıyor... (Siz BLACK oynuyorsunuz)\n" + configInfo));
-                whiteClient.send(new Message(Message.Type.MSG_FROM_CLIENT, 
-                                          "System: Rakip bulundu! Oyun başlıyor... (Siz WHITE oynuyorsunuz)\n" + configInfo));
-            } catch (IOException e) {
-                LOGGER.warning("Error sending match notification: " + e.getMessage());
-                handleMatchingError(blackClient, whiteClient, config.getConfigId());
-                return;
-            }
-            
-            // Oyun oturumu oluştur
-            GameSession session = new GameSession(blackClient, whiteClient, this, config);
-            
-            // Oyuncuları oyunda olarak işaretle
-            blackClient.setInGame(true);
-            whiteClient.setInGame(true);
-            blackClient.bindSession(session);
-            whiteClient.bindSession(session);
-            
-            LOGGER.info("Game session started successfully");
+            String configInfo = "Tahta: " + config.getBoardSize() + "x" + config.getBoardSize() + 
+                               ", Handicap: " + config.getHandicap() + 
+                               ", Komi: " + config.getKomi();
             
+            blackClient.send(new Message(Message.Type.MSG_FROM_CLIENT, 
+                                      "System: Rakip bulundu! Oyun başlıyor... (Siz BLACK oynuyorsunuz)\n" + configInfo));
+            whiteClient.send(new Message(Message.Type.MSG_FROM_CLIENT, 
+                                      "System: Rakip bulundu! Oyun başlıyor... (Siz WHITE oynuyorsunuz)\n" + configInfo));
         } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error creating game session", e);
+            LOGGER.warning("Error sending match notification: " + e.getMessage());
             handleMatchingError(blackClient, whiteClient, config.getConfigId());
+            return;
         }
+        
+        // Oyun oturumu oluştur; başlangıç mesajları oturumun döngüsünde gönderilir
+        GameSession session = new GameSession(blackClient, whiteClient, this, config);
+        
+        // Oyuncuları oyunda olarak işaretle
+        blackClient.setInGame(true);
+        whiteClient.setInGame(true);
+        blackClient.bindSession(session);
+        whiteClient.bindSession(session);
+        
+        LOGGER.info("Game session started successfully");
     }
     
     /**
@@ -367,9 +662,6 @@ public class Server {
             client2.setInGame(false);
             addToWaitingQueue(client2, configId);
         }
-        
-        // Yeni eşleştirme kontrolü yap
-        checkAndCreateMatch();
     }
     
     /**
@@ -378,7 +670,7 @@ public class Server {
      * @param player1 Birinci oyuncu
      * @param player2 İkinci oyuncu
      */
-    public synchronized void gameEnded(SClient player1, SClient player2) {
+    public void gameEnded(SClient player1, SClient player2) {
         LOGGER.log(Level.INFO, "Game ended between clients {0} and {1}", 
                   new Object[]{player1.id, player2.id});
         
@@ -395,24 +687,31 @@ public class Server {
     }
     
     /**
-     * Tüm istemcilere bağlı istemci listesini gönderir
+     * Oyun sonucuna göre iki oyuncunun Glicko-2 puanını günceller ve
+     * oyunculara yeni puanlarını bildirir. Oturumun döngüsünde çağrılır;
+     * oyuncu aynı anda tek oyunda olduğundan puanına başka yazan olmaz.
      * 
-     * @throws IOException Mesaj gönderilirken hata olursa
+     * @param black Siyah oyuncu
+     * @param white Beyaz oyuncu
+     * @param blackScore Siyahın sonucu: 1 galibiyet, 0.5 beraberlik, 0 yenilgi
      */
-    private void broadcastClientIds() throws IOException {
-        String ids = clients.stream()
-            .map(c -> String.valueOf(c.id))
-            .collect(Collectors.joining(","));
+    void recordResult(SClient black, SClient white, double blackScore) {
+        Glicko2.Rating blackRating = black.getRating();
+        Glicko2.Rating whiteRating = white.getRating();
+        black.setRating(Glicko2.update(blackRating, whiteRating, blackScore));
+        white.setRating(Glicko2.update(whiteRating, blackRating, 1 - blackScore));
         
-        Message message = new Message(Message.Type.CLIENT_IDS, ids);
+        LOGGER.log(Level.INFO, "Ratings updated: client {0} {1} -> {2}, client {3} {4} -> {5}", 
+                  new Object[]{black.id, blackRating, black.getRating(), white.id, whiteRating, white.getRating()});
         
-        for (SClient client : clients) {
+        for (SClient player : new SClient[]{black, white}) {
             try {
-                if (client.isConnected()) {
-                    client.send(message);
+                if (player.isConnected()) {
+                    player.send(new Message(Message.Type.MSG_FROM_CLIENT, 
+                                           "System: Yeni puanınız: " + player.getRating()));
                 }
             } catch (IOException e) {
-                LOGGER.warning("Error broadcasting client IDs to client " + client.id);
+                LOGGER.warning("Error sending rating to client " + player.id);
             }
         }
     }
@@ -425,11 +724,9 @@ public class Server {
      * @throws IOException Mesaj gönderilirken hata olursa
      */
     void sendToClient(int targetId, String text) throws IOException {
-        for (SClient client : clients) {
-            if (client.id == targetId && client.isConnected()) {
-                client.send(new Message(Message.Type.MSG_FROM_CLIENT, targetId + "," + text));
-                break;
-            }
+        SClient client = clients.get(targetId);
+        if (client != null && client.isConnected()) {
+            client.send(new Message(Message.Type.MSG_FROM_CLIENT, targetId + "," + text));
         }
     }
     
@@ -438,22 +735,16 @@ public class Server {
      * 
      * @param client Çıkarılacak istemci
      */
-    synchronized void removeClient(SClient client) {
-        if (clients.remove(client)) {
+    void removeClient(SClient client) {
+        if (clients.remove(client.id, client)) {
             LOGGER.log(Level.INFO, "Client {0} removed from server. Remaining clients: {1}", 
                       new Object[]{client.id, clients.size()});
             
-            // Tüm bekleme listelerinden çıkar
-            for (List<SClient> waitingList : waitingClientsByConfig.values()) {
-                waitingList.remove(client);
-            }
+            // Bekleyen bileti iptal et; eşleştirici sırası gelince atlar
+            matchmaker.cancel(client);
             
-            try {
-                broadcastClientIds();
-            } catch (IOException ignored) {}
-            
-            // Eşleştirme kontrolü yap
-            checkAndCreateMatch();
+            // Bağlı istemci listesinin bir sonraki yayınından çıkar
+            presence.left(client);
         }
     }
     
@@ -466,14 +757,23 @@ public class Server {
         return clients.size();
     }
     
+    /**
+     * Tüm istemcilerin giden kuyruklarında bekleyen mesaj sayısını döndürür
+     * 
+     * @return Gönderilmeyi bekleyen mesaj sayısı
+     */
+    public int getQueuedMessageCount() {
+        return clients.values().stream()
+            .mapToInt(SClient::getOutboxDepth)
+            .sum();
+    }
+    
     /**
      * Bekleyen istemci sayısını döndürür
      * 
      * @return Bekleyen istemci sayısı
      */
     public int getWaitingClientCount() {
-        return waitingClientsByConfig.values().stream()
-            .mapToInt(List::size)
-            .sum();
+        return matchmaker.waitingCount();
     }
 }
\ No newline at end of file
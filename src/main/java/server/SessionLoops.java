@@ -0,0 +1,126 @@
+package server;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Oyun oturumlarının posta kutularını çalıştıran tek thread'li döngüler.
+ * <p>
+ * Her oturum, kimliğine göre döngülerden birine sabitlenir ve tüm girdileri
+ * (hamle, pas, sohbet, zaman aşımı, bağlantı kopması) o döngüye iş olarak
+ * bırakılır. Bir oturumun işleri böylece hep aynı thread'de ve geliş
+ * sırasıyla çalışır; oturum kodu kilit gerektirmez ve durumu aynı çekirdeğin
+ * önbelleğinde kalır. Oturumlar döngülere eşit dağılır.
+ * </p>
+ * <p>
+ * Her döngü için kuyrukta bekleme süresi (işin bırakılmasından çalışmaya
+ * başlamasına kadar) ölçülür; yüklü bir döngü bu süreden görülür. Kuyruk
+ * sınırı oturum tarafındadır: {@link GameSession} oyuncu başına bekleyen
+ * girdiyi sınırlar, oturumun kendi işleri (zaman aşımı, kopma) her zaman
+ * kabul edilir.
+ * </p>
+ */
+final class SessionLoops {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionLoops.class.getName());
+
+    private final Loop[] loops;
+
+    /**
+     * @param count Döngü sayısı
+     */
+    SessionLoops(int count) {
+        loops = new Loop[Math.max(1, count)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new Loop(i);
+        }
+    }
+
+    /**
+     * Oturumun sabitlendiği döngüyü döndürür.
+     *
+     * @param sessionId Oturum kimliği
+     * @return Oturumun posta kutusu
+     */
+    Executor forSession(long sessionId) {
+        return loops[(int) Math.floorMod(sessionId, (long) loops.length)];
+    }
+
+    /**
+     * Döngüleri durdurur; kuyruktaki işler atılır.
+     */
+    void shutdown() {
+        for (Loop loop : loops) {
+            loop.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Tüm döngülerde bekleyen iş sayısı
+     */
+    int queuedTasks() {
+        int total = 0;
+        for (Loop loop : loops) {
+            total += loop.executor.getQueue().size();
+        }
+        return total;
+    }
+
+    /**
+     * @return Döngü başına iş sayısı ve kuyrukta bekleme süreleri
+     */
+    String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Loop loop : loops) {
+            long tasks = loop.tasks.sum();
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append('#').append(loop.index).append(": ").append(tasks).append(" tasks");
+            if (tasks > 0) {
+                sb.append(", queue wait avg ").append(loop.waitNanos.sum() / tasks / 1000)
+                        .append(" us, max ").append(loop.maxWaitNanos.get() / 1000).append(" us");
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Tek bir döngü: tek thread'li yürütücü ve bekleme ölçümü.
+     */
+    private static final class Loop implements Executor {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder tasks = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        Loop(int index) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    Thread.ofPlatform().name("Session-Loop-" + index).daemon(true).factory());
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            long queued = System.nanoTime();
+            executor.execute(() -> {
+                long wait = System.nanoTime() - queued;
+                tasks.increment();
+                waitNanos.add(wait);
+                maxWaitNanos.accumulate(wait);
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Error in session loop " + index, e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package game.go.test;
+
+import game.go.model.BoardReductions;
+import java.util.Random;
+
+/**
+ * Tahta indirgemeleri için basit benchmark.
+ * <p>
+ * Analiz servisinin toplu pozisyon işlemesini taklit eder: rastgele 19x19
+ * pozisyonlardan oluşan bir grup üzerinde renk sayma, fark maskesi ve değişen
+ * nokta çıkarma işlemlerini skaler ve etkin çekirdekle ölçer.
+ * </p>
+ * Çalıştırma: {@code java --add-modules jdk.incubator.vector -cp ... game.go.test.BoardReductionBenchmark [pozisyon] [tur]}
+ */
+public class BoardReductionBenchmark {
+
+    private static final int CELLS = 19 * 19;
+
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Random rnd = new Random(42);
+        byte[][] boards = new byte[positions][CELLS];
+        byte[][] next = new byte[positions][CELLS];
+        for (int i = 0; i < positions; i++) {
+            for (int c = 0; c < CELLS; c++) {
+                boards[i][c] = (byte) rnd.nextInt(3);
+            }
+            System.arraycopy(boards[i], 0, next[i], 0, CELLS);
+            // Birkaç hamlelik fark
+            for (int k = 0; k < 3; k++) {
+                next[i][rnd.nextInt(CELLS)] = (byte) rnd.nextInt(3);
+            }
+        }
+
+        BoardReductions.Kernel scalar = BoardReductions.scalar();
+        BoardReductions.Kernel active = BoardReductions.active();
+        System.out.println("Pozisyon: " + positions + ", tur: " + rounds + ", etkin çekirdek: " + active.name());
+
+        // Isınma ve doğruluk kontrolü
+        for (int r = 0; r < 3; r++) {
+            long a = run(scalar, boards, next);
+            long b = run(active, boards, next);
+            if (a != b) {
+                throw new IllegalStateException("Çekirdekler farklı sonuç verdi: " + a + " != " + b);
+            }
+        }
+
+        long scalarNs = time(scalar, boards, next, rounds);
+        long activeNs = time(active, boards, next, rounds);
+        double perPosScalar = (double) scalarNs / ((long) positions * rounds);
+        double perPosActive = (double) activeNs / ((long) positions * rounds);
+
+        System.out.printf("%-16s %8.1f ns/pozisyon%n", scalar.name(), perPosScalar);
+        System.out.printf("%-16s %8.1f ns/pozisyon%n", active.name(), perPosActive);
+        System.out.printf("Hızlanma: %.2fx%n", perPosScalar / perPosActive);
+    }
+
+    private static long time(BoardReductions.Kernel k, byte[][] boards, byte[][] next, int rounds) {
+        long start = System.nanoTime();
+        long sink = 0;
+        for (int r = 0; r < rounds; r++) {
+            sink += run(k, boards, next);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return elapsed;
+    }
+
+    private static long run(BoardReductions.Kernel k, byte[][] boards, byte[][] next) {
+        long[] mask = new long[(CELLS + 63) / 64];
+        int[] changed = new int[CELLS];
+        long sum = 0;
+        for (int i = 0; i < boards.length; i++) {
+            sum += k.count(boards[i], CELLS, (byte) 1);
+            sum += k.count(boards[i], CELLS, (byte) 2);
+            sum += k.diffMask(boards[i], next[i], CELLS, mask);
+            sum += mask[0];
+            int n = k.changedPoints(boards[i], next[i], CELLS, changed);
+            sum += n > 0 ? changed[n - 1] : 0;
+        }
+        return sum;
+    }
+}
@@ -1,12 +1,37 @@
 package game.go.test;
 
+import common.Frame;
+import common.IOUtil;
+import common.Message;
+import common.MessageChannel;
+import game.go.event.MetricsGameListener;
+import game.go.model.BatchEngine;
 import game.go.model.Board;
+import game.go.model.BoardCodec;
+import game.go.model.GameSnapshot;
 import game.go.model.GameState;
 import game.go.model.Point;
 import game.go.model.Stone;
+import game.go.util.GameClock;
+import game.go.util.Glicko2;
 import game.go.util.GameRecorder;
+import server.Matchmaker;
+import server.Outbox;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Go oyun motoru için test sınıfı.
@@ -221,6 +246,457 @@ public class GoGameTest {
         System.out.println("Test başarılı!");
     }
     
+    /**
+     * Olay dinleyicisi testi - hamle, esir ve pas olayları dinleyiciye ulaşmalı
+     */
+    public void testEventListener() {
+        System.out.println("=== Test: Olay Dinleyicisi ===");
+        
+        GameState state = new GameState(9);
+        MetricsGameListener metrics = new MetricsGameListener();
+        state.addListener(metrics);
+        
+        state.play(new Point(0, 1)); // Siyah
+        state.play(new Point(0, 0)); // Beyaz
+        state.play(new Point(1, 0)); // Siyah - (0,0) beyaz taşını esir alır
+        state.pass();                // Beyaz
+        state.calculateTerritorialScores();
+        
+        assertCondition(metrics.getMoves() == 3,
+                       "3 hamle olayı bekleniyordu, ancak sonuç: " + metrics.getMoves());
+        assertCondition(metrics.getCaptures() == 1,
+                       "1 esir olayı bekleniyordu, ancak sonuç: " + metrics.getCaptures());
+        assertCondition(metrics.getPasses() == 1,
+                       "1 pas olayı bekleniyordu, ancak sonuç: " + metrics.getPasses());
+        assertCondition(state.getMoveNumber() == 4,
+                       "Hamle sayısı 4 olmalıydı, ancak sonuç: " + state.getMoveNumber());
+        // Anlık görüntü yayını puan olayı üretmemeli; yalnızca açık puan hesabı sayılır
+        assertCondition(metrics.getScoreCalculations() == 1,
+                       "1 puan olayı bekleniyordu, ancak sonuç: " + metrics.getScoreCalculations());
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Toplu tahta indirgemeleri testi - sayma ve değişen noktalar
+     */
+    public void testBoardReductions() {
+        System.out.println("=== Test: Tahta İndirgemeleri ===");
+        
+        GameState state = new GameState(9);
+        state.play(new Point(0, 1)); // Siyah
+        state.play(new Point(0, 0)); // Beyaz
+        Board before = state.board().copy();
+        state.play(new Point(1, 0)); // Siyah - (0,0) beyaz taşını esir alır
+        
+        assertCondition(state.board().countStones(Stone.BLACK) == 2,
+                       "2 siyah taş bekleniyordu");
+        assertCondition(state.board().countStones(Stone.WHITE) == 0,
+                       "Beyaz taş kalmamalıydı");
+        
+        int[] changed = new int[81];
+        int n = before.changedPoints(state.board(), changed);
+        assertCondition(n == 2 && changed[0] == 0 && changed[1] == 1,
+                       "Değişen noktalar (0,0) ve (1,0) olmalıydı, ancak sayı: " + n);
+        
+        long[] mask = new long[2];
+        assertCondition(before.diffMask(state.board(), mask) == 2 && mask[0] == 0b11L,
+                       "Fark maskesi ilk iki biti içermeliydi");
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Toplu motor testi - aynı hamle dizisinde GameState ile aynı tahtayı üretmeli
+     */
+    public void testBatchEngineMatchesGameState() {
+        System.out.println("=== Test: Toplu Motor ===");
+        
+        GameState state = new GameState(9);
+        BatchEngine engine = new BatchEngine(2, 9, 7L);
+        Random rnd = new Random(11);
+        
+        for (int i = 0; i < 400; i++) {
+            int x = rnd.nextInt(9);
+            int y = rnd.nextInt(9);
+            boolean expected = state.play(new Point(x, y)).valid;
+            boolean actual = engine.play(1, x, y);
+            assertCondition(expected == actual,
+                           "Hamle " + i + " (" + x + "," + y + ") için geçerlilik farklı: " + expected + " / " + actual);
+        }
+        
+        for (int y = 0; y < 9; y++) {
+            for (int x = 0; x < 9; x++) {
+                assertCondition(state.board().getAtCoord(x, y) == engine.getStone(1, x, y),
+                               "(" + x + "," + y + ") konumunda taş farklı");
+            }
+        }
+        assertCondition(state.getWhiteCaptureCount() == engine.getCapturedBy(1, Stone.WHITE),
+                       "Beyazın esir sayısı farklı");
+        
+        // Rastgele oyunlar sonlanmalı
+        long moves = engine.playAllToEnd();
+        assertCondition(engine.isOver(0) && moves > 0, "Toplu oyunlar bitmeliydi");
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Görüntü testi - yayınlanan görüntü değişmez kalmalı ve son hamleyi yansıtmalı
+     */
+    public void testSnapshot() {
+        System.out.println("=== Test: Durum Görüntüsü ===");
+        
+        GameState state = new GameState(9);
+        state.play(new Point(2, 2)); // Siyah
+        GameSnapshot first = state.snapshot();
+        state.play(new Point(3, 3)); // Beyaz
+        GameSnapshot second = state.snapshot();
+        
+        assertCondition(first.get(3, 3) == Stone.EMPTY, "Eski görüntü sonraki hamleden etkilenmemeli");
+        assertCondition(second.get(3, 3) == Stone.WHITE, "Yeni görüntüde beyaz taş olmalı");
+        assertCondition(second.toPlay() == Stone.BLACK && second.getMoveNumber() == 2,
+                       "Sıra ve hamle sayısı yanlış: " + second);
+        assertCondition(second.getBlackScore() == state.scoreFor(Stone.BLACK)
+                       && second.getWhiteScore() == state.scoreFor(Stone.WHITE),
+                       "Görüntüdeki skor hesaplanan skorla aynı olmalı");
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Paketli tahta testi - 2 bit kodlama tahtayı ve istemci dizisini aynen geri üretmeli
+     */
+    public void testPackedBoard() {
+        System.out.println("=== Test: Paketli Tahta ===");
+        
+        GameState state = new GameState(19);
+        Random rnd = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            state.play(new Point(rnd.nextInt(19), rnd.nextInt(19)));
+        }
+        Board board = state.board();
+        
+        byte[] packed = BoardCodec.pack(board);
+        assertCondition(packed.length == 92, "19x19 tahta 92 bayt olmalı: " + packed.length);
+        
+        Board restored = BoardCodec.unpack(BoardCodec.fromBase64(BoardCodec.toBase64(board)), 0);
+        char[][] chars = BoardCodec.unpackToChars(packed, 0, null);
+        char[][] expected = board.getGridAsCharArray();
+        Board fromChars = BoardCodec.fromChars(chars);
+        for (int y = 0; y < 19; y++) {
+            for (int x = 0; x < 19; x++) {
+                assertCondition(restored.getAtCoord(x, y) == board.getAtCoord(x, y),
+                               "(" + x + "," + y + ") tahtada farklı");
+                assertCondition(fromChars.getAtCoord(x, y) == board.getAtCoord(x, y),
+                               "(" + x + "," + y + ") karakter dizisinden kurulan tahtada farklı");
+                assertCondition(chars[y][x] == expected[y][x], "(" + x + "," + y + ") karakter dizisinde farklı");
+            }
+        }
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * İkili protokol testi - her mesaj aynen geri çözülmeli, eski ve yeni çerçeveler karışabilmeli
+     */
+    public void testBinaryWireFormat() {
+        System.out.println("=== Test: İkili Protokol ===");
+        
+        Board board = new Board(9);
+        board.placeStone(new Point(2, 3), Stone.BLACK);
+        board.placeStone(new Point(4, 4), Stone.WHITE);
+        Message[] messages = {
+            new Message(Message.Type.MOVE, "3,15"),
+            new Message(Message.Type.MOVE, "03,x"),
+            new Message(Message.Type.SCORE, "12,-1,BLACK"),
+            new Message(Message.Type.GAME_OVER, "0,7,WHITE süre dolduğu için oyunu kaybetti."),
+            new Message(Message.Type.TIMER_UPDATE, "29:59,30:00"),
+            new Message(Message.Type.BOARD_STATE, server.BoardSerializer.toJson(board)),
+            new Message(Message.Type.BOARD_KEYFRAME, "7," + server.BoardSerializer.toJson(board)),
+            new Message(Message.Type.BOARD_DELTA, "8,1,3,3,2,3"),
+            new Message(Message.Type.MOVE_APPLIED, "9,2,4,4,12,7,1,1795,1802,3,3"),
+            new Message(Message.Type.MOVE, "3,15,42"),
+            new Message(Message.Type.MOVE_REJECTED, "42"),
+            new Message(Message.Type.CLOCK, "1,250,1795000,0,1802000,3,30000,0"),
+            new Message(Message.Type.PRESENCE, "1,42,2,7,9,3"),
+            new Message(Message.Type.PRESENCE_SUBSCRIBE, "1"),
+            new Message(Message.Type.BOARD_KEYFRAME, "9," + BoardCodec.toBase64(board)),
+            new Message(Message.Type.PASS, ""),
+            new Message(Message.Type.MSG_FROM_CLIENT, "System: Hoş geldiniz!")
+        };
+        
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (int i = 0; i < messages.length; i++) {
+                IOUtil.writeMessage(out, messages[i], i % 2 == 0);
+            }
+            int binarySize = 0;
+            for (Message m : messages) {
+                ByteArrayOutputStream one = new ByteArrayOutputStream();
+                IOUtil.writeMessage(one, m, true);
+                binarySize += one.size();
+            }
+        
+            ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+            for (Message expected : messages) {
+                Message actual = IOUtil.readMessage(in);
+                assertCondition(expected.equals(actual), "Mesaj farklı çözüldü: " + expected + " / " + actual);
+            }
+            assertCondition(IOUtil.readMessage(in) == null, "Akış sonunda null dönmeli");
+            assertCondition(binarySize < out.size(), "İkili çerçeveler daha küçük olmalı");
+            
+            // Bağlantı kanalı aynı çerçeveleri üretmeli ve baytları saymalı
+            ByteArrayOutputStream channelOut = new ByteArrayOutputStream();
+            MessageChannel writer = new MessageChannel(new ByteArrayInputStream(new byte[0]), channelOut);
+            for (int i = 0; i < messages.length; i++) {
+                writer.write(messages[i], i % 2 == 0);
+            }
+            assertCondition(writer.getBytesOut() == channelOut.size(), "Yazılan bayt sayacı yanlış");
+            MessageChannel reader = new MessageChannel(new ByteArrayInputStream(channelOut.toByteArray()), channelOut);
+            for (Message expected : messages) {
+                Message actual = reader.read();
+                assertCondition(expected.equals(actual), "Kanal mesajı farklı çözdü: " + expected + " / " + actual);
+            }
+            assertCondition(reader.read() == null && reader.getBytesIn() == channelOut.size(),
+                           "Okunan bayt sayacı yanlış");
+            
+            // Önceden kodlanmış çerçeve her alıcıya aynı baytları yazmalı
+            Frame frame = Frame.of(messages[2]);
+            ByteArrayOutputStream frameOut = new ByteArrayOutputStream();
+            MessageChannel frameWriter = new MessageChannel(new ByteArrayInputStream(new byte[0]), frameOut);
+            frameWriter.write(frame, true);
+            frameWriter.write(frame, false);
+            ByteArrayInputStream frameIn = new ByteArrayInputStream(frameOut.toByteArray());
+            assertCondition(messages[2].equals(IOUtil.readMessage(frameIn)) && messages[2].equals(IOUtil.readMessage(frameIn)),
+                           "Çerçeve iki biçimde de aynı mesaja çözülmeli");
+        } catch (IOException e) {
+            assertCondition(false, "G/Ç hatası: " + e.getMessage());
+        }
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Sıkıştırma testi - büyük çerçeveler sıkıştırılmalı, küçükler olduğu gibi
+     * gitmeli ve hepsi aynen çözülmeli
+     */
+    public void testCompressedFrames() {
+        System.out.println("=== Test: Çerçeve Sıkıştırma ===");
+        
+        Board board = new Board(19);
+        board.placeStone(new Point(3, 3), Stone.BLACK);
+        board.placeStone(new Point(15, 15), Stone.WHITE);
+        Message[] messages = {
+            new Message(Message.Type.BOARD_STATE, server.BoardSerializer.toJson(board)),
+            new Message(Message.Type.MOVE, "3,15"),
+            new Message(Message.Type.MSG_FROM_CLIENT, "System: " + "Oyun başladı! ".repeat(60))
+        };
+        
+        try {
+            ByteArrayOutputStream plainOut = new ByteArrayOutputStream();
+            MessageChannel plain = new MessageChannel(new ByteArrayInputStream(new byte[0]), plainOut);
+            ByteArrayOutputStream packedOut = new ByteArrayOutputStream();
+            MessageChannel writer = new MessageChannel(new ByteArrayInputStream(new byte[0]), packedOut);
+            writer.enableCompression();
+            for (int i = 0; i < messages.length; i++) {
+                plain.write(messages[i], i % 2 == 0);
+                writer.write(messages[i], i % 2 == 0);
+                writer.write(Frame.of(messages[i]), i % 2 != 0);
+                plain.write(Frame.of(messages[i]), i % 2 != 0);
+            }
+            // İkili 19x19 tahta (bayt/kesişim) eşiğin altında kalır
+            assertCondition(writer.getCompressor().getFramesOut() == 3,
+                           "Sadece eşikten büyük çerçeveler sıkıştırılmalı: " + writer.getCompressor().getFramesOut());
+            assertCondition(packedOut.size() * 3 < plainOut.size(),
+                           "Sıkıştırılmış akış çok büyük: " + packedOut.size() + " / " + plainOut.size());
+            
+            MessageChannel reader = new MessageChannel(new ByteArrayInputStream(packedOut.toByteArray()), packedOut);
+            reader.enableCompression();
+            for (Message expected : messages) {
+                for (int k = 0; k < 2; k++) {
+                    Message actual = reader.read();
+                    assertCondition(expected.equals(actual), "Sıkıştırılmış mesaj farklı çözüldü: " + actual);
+                }
+            }
+            assertCondition(reader.read() == null && reader.getCompressor().getFramesIn() == 3,
+                           "Açılan çerçeve sayısı yanlış");
+            
+            // Sıkıştırma anlaşılmamış kanal sıkıştırılmış çerçeveyi reddetmeli
+            MessageChannel strict = new MessageChannel(new ByteArrayInputStream(packedOut.toByteArray()), packedOut);
+            boolean rejected = false;
+            try {
+                while (strict.read() != null) {
+                    // Sıkıştırılmış çerçeveye kadar oku
+                }
+            } catch (IOException expected) {
+                rejected = true;
+            }
+            assertCondition(rejected, "Anlaşılmamış sıkıştırma kabul edilmemeli");
+            
+            // Yayın çerçevesi bir kez sıkıştırılır, ikinci alıcı aynı baytları yazar
+            Frame shared = Frame.of(messages[2]);
+            ByteArrayOutputStream firstOut = new ByteArrayOutputStream();
+            ByteArrayOutputStream secondOut = new ByteArrayOutputStream();
+            MessageChannel first = new MessageChannel(new ByteArrayInputStream(new byte[0]), firstOut);
+            MessageChannel second = new MessageChannel(new ByteArrayInputStream(new byte[0]), secondOut);
+            first.enableCompression();
+            second.enableCompression();
+            first.write(shared, true);
+            second.write(shared, true);
+            assertCondition(Arrays.equals(firstOut.toByteArray(), secondOut.toByteArray()),
+                           "Paylaşılan çerçeve iki alıcıya farklı yazıldı");
+            assertCondition(second.getCompressor().getFramesOut() == 1 && second.getCompressor().getDeflateNanos() == 0,
+                           "Önbelleklenmiş çerçeve yeniden sıkıştırılmamalı");
+            
+            // Kapatılan kanalın sıkıştırıcısı kullanılamaz
+            second.close();
+            rejected = false;
+            try {
+                second.write(messages[2], true);
+            } catch (IOException expected) {
+                rejected = true;
+            }
+            assertCondition(rejected, "Kapatılan sıkıştırıcı kullanılmamalı");
+        } catch (IOException e) {
+            assertCondition(false, "G/Ç hatası: " + e.getMessage());
+        }
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Engellemeyen okuma testi - parça parça gelen baytlardan çerçeveler
+     * bütün olarak ve sırayla çözülmeli
+     */
+    public void testNonBlockingFraming() {
+        System.out.println("=== Test: Engellemeyen Çerçeve Okuma ===");
+        
+        Message[] messages = {
+            new Message(Message.Type.MOVE, "3,15,7"),
+            new Message(Message.Type.MSG_FROM_CLIENT, "System: " + "Oyun başladı! ".repeat(60)),
+            new Message(Message.Type.SCORE, "12,-1,BLACK")
+        };
+        
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            MessageChannel writer = new MessageChannel(out);
+            writer.enableCompression();
+            for (int i = 0; i < messages.length; i++) {
+                writer.write(messages[i], i % 2 == 0);
+            }
+            byte[] bytes = out.toByteArray();
+            
+            // Baytlar 7'şerlik parçalarla küçük bir tampona gelir
+            MessageChannel reader = new MessageChannel(new ByteArrayOutputStream());
+            reader.enableCompression();
+            ByteBuffer in = ByteBuffer.allocate(bytes.length);
+            int decoded = 0;
+            for (int off = 0; off < bytes.length; off += 7) {
+                in.put(bytes, off, Math.min(7, bytes.length - off));
+                in.flip();
+                Message msg;
+                while ((msg = reader.poll(in)) != null) {
+                    assertCondition(messages[decoded].equals(msg), "Mesaj farklı çözüldü: " + msg);
+                    decoded++;
+                }
+                in.compact();
+            }
+            assertCondition(decoded == messages.length, "Çözülen mesaj sayısı yanlış: " + decoded);
+            assertCondition(in.position() == 0, "Tamponda artık bayt kalmamalı");
+            assertCondition(reader.getBytesIn() == bytes.length, "Okunan bayt sayısı yanlış");
+        } catch (IOException e) {
+            assertCondition(false, "G/Ç hatası: " + e.getMessage());
+        }
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Oyun saati testi - süre tik atmadan sıra değişiminde hesaplanmalı;
+     * Fischer artışı, byo-yomi periyotları ve tel biçimi doğru olmalı
+     */
+    public void testGameClock() {
+        System.out.println("=== Test: Oyun Saati ===");
+        
+        long second = 1_000_000_000L;
+        long[] now = {0};
+        
+        // Fischer: 10 sn ana süre, hamle başına 2 sn
+        GameClock fischer = new GameClock(new GameClock.TimeControl(10_000, 0, 0, 2_000), () -> now[0]);
+        fischer.start(Stone.BLACK);
+        now[0] = 3 * second;
+        assertCondition(fischer.secondsRemaining(Stone.BLACK) == 7, "Siyahın kalan süresi 7 sn olmalı");
+        assertCondition(fischer.press(), "Süresi dolmayan hamle kabul edilmeli");
+        assertCondition(fischer.running() == Stone.WHITE, "Sıra beyaza geçmeli");
+        assertCondition(fischer.secondsRemaining(Stone.BLACK) == 9, "Artış eklenmeli: " + fischer.text(Stone.BLACK));
+        now[0] += 4 * second;
+        assertCondition(fischer.nanosToFlag() == 6 * second, "Beyazın süresi 6 sn sonra dolmalı");
+        now[0] += 6 * second;
+        assertCondition(fischer.isFlagged(Stone.WHITE), "Beyazın süresi dolmalı");
+        assertCondition(!fischer.isFlagged(Stone.BLACK), "Siyahın süresi dolmamalı");
+        
+        // Byo-yomi: 10 sn ana süre, 3 x 5 sn periyot
+        now[0] = 0;
+        GameClock byoyomi = new GameClock(new GameClock.TimeControl(10_000, 3, 5_000, 0), () -> now[0]);
+        byoyomi.start(Stone.BLACK);
+        now[0] = 12 * second;
+        assertCondition(byoyomi.text(Stone.BLACK).equals("00:03 (3)"), "Byo-yomi metni yanlış: " + byoyomi.text(Stone.BLACK));
+        byoyomi.press();
+        assertCondition(byoyomi.periodsLeft(Stone.BLACK) == 3, "Periyot içinde hamle periyot kaybettirmemeli");
+        now[0] += second;
+        byoyomi.press();
+        now[0] += 11 * second;
+        assertCondition(byoyomi.periodsLeft(Stone.BLACK) == 1, "İki tam periyot kaybedilmeli");
+        assertCondition(byoyomi.nanosToFlag() == 4 * second, "Son periyodun kalanı 4 sn olmalı");
+        
+        // Tel biçimi: sıradaki oyuncuya yoldaki süre eklenir
+        GameClock remote = GameClock.fromPayload(byoyomi.toPayload(), second / 2, () -> now[0]);
+        assertCondition(remote.running() == Stone.BLACK, "Sıra korunmalı");
+        assertCondition(byoyomi.nanosToFlag() - remote.nanosToFlag() == second / 2, "Gecikme düşülmeli");
+        assertCondition(remote.text(Stone.WHITE).equals(byoyomi.text(Stone.WHITE)), "Rakibin saati aynı olmalı");
+        
+        now[0] += 4 * second;
+        assertCondition(byoyomi.isFlagged(Stone.BLACK), "Periyotlar bitince süre dolmalı");
+        assertCondition(!byoyomi.press(), "Süresi dolan oyuncunun hamlesi geçersiz olmalı");
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Glicko-2 puan güncellemesini Glickman'ın örneğiyle doğrular.
+     */
+    public void testGlicko2() {
+        System.out.println("=== Test: Glicko-2 Puanlama ===");
+        
+        // 1500/200 oyuncu: 1400/30'u yener, 1550/100 ve 1700/300'e yenilir
+        Glicko2.Rating player = new Glicko2.Rating(1500, 200, 0.06);
+        Glicko2.Rating[] opponents = {
+            new Glicko2.Rating(1400, 30, 0.06),
+            new Glicko2.Rating(1550, 100, 0.06),
+            new Glicko2.Rating(1700, 300, 0.06)
+        };
+        Glicko2.Rating updated = Glicko2.update(player, opponents, new double[]{1, 0, 0});
+        assertCondition(Math.abs(updated.rating() - 1464.06) < 0.01, "Puan 1464.06 olmalı: " + updated.rating());
+        assertCondition(Math.abs(updated.deviation() - 151.52) < 0.01, "Sapma 151.52 olmalı: " + updated.deviation());
+        assertCondition(Math.abs(updated.volatility() - 0.05999) < 0.00001, "Oynaklık 0.05999 olmalı: " + updated.volatility());
+        
+        // Tek oyun: kazanan yükselir, kaybeden düşer, sapmalar küçülür
+        Glicko2.Rating a = Glicko2.Rating.INITIAL;
+        Glicko2.Rating b = Glicko2.Rating.INITIAL;
+        Glicko2.Rating winner = Glicko2.update(a, b, 1);
+        Glicko2.Rating loser = Glicko2.update(b, a, 0);
+        assertCondition(winner.rating() > 1500 && loser.rating() < 1500, "Kazanan yükselmeli, kaybeden düşmeli");
+        assertCondition(Math.abs((winner.rating() - 1500) - (1500 - loser.rating())) < 1e-6, "Eşit oyuncularda değişim simetrik olmalı");
+        assertCondition(winner.deviation() < 350 && loser.deviation() < 350, "Sapma küçülmeli");
+        
+        // Oyunsuz dönem: yalnızca sapma büyür
+        Glicko2.Rating idle = Glicko2.update(player, new Glicko2.Rating[0], new double[0]);
+        assertCondition(idle.rating() == 1500 && idle.deviation() > 200, "Oyunsuz dönemde sapma büyümeli");
+        
+        System.out.println("Test başarılı!");
+    }
+    
     /**
      * Tüm testleri çalıştırır.
      */
@@ -234,9 +710,284 @@ public class GoGameTest {
         System.out.println();
         testGroupCaptureAndLiberties();
         System.out.println();
+        testEventListener();
+        System.out.println();
+        testBoardReductions();
+        System.out.println();
+        testBatchEngineMatchesGameState();
+        System.out.println();
+        testSnapshot();
+        System.out.println();
+        testPackedBoard();
+        System.out.println();
+        testBinaryWireFormat();
+        System.out.println();
+        testCompressedFrames();
+        System.out.println();
+        testNonBlockingFraming();
+        System.out.println();
+        testGameClock();
+        System.out.println();
+        testGlicko2();
+        System.out.println();
+        testOutbox();
+        System.out.println();
+        testConcurrentMatchmaking();
+        System.out.println();
+        testMatchWindow();
+        System.out.println();
         System.out.println("==== Tüm testler başarıyla tamamlandı! ====");
     }
     
+    /**
+     * Giden kuyruk testi - dolu kuyrukta atılan ve birleştirilen mesajlar,
+     * yer açılmazsa bağlantının kesilmesi ve gönderilmemiş baytlar varken
+     * kapatmanın beklemesi
+     */
+    public void testOutbox() {
+        System.out.println("=== Test: Giden Kuyruk ===");
+        
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        FakeSink sink = new FakeSink();
+        Outbox outbox = new Outbox(sink, tasks::add, 4);
+        Message moveApplied1 = new Message(Message.Type.MOVE_APPLIED, "1");
+        Message moveApplied2 = new Message(Message.Type.MOVE_APPLIED, "2");
+        
+        // Takılmış bağlantı: yazıcı iş hiçbir şey yazamaz
+        outbox.offer(new Message(Message.Type.TIMER_UPDATE, "1"));
+        outbox.offer(new Message(Message.Type.TIMER_UPDATE, "2"));
+        outbox.offer(moveApplied1);
+        outbox.offer(Frame.of(moveApplied2));
+        runAll(tasks);
+        assertCondition(outbox.depth() == 4 && sink.written.isEmpty(), "Takılmış bağlantıya yazılmamalı");
+        
+        // Dolu kuyrukta önce süre güncellemeleri atılır
+        outbox.offer(new Message(Message.Type.MSG_FROM_CLIENT, "merhaba"));
+        assertCondition(outbox.depth() == 3 && outbox.dropped() == 2,
+                       "Süre güncellemeleri atılmalıydı: " + outbox.depth() + "/" + outbox.dropped());
+        
+        // Yeni anahtar kare eski hamle sonuçlarını götürür, en yenisi kalır
+        outbox.offer(new Message(Message.Type.SCORE, "1,0"));
+        outbox.offer(Frame.of(new Message(Message.Type.BOARD_KEYFRAME, "2,AAAA")));
+        assertCondition(outbox.depth() == 4 && outbox.dropped() == 3,
+                       "Eski MOVE_APPLIED atılmalıydı: " + outbox.depth() + "/" + outbox.dropped());
+        
+        // Yeni skor eski skoru götürür
+        outbox.offer(new Message(Message.Type.SCORE, "2,0"));
+        assertCondition(outbox.depth() == 4 && outbox.dropped() == 4 && !sink.closed,
+                       "Eski skor atılmalıydı: " + outbox.depth() + "/" + outbox.dropped());
+        
+        // Yer açılamazsa bağlantı kesilir
+        outbox.offer(new Message(Message.Type.MSG_FROM_CLIENT, "taşma"));
+        assertCondition(sink.closed && outbox.dropped() == 5, "Taşan kuyrukta bağlantı kesilmeliydi");
+        
+        // Bağlantı açılınca kalanlar sırayla yazılır
+        sink.closed = false;
+        sink.writable = true;
+        outbox.resume();
+        runAll(tasks);
+        assertCondition(sink.written.equals(List.of(Message.Type.MOVE_APPLIED, Message.Type.MSG_FROM_CLIENT,
+                                                              Message.Type.BOARD_KEYFRAME, Message.Type.SCORE)),
+                       "Kalan mesajlar yanlış: " + sink.written);
+        assertCondition(sink.lastPayload.equals("2,0") && !sink.closed, "Son skor yazılmalıydı");
+        
+        // Kapatma, soketin gönderilmemiş baytları bitene kadar bekler
+        sink.written.clear();
+        sink.writable = false;
+        outbox.offer(new Message(Message.Type.MSG_FROM_CLIENT, "son"));
+        runAll(tasks);
+        outbox.closeWhenEmpty();
+        assertCondition(!sink.closed, "Kuyruk boşalmadan kapatılmamalı");
+        sink.writable = true;
+        sink.pendingAfterWrite = true;
+        outbox.resume();
+        runAll(tasks);
+        assertCondition(sink.written.size() == 1 && !sink.closed,
+                       "Gönderilmemiş bayt varken kapatılmamalı");
+        sink.writable = true;
+        outbox.resume();
+        runAll(tasks);
+        assertCondition(sink.closed, "Baytlar gidince bağlantı kapatılmalıydı");
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Eşzamanlı eşleştirme testi - birçok thread bilet bırakıp iptal ederken
+     * hiçbir istemci iki kez eşleşmemeli, iptal edilen eşleşmemeli ve canlı
+     * biletlerin hepsi eşleşmeli
+     */
+    public void testConcurrentMatchmaking() {
+        System.out.println("=== Test: Eşzamanlı Eşleştirme ===");
+        
+        int threads = 8;
+        int perThread = 2000;
+        Map<Integer, Integer> pairedWith = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger wrongConfig = new AtomicInteger();
+        Matchmaker<Integer> matchmaker = new Matchmaker<>(Set.of(1, 2, 3), c -> true, (first, second, configId) -> {
+            for (int c : new int[]{first, second}) {
+                if (pairedWith.putIfAbsent(c, first + second - c) != null) {
+                    duplicates.incrementAndGet();
+                }
+                if (c % 3 + 1 != configId) {
+                    wrongConfig.incrementAndGet();
+                }
+            }
+        });
+        Set<Integer> cancelled = ConcurrentHashMap.newKeySet();
+        
+        try {
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                workers[t] = new Thread(() -> {
+                    for (int i = base; i < base + perThread; i++) {
+                        // Aynı puan: aynı konfigürasyondaki her iki canlı bilet eşleşebilir
+                        matchmaker.enqueue(i, i % 3 + 1, 1500);
+                        if (i % 4 == 0 && matchmaker.cancel(i)) {
+                            cancelled.add(i);
+                        }
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            
+            // Eşleştirici gelen kutularını bitirene kadar bekle
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (pairedWith.size() + cancelled.size() + matchmaker.waitingCount() < threads * perThread
+                    || matchmaker.waitingCount(1) > 1 || matchmaker.waitingCount(2) > 1 || matchmaker.waitingCount(3) > 1) {
+                assertCondition(System.currentTimeMillis() < deadline, "Eşleştirici zamanında bitmedi");
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            assertCondition(false, "Test kesildi");
+        } finally {
+            matchmaker.shutdown();
+        }
+        
+        assertCondition(duplicates.get() == 0, "İki kez eşleşen istemci: " + duplicates.get());
+        assertCondition(wrongConfig.get() == 0, "Yanlış konfigürasyonda eşleşme: " + wrongConfig.get());
+        for (int c : cancelled) {
+            assertCondition(!pairedWith.containsKey(c), "İptal edilen istemci eşleşti: " + c);
+        }
+        for (Map.Entry<Integer, Integer> pair : pairedWith.entrySet()) {
+            assertCondition(pair.getKey().equals(pairedWith.get(pair.getValue())),
+                           "Eşleşme simetrik değil: " + pair.getKey());
+        }
+        // Her konfigürasyonda en fazla tek (eşsiz kalan) canlı bilet bekler
+        assertCondition(pairedWith.size() + cancelled.size() + matchmaker.waitingCount() == threads * perThread
+                       && matchmaker.waitingCount() <= 3,
+                       "Eşleşmemiş canlı bilet kaldı: " + matchmaker.waitingCount());
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    /**
+     * Eşleşme penceresi testi - elle ilerletilen saatle puan farkı ve
+     * bekledikçe genişleyen pencere kuralı, eşleşme süresi yüzdelikleri
+     * (varsayılan pencere: 100 + saniyede 25)
+     */
+    public void testMatchWindow() {
+        System.out.println("=== Test: Eşleşme Penceresi ===");
+        
+        AtomicLong now = new AtomicLong();
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        List<String> pairs = new ArrayList<>();
+        Matchmaker<String> matchmaker = new Matchmaker<>(Set.of(1), c -> true,
+                (first, second, configId) -> pairs.add(first + "-" + second), now::get, tasks::add);
+        assertCondition(matchmaker.percentileMillis(0.5) == -1, "Eşleşme yokken yüzdelik olmamalı");
+        
+        // 200 puan fark: pencere 100'den başlar, 4. saniyede 200'e ulaşır
+        matchmaker.enqueue("A", 1, 1500);
+        matchmaker.enqueue("B", 1, 1700);
+        runAll(tasks);
+        assertCondition(pairs.isEmpty(), "Pencere dışındaki biletler eşleşmemeli");
+        now.set(3_000_000_000L);
+        matchmaker.wake();
+        runAll(tasks);
+        assertCondition(pairs.isEmpty(), "3 saniyede pencere 175, fark 200: eşleşmemeli");
+        now.set(4_000_000_000L);
+        matchmaker.wake();
+        runAll(tasks);
+        assertCondition(pairs.equals(List.of("A-B")), "4 saniyede pencere 200: eşleşmeliydi, sonuç: " + pairs);
+        
+        // Farkın iki pencereden büyüğüne sığması yeter: yeni gelenin penceresi 100, bekleyeninki 175
+        matchmaker.enqueue("C", 1, 1500);
+        now.set(7_000_000_000L);
+        matchmaker.enqueue("E", 1, 1900);
+        runAll(tasks);
+        assertCondition(pairs.size() == 1, "400 puan fark hiçbir pencereye sığmaz");
+        matchmaker.enqueue("D", 1, 1660);
+        runAll(tasks);
+        assertCondition(pairs.equals(List.of("A-B", "C-D")), "Fark 160, C'nin penceresi 175: eşleşmeliydi, sonuç: " + pairs);
+        
+        // İptal edilen bilet eşleşmez
+        matchmaker.cancel("E");
+        matchmaker.enqueue("F", 1, 1900);
+        runAll(tasks);
+        assertCondition(pairs.size() == 2 && matchmaker.waitingCount(1) == 1 && matchmaker.isWaiting("F"),
+                       "İptal edilen bilet eşleşmemeli");
+        
+        // Eşleşme süreleri 4000, 4000, 3000 ve 0 ms; kova üst sınırı en fazla ~%19 büyük
+        long p50 = matchmaker.percentileMillis(0.5);
+        long p99 = matchmaker.percentileMillis(0.99);
+        assertCondition(p50 >= 3000 && p50 <= 3000 * 1.19, "p50 yanlış: " + p50);
+        assertCondition(p99 >= 4000 && p99 <= 4000 * 1.19, "p99 yanlış: " + p99);
+        assertCondition(matchmaker.percentileMillis(0.25) == 0, "En hızlı eşleşme 0 ms olmalı");
+        assertCondition(matchmaker.summary().startsWith("2 matches"), "Özet yanlış: " + matchmaker.summary());
+        
+        System.out.println("Test başarılı!");
+    }
+    
+    private static void runAll(ArrayDeque<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+    
+    /**
+     * Yazılanları kaydeden, yazılabilirliği testten ayarlanan bağlantı
+     */
+    private static final class FakeSink implements Outbox.Sink {
+        final List<Message.Type> written = new ArrayList<>();
+        String lastPayload;
+        boolean writable;
+        boolean pendingAfterWrite; // Yazma soket tamponuna sığmadı: kalan baytlar bekliyor
+        boolean closed;
+        
+        @Override
+        public int id() {
+            return 0;
+        }
+        
+        @Override
+        public boolean canWrite() {
+            return writable;
+        }
+        
+        @Override
+        public void write(Object entry) {
+            Message m = entry instanceof Frame f ? f.message() : (Message) entry;
+            written.add(m.type());
+            lastPayload = m.payload();
+            if (pendingAfterWrite) {
+                writable = false;
+                pendingAfterWrite = false;
+            }
+        }
+        
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+    
     /**
      * Bir koşulu doğrular ve başarısız olursa hata fırlatır.
      */